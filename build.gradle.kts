@@ -29,6 +29,7 @@ loom {
 }
 
 repositories {
+	mavenCentral()
 	maven("https://maven.parchmentmc.org/")
 
 	maven("https://maven.terraformersmc.com/")
@@ -46,6 +47,13 @@ dependencies {
 
 	// Mod implementations
 	modCompileOnly("dev.isxander:yet-another-config-lib:${versionProp("yacl_version")}-fabric")
+
+	testImplementation("org.junit.jupiter:junit-jupiter:5.10.2")
+	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+	useJUnitPlatform()
 }
 
 tasks.processResources {
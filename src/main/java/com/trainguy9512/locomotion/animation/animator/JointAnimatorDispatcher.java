@@ -2,30 +2,63 @@ package com.trainguy9512.locomotion.animation.animator;
 
 import com.trainguy9512.locomotion.LocomotionMain;
 import com.trainguy9512.locomotion.access.MatrixModelPart;
+import com.trainguy9512.locomotion.animation.animator.entity.AnimationLod;
 import com.trainguy9512.locomotion.animation.animator.entity.EntityJointAnimator;
 import com.trainguy9512.locomotion.animation.data.AnimationDataContainer;
 import com.trainguy9512.locomotion.animation.pose.Pose;
 import com.trainguy9512.locomotion.animation.joint.skeleton.JointSkeleton;
 import com.trainguy9512.locomotion.animation.pose.ComponentSpacePose;
+import com.trainguy9512.locomotion.config.LocomotionConfig;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.model.EntityModel;
 import net.minecraft.client.renderer.entity.state.EntityRenderState;
 import net.minecraft.world.entity.Entity;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Consumer;
 
 public class JointAnimatorDispatcher {
     private static final JointAnimatorDispatcher INSTANCE = new JointAnimatorDispatcher();
 
+    /**
+     * Minimum number of entities ticked at once for ticking to be split across worker threads. Below this, handing the
+     * work to the pool costs more than it saves.
+     */
+    private static final int MINIMUM_PARALLEL_ENTITY_COUNT = 8;
+    // Importance of entities playing a montage relative to other entities the same size and distance away.
+    private static final float MONTAGE_IMPORTANCE_MULTIPLIER = 4;
+    // Maximum number of frames that an entity's pose is held for when the frame budget is spent.
+    private static final int MAXIMUM_FRAME_UPDATE_STRIDE = 8;
+
     private final WeakHashMap<UUID, AnimationDataContainer> entityAnimationDataContainerStorage;
+    private final List<EntityTick> entityTicks;
+    private ForkJoinPool entityTickPool;
+    private ExecutorService animationThread;
+    // Ticks running on the animation thread, which own their data containers until they complete.
+    private CompletableFuture<Void> pendingAnimationThreadTicks;
+    private long frameCount;
 
     private AnimationDataContainer firstPersonPlayerDataContainer;
     private ComponentSpacePose interpolatedFirstPersonPlayerPose;
 
     public JointAnimatorDispatcher() {
         this.entityAnimationDataContainerStorage = new WeakHashMap<>();
+        this.entityTicks = new ArrayList<>();
+        this.entityTickPool = null;
+        this.animationThread = null;
+        this.pendingAnimationThreadTicks = null;
+        this.frameCount = 0;
     }
 
     public static JointAnimatorDispatcher getInstance() {
@@ -36,18 +69,263 @@ public class JointAnimatorDispatcher {
      * Re-initializes all created data containers
      */
     public void reInitializeData() {
+        this.awaitAnimationThread();
+        if (this.firstPersonPlayerDataContainer != null) {
+            this.firstPersonPlayerDataContainer.close();
+        }
         this.firstPersonPlayerDataContainer = null;
+        this.entityAnimationDataContainerStorage.values().forEach(AnimationDataContainer::close);
         this.entityAnimationDataContainerStorage.clear();
     }
 
+    /**
+     * Ticks the joint animator of every provided entity in two phases.
+     *
+     * <p>Animation data is first extracted from every entity on the calling thread, as it reads from the level. Data
+     * containers are then ticked and their per-tick poses computed, which only touches each entity's own container, so
+     * this is split across a pool of worker threads. Every container is ticked before this returns, so the poses are
+     * ready for rendering.</p>
+     *
+     * <p>Containers ticked on the animation thread are instead handed off to it once their data is extracted, and
+     * publish their poses to the render thread when they finish. The next tick waits for them before extracting
+     * data again, so the extracted driver values are left untouched by the main thread while the animation thread
+     * reads them.</p>
+     *
+     * <p>Pose calculations are scheduled within a time budget, from the most important entity to the least. See
+     * {@link JointAnimatorDispatcher#getImportance}. Entities that were culled from the last frame only tick their
+     * drivers and pose functions, so their state stays coherent, and calculate their pose once they are rendered
+     * again.</p>
+     *
+     * @param entitiesForRendering  Entities to tick.
+     */
     public <T extends Entity> void tickEntityJointAnimators(Iterable<T> entitiesForRendering) {
+        this.awaitAnimationThread();
+
+        List<EntityTick> entityTicks = this.entityTicks;
+        List<EntityTick> animationThreadTicks = new ArrayList<>();
+        Entity cameraEntity = Minecraft.getInstance().getCameraEntity();
         entitiesForRendering.forEach(entity ->
                 JointAnimatorRegistry.getThirdPersonJointAnimator(entity).ifPresent(
-                        jointAnimator -> this.getEntityAnimationDataContainer(entity).ifPresent(
-                                dataContainer -> this.tickJointAnimator(jointAnimator, entity, dataContainer)
-                        )
+                        jointAnimator -> this.getEntityAnimationDataContainer(entity).ifPresent(dataContainer -> {
+                            this.applyAnimationLod(jointAnimator, entity, cameraEntity, dataContainer);
+                            dataContainer.preTick();
+                            jointAnimator.extractAnimationData(entity, dataContainer, dataContainer.getMontageManager());
+                            EntityTick entityTick = new EntityTick(
+                                    dataContainer,
+                                    jointAnimator.getPoseCalulationFrequency(),
+                                    this.getImportance(entity, cameraEntity, dataContainer),
+                                    this.isVisible(entity, cameraEntity, dataContainer)
+                            );
+                            // Containers that have never published a pose are ticked here, so they never render without one.
+                            if (dataContainer.isTickedOnAnimationThread() && dataContainer.hasPublishedPerTickCalculatedPose()) {
+                                animationThreadTicks.add(entityTick);
+                            } else {
+                                entityTicks.add(entityTick);
+                            }
+                        })
                 )
         );
+
+        try {
+            this.scheduleFrameUpdates(entityTicks, animationThreadTicks);
+            this.runEntityTicks(entityTicks);
+        } finally {
+            entityTicks.clear();
+        }
+        if (!animationThreadTicks.isEmpty()) {
+            this.pendingAnimationThreadTicks = CompletableFuture.runAsync(() -> this.runEntityTicks(animationThreadTicks), this.getAnimationThread());
+        }
+    }
+
+    /**
+     * Sets the level of detail of the provided entity's data container, based on its distance from the camera and its
+     * joint animator's level of detail distances. Lower levels of detail calculate the pose less often, and evaluate
+     * fewer joints.
+     */
+    private <T extends Entity> void applyAnimationLod(EntityJointAnimator<T, ?> jointAnimator, T entity, @Nullable Entity cameraEntity, AnimationDataContainer dataContainer) {
+        LocomotionConfig.Data.General config = LocomotionMain.CONFIG.data().general;
+        int lodLevel = cameraEntity != null ? jointAnimator.getAnimationLod().getLodLevel(entity.distanceToSqr(cameraEntity)) : 0;
+        boolean calculatesOncePerTick = jointAnimator.getPoseCalulationFrequency() == JointAnimator.PoseCalculationFrequency.CALCULATE_ONCE_PER_TICK;
+        dataContainer.setPoseUpdateInterval(config.enableUpdateRateLod && calculatesOncePerTick ? AnimationLod.getTickInterval(lodLevel) : 1);
+        dataContainer.setLodLevel(config.enableSkeletonLod ? lodLevel : 0);
+    }
+
+    /**
+     * Returns how important it is to animate the provided entity in detail, used to decide which entities are
+     * animated first when there isn't time to animate every entity.
+     *
+     * <p>Importance is proportional to the entity's size on screen, its bounding box area over its squared distance from
+     * the camera, and is raised for entities playing a montage, as montages are usually direct responses to the player.
+     * The camera entity and entities without a pose yet are always animated first.</p>
+     */
+    private float getImportance(Entity entity, @Nullable Entity cameraEntity, AnimationDataContainer dataContainer) {
+        if (cameraEntity == null || entity == cameraEntity || !dataContainer.hasCalculatedPerTickPose()) {
+            return Float.POSITIVE_INFINITY;
+        }
+        double distanceSquared = Math.max(entity.distanceToSqr(cameraEntity), 1);
+        float importance = (float) (entity.getBbWidth() * entity.getBbHeight() / distanceSquared);
+        if (dataContainer.getMontageManager().hasActiveMontages()) {
+            importance *= MONTAGE_IMPORTANCE_MULTIPLIER;
+        }
+        return importance;
+    }
+
+    /**
+     * Returns whether the provided entity was rendered on the most recent frame, in which case it passed the frustum
+     * check and any other visibility culling the renderer does. One frame of slack covers entities rendered before
+     * their tick on the same frame.
+     *
+     * <p>The camera entity and entities without a pose yet are always treated as visible, so that they never render
+     * without a pose.</p>
+     */
+    private boolean isVisible(Entity entity, @Nullable Entity cameraEntity, AnimationDataContainer dataContainer) {
+        if (!LocomotionMain.CONFIG.data().general.cullOffScreenPoses || entity == cameraEntity || !dataContainer.hasCalculatedPerTickPose()) {
+            return true;
+        }
+        return dataContainer.getLastRenderedFrame() >= this.frameCount - 1;
+    }
+
+    /**
+     * Ticks the provided data containers, then calculates the per-tick poses that are due for visible entities in order
+     * of priority until the tick budget is spent. Calculations that don't fit are deferred to the next tick, holding the last pose in
+     * the meantime.
+     */
+    private void runEntityTicks(List<EntityTick> entityTicks) {
+        if (entityTicks.isEmpty()) {
+            return;
+        }
+        this.forEachEntityTick(entityTicks, EntityTick::tick);
+
+        List<EntityTick> poseUpdates = new ArrayList<>(entityTicks.size());
+        for (EntityTick entityTick : entityTicks) {
+            if (!entityTick.isPoseUpdateDue()) {
+                continue;
+            }
+            if (entityTick.isVisible()) {
+                poseUpdates.add(entityTick);
+            } else {
+                // Off-screen entities stay due, and gain priority the longer they're away, so they're calculated as
+                // soon as they're rendered again.
+                entityTick.dataContainer().deferPoseUpdate();
+            }
+        }
+        poseUpdates.sort(Comparator.comparingDouble(EntityTick::getPoseUpdatePriority).reversed());
+
+        long budgetNanos = getBudgetNanos(LocomotionMain.CONFIG.data().general.tickAnimationBudget);
+        // Poses are calculated in batches large enough to split across the worker pool, checking the budget between each.
+        int batchSize = LocomotionMain.CONFIG.data().general.parallelEntityTicking
+                ? Math.max(MINIMUM_PARALLEL_ENTITY_COUNT, this.getEntityTickPool().getParallelism() * 2)
+                : 1;
+        long startTime = System.nanoTime();
+        int i = 0;
+        while (i < poseUpdates.size() && System.nanoTime() - startTime < budgetNanos) {
+            int batchEnd = Math.min(i + batchSize, poseUpdates.size());
+            this.forEachEntityTick(poseUpdates.subList(i, batchEnd), EntityTick::updatePose);
+            i = batchEnd;
+        }
+        for (; i < poseUpdates.size(); i++) {
+            poseUpdates.get(i).dataContainer().deferPoseUpdate();
+        }
+
+        entityTicks.forEach(entityTick -> entityTick.dataContainer().postTick());
+    }
+
+    /**
+     * Runs the provided action for every entity tick, across the worker pool if there are enough of them.
+     */
+    private void forEachEntityTick(List<EntityTick> entityTicks, Consumer<EntityTick> action) {
+        if (LocomotionMain.CONFIG.data().general.parallelEntityTicking && entityTicks.size() >= MINIMUM_PARALLEL_ENTITY_COUNT) {
+            this.getEntityTickPool().submit(() -> entityTicks.parallelStream().forEach(action)).join();
+        } else {
+            entityTicks.forEach(action);
+        }
+    }
+
+    /**
+     * Plans how often each entity's pose is interpolated for rendering, so that the estimated cost of every frame stays
+     * within the frame budget.
+     *
+     * <p>The most important entities are interpolated every frame, using up to half of the budget. The rest share the
+     * remainder round-robin, each interpolated every few frames in turn and holding its last pose in between.</p>
+     */
+    @SafeVarargs
+    private void scheduleFrameUpdates(List<EntityTick>... entityTickLists) {
+        List<EntityTick> entityTicks = new ArrayList<>();
+        for (List<EntityTick> entityTickList : entityTickLists) {
+            entityTicks.addAll(entityTickList);
+        }
+        long budgetNanos = getBudgetNanos(LocomotionMain.CONFIG.data().general.frameAnimationBudget);
+        if (budgetNanos == Long.MAX_VALUE) {
+            entityTicks.forEach(entityTick -> entityTick.dataContainer().setFrameUpdateSchedule(1, 0));
+            return;
+        }
+        entityTicks.sort(Comparator.comparingDouble(EntityTick::importance).reversed());
+
+        float spentNanos = 0;
+        int i = 0;
+        while (i < entityTicks.size() && spentNanos + entityTicks.get(i).dataContainer().getFrameCostNanos() <= budgetNanos / 2f) {
+            spentNanos += entityTicks.get(i).dataContainer().getFrameCostNanos();
+            entityTicks.get(i).dataContainer().setFrameUpdateSchedule(1, 0);
+            i++;
+        }
+        float remainingCostNanos = 0;
+        for (int j = i; j < entityTicks.size(); j++) {
+            remainingCostNanos += entityTicks.get(j).dataContainer().getFrameCostNanos();
+        }
+        int stride = (int) Math.min(MAXIMUM_FRAME_UPDATE_STRIDE, Math.max(1, Math.ceil(remainingCostNanos / (budgetNanos - spentNanos))));
+        for (int j = i; j < entityTicks.size(); j++) {
+            entityTicks.get(j).dataContainer().setFrameUpdateSchedule(stride, (j - i) % stride);
+        }
+    }
+
+    /**
+     * Converts a budget in milliseconds from the config to nanoseconds, where a budget of 0 is unlimited.
+     */
+    private static long getBudgetNanos(float budgetMilliseconds) {
+        return budgetMilliseconds > 0 ? (long) (budgetMilliseconds * 1_000_000) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Marks the start of a new frame, for the per-frame schedule of entity poses.
+     */
+    public void beginFrame() {
+        this.frameCount++;
+    }
+
+    /**
+     * Waits for the ticks running on the animation thread to finish, returning ownership of their data containers to
+     * the calling thread.
+     */
+    private void awaitAnimationThread() {
+        CompletableFuture<Void> pendingAnimationThreadTicks = this.pendingAnimationThreadTicks;
+        if (pendingAnimationThreadTicks != null) {
+            this.pendingAnimationThreadTicks = null;
+            pendingAnimationThreadTicks.join();
+        }
+    }
+
+    private ExecutorService getAnimationThread() {
+        if (this.animationThread == null) {
+            this.animationThread = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Locomotion Animation Thread");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return this.animationThread;
+    }
+
+    private ForkJoinPool getEntityTickPool() {
+        if (this.entityTickPool == null) {
+            int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+            this.entityTickPool = new ForkJoinPool(parallelism, pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("Locomotion Animation Worker-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        }
+        return this.entityTickPool;
     }
 
     public void tickFirstPersonPlayerJointAnimator(){
@@ -71,11 +349,41 @@ public class JointAnimatorDispatcher {
         jointAnimator.extractAnimationData(dataReference, dataContainer, dataContainer.getMontageManager());
         dataContainer.tick();
         if(jointAnimator.getPoseCalulationFrequency() == JointAnimator.PoseCalculationFrequency.CALCULATE_ONCE_PER_TICK){
-            dataContainer.getDriver(dataContainer.getPerTickCalculatedPoseDriverKey()).setValue(dataContainer.computePose(1));
+            dataContainer.setPerTickCalculatedPose(dataContainer.computePose(1));
         }
         dataContainer.postTick();
     }
 
+    /**
+     * Part of an entity's tick that only touches its own data container, and so can run on any thread.
+     * @param dataContainer         Animation data container of the entity.
+     * @param poseCalculationFrequency  How often the entity's joint animator calculates its pose.
+     * @param importance            How important it is to animate the entity in detail.
+     * @param isVisible             Whether the entity was rendered on the most recent frame.
+     */
+    private record EntityTick(AnimationDataContainer dataContainer, JointAnimator.PoseCalculationFrequency poseCalculationFrequency, float importance, boolean isVisible) {
+
+        private void tick() {
+            this.dataContainer.tick();
+        }
+
+        private boolean isPoseUpdateDue() {
+            return this.poseCalculationFrequency == JointAnimator.PoseCalculationFrequency.CALCULATE_ONCE_PER_TICK && this.dataContainer.isPoseUpdateDue();
+        }
+
+        private void updatePose() {
+            this.dataContainer.setPerTickCalculatedPose(this.dataContainer.computePose(1));
+        }
+
+        /**
+         * Returns the priority of this entity's pose calculation, which rises with every tick it is deferred so that
+         * less important entities are still updated in turn.
+         */
+        private double getPoseUpdatePriority() {
+            return (double) this.importance * (1 + this.dataContainer.getDeferredPoseUpdates());
+        }
+    }
+
     public <T extends Entity> Optional<AnimationDataContainer> getEntityAnimationDataContainer(T entity){
         UUID uuid = entity.getUUID();
         if(!this.entityAnimationDataContainerStorage.containsKey(uuid)){
@@ -107,10 +415,30 @@ public class JointAnimatorDispatcher {
         return AnimationDataContainer.of(jointAnimator);
     }
 
+    /**
+     * Returns the interpolated pose of an entity for the current frame, or holds its last interpolated pose if the
+     * entity is not scheduled to be interpolated this frame. Only called for entities that are rendered, so this also
+     * records the entity as visible.
+     * @param jointAnimator         Joint animator
+     * @param dataContainer         Animation data container
+     * @param partialTicks          Percentage of a tick since the previous tick.
+     */
+    public ComponentSpacePose getScheduledInterpolatedAnimationPose(JointAnimator<?> jointAnimator, AnimationDataContainer dataContainer, float partialTicks){
+        dataContainer.markRendered(this.frameCount);
+        ComponentSpacePose lastFramePose = dataContainer.getLastFramePose();
+        if (lastFramePose != null && !dataContainer.isFrameUpdateDue(this.frameCount)) {
+            return lastFramePose;
+        }
+        long startTime = System.nanoTime();
+        ComponentSpacePose pose = this.getInterpolatedAnimationPose(jointAnimator, dataContainer, partialTicks);
+        dataContainer.setLastFramePose(pose, System.nanoTime() - startTime);
+        return pose;
+    }
+
     public ComponentSpacePose getInterpolatedAnimationPose(JointAnimator<?> jointAnimator, AnimationDataContainer dataContainer, float partialTicks){
         return switch (jointAnimator.getPoseCalulationFrequency()) {
-            case CALCULATE_EVERY_FRAME -> dataContainer.computePose(partialTicks).convertedToComponentSpace();
-            case CALCULATE_ONCE_PER_TICK -> dataContainer.getDriverValue(dataContainer.getPerTickCalculatedPoseDriverKey(), partialTicks).convertedToComponentSpace();
+            case CALCULATE_EVERY_FRAME -> dataContainer.computePose(partialTicks).componentSpaceView();
+            case CALCULATE_ONCE_PER_TICK -> dataContainer.getPerTickCalculatedPose(partialTicks).componentSpaceView();
         };
     }
 
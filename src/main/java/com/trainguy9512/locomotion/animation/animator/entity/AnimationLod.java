@@ -0,0 +1,82 @@
+package com.trainguy9512.locomotion.animation.animator.entity;
+
+import com.trainguy9512.locomotion.LocomotionMain;
+import com.trainguy9512.locomotion.animation.joint.skeleton.JointSkeleton;
+import com.trainguy9512.locomotion.config.LocomotionConfig;
+
+/**
+ * Distances from the camera at which an entity is animated in less detail.
+ *
+ * <p>Entities are sorted into four levels of detail by distance, from level 0 closer than the half rate distance to
+ * level 3 past the eighth rate distance. Each level calculates the pose half as often as the level before it, every
+ * 1, 2, 4 and 8 ticks, interpolating across the ticks in between so distant entities still move smoothly. Each level
+ * also only evaluates the joints of the matching skeleton level of detail.</p>
+ *
+ * @see JointSkeleton#getLodJointMask(int)
+ */
+public final class AnimationLod {
+
+    /**
+     * Level of detail that animates in full detail at any distance.
+     */
+    public static final AnimationLod FULL_DETAIL = new AnimationLod(Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY);
+
+    private final float halfRateDistanceSquared;
+    private final float quarterRateDistanceSquared;
+    private final float eighthRateDistanceSquared;
+
+    private AnimationLod(float halfRateDistance, float quarterRateDistance, float eighthRateDistance) {
+        this.halfRateDistanceSquared = halfRateDistance * halfRateDistance;
+        this.quarterRateDistanceSquared = quarterRateDistance * quarterRateDistance;
+        this.eighthRateDistanceSquared = eighthRateDistance * eighthRateDistance;
+    }
+
+    /**
+     * Creates a level of detail from the provided distances, in blocks.
+     * @param halfRateDistance      Distance past which the entity is at level 1, calculating its pose every 2 ticks.
+     * @param quarterRateDistance   Distance past which the entity is at level 2, calculating its pose every 4 ticks.
+     * @param eighthRateDistance    Distance past which the entity is at level 3, calculating its pose every 8 ticks.
+     */
+    public static AnimationLod of(float halfRateDistance, float quarterRateDistance, float eighthRateDistance) {
+        if (halfRateDistance < 0 || quarterRateDistance < halfRateDistance || eighthRateDistance < quarterRateDistance) {
+            throw new IllegalArgumentException("Animation level of detail distances must be positive and in ascending order.");
+        }
+        return new AnimationLod(halfRateDistance, quarterRateDistance, eighthRateDistance);
+    }
+
+    /**
+     * Returns the level of detail distances set in the config.
+     */
+    public static AnimationLod fromConfig() {
+        LocomotionConfig.Data.General config = LocomotionMain.CONFIG.data().general;
+        float halfRateDistance = Math.max(config.updateRateLodHalfRateDistance, 0);
+        float quarterRateDistance = Math.max(config.updateRateLodQuarterRateDistance, halfRateDistance);
+        float eighthRateDistance = Math.max(config.updateRateLodEighthRateDistance, quarterRateDistance);
+        return new AnimationLod(halfRateDistance, quarterRateDistance, eighthRateDistance);
+    }
+
+    /**
+     * Returns the level of detail for an entity at the provided distance.
+     * @param distanceSquared       Squared distance from the camera to the entity, in blocks.
+     * @return                      Level of detail, from 0 for full detail to 3.
+     */
+    public int getLodLevel(double distanceSquared) {
+        if (distanceSquared < this.halfRateDistanceSquared) {
+            return 0;
+        } else if (distanceSquared < this.quarterRateDistanceSquared) {
+            return 1;
+        } else if (distanceSquared < this.eighthRateDistanceSquared) {
+            return 2;
+        }
+        return 3;
+    }
+
+    /**
+     * Returns the number of ticks between each pose calculation at the provided level of detail.
+     * @param lodLevel              Level of detail, from 0 for full detail to 3.
+     * @return                      1, 2, 4 or 8 ticks.
+     */
+    public static int getTickInterval(int lodLevel) {
+        return 1 << Math.max(0, Math.min(lodLevel, JointSkeleton.LOD_LEVEL_COUNT - 1));
+    }
+}
@@ -13,4 +13,12 @@ public interface EntityJointAnimator<T extends Entity, S extends EntityRenderSta
      * @param entityRenderState     Entity render state
      */
     public void postProcessModelParts(EntityModel<S> entityModel, S entityRenderState);
+
+    /**
+     * Returns the distances from the camera at which this animator is animated in less detail. Defaults to the distances
+     * set in the config, and {@link AnimationLod#FULL_DETAIL} opts out entirely.
+     */
+    default AnimationLod getAnimationLod() {
+        return AnimationLod.fromConfig();
+    }
 }
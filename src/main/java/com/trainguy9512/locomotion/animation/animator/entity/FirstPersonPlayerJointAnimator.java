@@ -126,15 +126,18 @@ public class FirstPersonPlayerJointAnimator implements LivingEntityJointAnimator
 
         PoseFunction<LocalSpacePose> mirroredBasedOnHandednessPose = MirrorFunction.of(handPoseWithAdditive, context -> Minecraft.getInstance().options.mainHand().get() == HumanoidArm.LEFT);
 
+        // Reused by the transformer every frame rather than allocating, as the pose function belongs to one container.
+        Vector3f movementDirectionOffset = new Vector3f();
+        Vector3f cameraRotationDamping = new Vector3f();
         PoseFunction<LocalSpacePose> movementDirectionOffsetTransformer =
                 JointTransformerFunction.localOrParentSpaceBuilder(mirroredBasedOnHandednessPose, ARM_BUFFER_JOINT)
                         .setTranslation(
-                                context -> context.driverContainer().getDriverValue(MOVEMENT_DIRECTION_OFFSET, context.partialTicks()).mul(1.5f, new Vector3f()),
+                                context -> context.driverContainer().getDriver(MOVEMENT_DIRECTION_OFFSET).getInto(movementDirectionOffset, context.partialTicks()).mul(1.5f),
                                 JointChannel.TransformType.ADD,
                                 JointChannel.TransformSpace.COMPONENT
                         )
                         .setRotationEuler(
-                                context -> context.driverContainer().getDriverValue(CAMERA_ROTATION_DAMPING, context.partialTicks()).mul(-0.15f, -0.15f, 0, new Vector3f()),
+                                context -> context.driverContainer().getDriver(CAMERA_ROTATION_DAMPING).getInto(cameraRotationDamping, context.partialTicks()).mul(-0.15f, -0.15f, 0),
                                 JointChannel.TransformType.ADD,
                                 JointChannel.TransformSpace.COMPONENT
                         )
@@ -609,11 +612,11 @@ public class FirstPersonPlayerJointAnimator implements LivingEntityJointAnimator
                 HandPose.GENERIC_ITEM,
                 genericItemPoseFunction(cachedPoseContainer, interactionHand),
                 ApplyAdditiveFunction.of(
-                        SequenceEvaluatorFunction.builder(context -> context.driverContainer().getDriverValue(getGenericItemPoseDriver(interactionHand), 1).basePoseLocation).build(),
+                        SequenceEvaluatorFunction.builder(context -> context.driverContainer().getDriverValue(getGenericItemPoseDriver(interactionHand), 1).basePoseLocation).dependsOnlyOnDrivers().build(),
                         SequencePlayerFunction.builder(HAND_GENERIC_ITEM_LOWER).isAdditive(true, SequenceReferencePoint.BEGINNING).build()
                 ),
                 ApplyAdditiveFunction.of(
-                        SequenceEvaluatorFunction.builder(context -> context.driverContainer().getDriverValue(getGenericItemPoseDriver(interactionHand), 1).basePoseLocation).build(),
+                        SequenceEvaluatorFunction.builder(context -> context.driverContainer().getDriverValue(getGenericItemPoseDriver(interactionHand), 1).basePoseLocation).dependsOnlyOnDrivers().build(),
                         SequencePlayerFunction.builder(HAND_GENERIC_ITEM_RAISE).isAdditive(true, SequenceReferencePoint.END).build()
                 ),
                 Transition.builder(TimeSpan.of60FramesPerSecond(6)).setEasement(Easing.SINE_IN_OUT).build(),
@@ -822,7 +825,7 @@ public class FirstPersonPlayerJointAnimator implements LivingEntityJointAnimator
 
     public static PoseFunction<LocalSpacePose> genericItemPoseFunction(CachedPoseContainer cachedPoseContainer, InteractionHand interactionHand) {
         PoseFunction<LocalSpacePose> miningStateMachine = switch (interactionHand) {
-            case MAIN_HAND -> ApplyAdditiveFunction.of(SequenceEvaluatorFunction.builder(context -> context.driverContainer().getDriverValue(getGenericItemPoseDriver(interactionHand), 1).basePoseLocation).build(), MakeDynamicAdditiveFunction.of(
+            case MAIN_HAND -> ApplyAdditiveFunction.of(SequenceEvaluatorFunction.builder(context -> context.driverContainer().getDriverValue(getGenericItemPoseDriver(interactionHand), 1).basePoseLocation).dependsOnlyOnDrivers().build(), MakeDynamicAdditiveFunction.of(
                     makeMiningLoopStateMachine(
                             cachedPoseContainer,
                             SequenceEvaluatorFunction.builder(HAND_EMPTY_POSE).build(),
@@ -834,7 +837,7 @@ public class FirstPersonPlayerJointAnimator implements LivingEntityJointAnimator
                             SequencePlayerFunction.builder(HAND_EMPTY_MINE_FINISH).build(),
                             Transition.builder(TimeSpan.of60FramesPerSecond(6)).setEasement(Easing.SINE_OUT).build()),
                     SequenceEvaluatorFunction.builder(HAND_EMPTY_POSE).build()));
-            case OFF_HAND -> SequenceEvaluatorFunction.builder(context -> context.driverContainer().getDriverValue(getGenericItemPoseDriver(interactionHand), 1).basePoseLocation).build();
+            case OFF_HAND -> SequenceEvaluatorFunction.builder(context -> context.driverContainer().getDriverValue(getGenericItemPoseDriver(interactionHand), 1).basePoseLocation).dependsOnlyOnDrivers().build();
         };
 
         return miningStateMachine;
@@ -911,11 +914,11 @@ public class FirstPersonPlayerJointAnimator implements LivingEntityJointAnimator
     }
 
     public static PoseFunction<LocalSpacePose> handShieldPoseFunction(CachedPoseContainer cachedPoseContainer, InteractionHand interactionHand) {
-        DriverKey<VariableDriver<Boolean>> usingItemDriverKey = switch (interactionHand) {
+        DriverKey<BooleanDriver> usingItemDriverKey = switch (interactionHand) {
             case MAIN_HAND -> IS_USING_MAIN_HAND_ITEM;
             case OFF_HAND -> IS_USING_OFF_HAND_ITEM;
         };
-        DriverKey<VariableDriver<Boolean>> isHandOnCooldownKey = switch (interactionHand) {
+        DriverKey<BooleanDriver> isHandOnCooldownKey = switch (interactionHand) {
             case MAIN_HAND -> IS_MAIN_HAND_ON_COOLDOWN;
             case OFF_HAND -> IS_OFF_HAND_ON_COOLDOWN;
         };
@@ -1119,7 +1122,7 @@ public class FirstPersonPlayerJointAnimator implements LivingEntityJointAnimator
                 .addBlendInput(SequencePlayerFunction.builder(GROUND_MOVEMENT_LAND).setPlayRate(1f).build(), evaluationState -> 0.5f)
                 .build();
 
-        Predicate<StateTransition.TransitionContext> walkingCondition = transitionContext -> transitionContext.driverContainer().getDriverValue(IS_MOVING);
+        Predicate<StateTransition.TransitionContext> walkingCondition = transitionContext -> transitionContext.driverContainer().getDriver(IS_MOVING).getCurrentValue();
 
 
         PoseFunction<LocalSpacePose> movementStateMachine = StateMachineFunction.builder(evaluationState -> GroundMovementStates.IDLE)
@@ -1291,56 +1294,56 @@ public class FirstPersonPlayerJointAnimator implements LivingEntityJointAnimator
         };
     }
 
-    public static DriverKey<VariableDriver<Boolean>> getUsingItemDriver(InteractionHand interactionHand) {
+    public static DriverKey<BooleanDriver> getUsingItemDriver(InteractionHand interactionHand) {
         return switch (interactionHand) {
             case MAIN_HAND -> IS_USING_MAIN_HAND_ITEM;
             case OFF_HAND -> IS_USING_OFF_HAND_ITEM;
         };
     }
 
-    public static DriverKey<VariableDriver<Boolean>> getRenderItemAsStaticDriver(InteractionHand interactionHand) {
+    public static DriverKey<BooleanDriver> getRenderItemAsStaticDriver(InteractionHand interactionHand) {
         return switch (interactionHand) {
             case MAIN_HAND -> RENDER_MAIN_HAND_ITEM_AS_STATIC;
             case OFF_HAND -> RENDER_OFF_HAND_ITEM_AS_STATIC;
         };
     }
 
-    public static final DriverKey<SpringDriver<Vector3f>> DAMPED_VELOCITY = DriverKey.of("damped_velocity", () -> SpringDriver.ofVector3f(0.8f, 0.6f, 1f, Vector3f::new, false));
-    public static final DriverKey<VariableDriver<Vector3f>> MOVEMENT_DIRECTION_OFFSET = DriverKey.of("movement_direction_offset", () -> VariableDriver.ofVector(Vector3f::new));
-    public static final DriverKey<SpringDriver<Vector3f>> CAMERA_ROTATION_DAMPING = DriverKey.of("camera_rotation_damping", () -> SpringDriver.ofVector3f(LocomotionMain.CONFIG.data().firstPersonPlayer.cameraRotationStiffnessFactor, LocomotionMain.CONFIG.data().firstPersonPlayer.cameraRotationDampingFactor, 1f, Vector3f::new, true));
-
-    public static final DriverKey<VariableDriver<Integer>> HOTBAR_SLOT = DriverKey.of("hotbar_slot", () -> VariableDriver.ofConstant(() -> 0));
-    public static final DriverKey<VariableDriver<ItemStack>> MAIN_HAND_ITEM = DriverKey.of("main_hand_item", () -> VariableDriver.ofConstant(() -> ItemStack.EMPTY));
-    public static final DriverKey<VariableDriver<ItemStack>> OFF_HAND_ITEM = DriverKey.of("off_hand_item", () -> VariableDriver.ofConstant(() -> ItemStack.EMPTY));
-    public static final DriverKey<VariableDriver<ItemStack>> RENDERED_MAIN_HAND_ITEM = DriverKey.of("rendered_main_hand_item", () -> VariableDriver.ofConstant(() -> ItemStack.EMPTY));
-    public static final DriverKey<VariableDriver<ItemStack>> RENDERED_OFF_HAND_ITEM = DriverKey.of("rendered_off_hand_item", () -> VariableDriver.ofConstant(() -> ItemStack.EMPTY));
-    public static final DriverKey<VariableDriver<Boolean>> RENDER_MAIN_HAND_ITEM_AS_STATIC = DriverKey.of("render_main_hand_item_as_static", () -> VariableDriver.ofBoolean(() -> false));
-    public static final DriverKey<VariableDriver<Boolean>> RENDER_OFF_HAND_ITEM_AS_STATIC = DriverKey.of("render_off_hand_item_as_static", () -> VariableDriver.ofBoolean(() -> false));
+    public static final DriverKey<Vector3SpringDriver> DAMPED_VELOCITY = DriverKey.of("damped_velocity", () -> SpringDriver.ofVector3f(0.8f, 0.6f, 1f, Vector3f::new, false));
+    public static final DriverKey<Vector3Driver> MOVEMENT_DIRECTION_OFFSET = DriverKey.of("movement_direction_offset", Vector3Driver::ofZero);
+    public static final DriverKey<Vector3SpringDriver> CAMERA_ROTATION_DAMPING = DriverKey.of("camera_rotation_damping", () -> SpringDriver.ofVector3f(LocomotionMain.CONFIG.data().firstPersonPlayer.cameraRotationStiffnessFactor, LocomotionMain.CONFIG.data().firstPersonPlayer.cameraRotationDampingFactor, 1f, Vector3f::new, true));
+
+    public static final DriverKey<IntDriver> HOTBAR_SLOT = DriverKey.of("hotbar_slot", () -> IntDriver.of(0));
+    public static final DriverKey<VariableDriver<ItemStack>> MAIN_HAND_ITEM = DriverKey.of("main_hand_item", () -> VariableDriver.ofConstant(() -> ItemStack.EMPTY, ItemStack::matches));
+    public static final DriverKey<VariableDriver<ItemStack>> OFF_HAND_ITEM = DriverKey.of("off_hand_item", () -> VariableDriver.ofConstant(() -> ItemStack.EMPTY, ItemStack::matches));
+    public static final DriverKey<VariableDriver<ItemStack>> RENDERED_MAIN_HAND_ITEM = DriverKey.of("rendered_main_hand_item", () -> VariableDriver.ofConstant(() -> ItemStack.EMPTY, ItemStack::matches));
+    public static final DriverKey<VariableDriver<ItemStack>> RENDERED_OFF_HAND_ITEM = DriverKey.of("rendered_off_hand_item", () -> VariableDriver.ofConstant(() -> ItemStack.EMPTY, ItemStack::matches));
+    public static final DriverKey<BooleanDriver> RENDER_MAIN_HAND_ITEM_AS_STATIC = DriverKey.of("render_main_hand_item_as_static", () -> BooleanDriver.of(false));
+    public static final DriverKey<BooleanDriver> RENDER_OFF_HAND_ITEM_AS_STATIC = DriverKey.of("render_off_hand_item_as_static", () -> BooleanDriver.of(false));
     public static final DriverKey<VariableDriver<HandPose>> MAIN_HAND_POSE = DriverKey.of("main_hand_pose", () -> VariableDriver.ofConstant(() -> HandPose.EMPTY));
     public static final DriverKey<VariableDriver<HandPose>> OFF_HAND_POSE = DriverKey.of("off_hand_pose", () -> VariableDriver.ofConstant(() -> HandPose.EMPTY));
     public static final DriverKey<VariableDriver<GenericItemPose>> MAIN_HAND_GENERIC_ITEM_POSE = DriverKey.of("main_hand_generic_item_pose", () -> VariableDriver.ofConstant(() -> GenericItemPose.DEFAULT_2D_ITEM));
     public static final DriverKey<VariableDriver<GenericItemPose>> OFF_HAND_GENERIC_ITEM_POSE = DriverKey.of("off_hand_generic_item_pose", () -> VariableDriver.ofConstant(() -> GenericItemPose.DEFAULT_2D_ITEM));
-    public static final DriverKey<VariableDriver<ItemStack>> PROJECTILE_ITEM = DriverKey.of("projectile_item", () -> VariableDriver.ofConstant(() -> ItemStack.EMPTY));
+    public static final DriverKey<VariableDriver<ItemStack>> PROJECTILE_ITEM = DriverKey.of("projectile_item", () -> VariableDriver.ofConstant(() -> ItemStack.EMPTY, ItemStack::matches));
 
     public static final DriverKey<VariableDriver<TwoHandedOverrideStates>> CURRENT_TWO_HANDED_OVERRIDE_STATE = DriverKey.of("current_two_handed_override_state", () -> VariableDriver.ofConstant(() -> TwoHandedOverrideStates.NORMAL));
 
-    public static final DriverKey<VariableDriver<Float>> HORIZONTAL_MOVEMENT_SPEED = DriverKey.of("horizontal_movement_speed", () -> VariableDriver.ofFloat(() -> 0f));
-    public static final DriverKey<VariableDriver<Float>> VERTICAL_MOVEMENT_SPEED = DriverKey.of("vertical_movement_speed", () -> VariableDriver.ofFloat(() -> 0f));
-    public static final DriverKey<VariableDriver<Float>> MODIFIED_WALK_SPEED = DriverKey.of("modified_walk_speed", () -> VariableDriver.ofFloat(() -> 0f));
-    public static final DriverKey<VariableDriver<Boolean>> IS_MOVING = DriverKey.of("is_moving", () -> VariableDriver.ofBoolean(() -> false));
-    public static final DriverKey<VariableDriver<Boolean>> IS_GROUNDED = DriverKey.of("is_grounded", () -> VariableDriver.ofBoolean(() -> true));
-    public static final DriverKey<VariableDriver<Boolean>> IS_JUMPING = DriverKey.of("is_jumping", () -> VariableDriver.ofBoolean(() -> false));
+    public static final DriverKey<FloatDriver> HORIZONTAL_MOVEMENT_SPEED = DriverKey.of("horizontal_movement_speed", () -> FloatDriver.of(0f));
+    public static final DriverKey<FloatDriver> VERTICAL_MOVEMENT_SPEED = DriverKey.of("vertical_movement_speed", () -> FloatDriver.of(0f));
+    public static final DriverKey<FloatDriver> MODIFIED_WALK_SPEED = DriverKey.of("modified_walk_speed", () -> FloatDriver.of(0f));
+    public static final DriverKey<BooleanDriver> IS_MOVING = DriverKey.of("is_moving", () -> BooleanDriver.of(false));
+    public static final DriverKey<BooleanDriver> IS_GROUNDED = DriverKey.of("is_grounded", () -> BooleanDriver.of(true));
+    public static final DriverKey<BooleanDriver> IS_JUMPING = DriverKey.of("is_jumping", () -> BooleanDriver.of(false));
 
-    public static final DriverKey<VariableDriver<Boolean>> IS_MINING = DriverKey.of("is_mining", () -> VariableDriver.ofBoolean(() -> false));
+    public static final DriverKey<BooleanDriver> IS_MINING = DriverKey.of("is_mining", () -> BooleanDriver.of(false));
     public static final DriverKey<TriggerDriver> HAS_ATTACKED = DriverKey.of("has_attacked", TriggerDriver::of);
     public static final DriverKey<TriggerDriver> HAS_USED_MAIN_HAND_ITEM = DriverKey.of("has_used_main_hand_item", () -> TriggerDriver.of(2));
     public static final DriverKey<TriggerDriver> HAS_USED_OFF_HAND_ITEM = DriverKey.of("has_used_off_hand_item", () -> TriggerDriver.of(2));
     public static final DriverKey<TriggerDriver> HAS_BLOCKED_ATTACK = DriverKey.of("has_blocked_attack", TriggerDriver::of);
     public static final DriverKey<TriggerDriver> HAS_DROPPED_ITEM = DriverKey.of("has_dropped_item", TriggerDriver::of);
-    public static final DriverKey<VariableDriver<Boolean>> IS_USING_MAIN_HAND_ITEM = DriverKey.of("is_using_main_hand_item", () -> VariableDriver.ofBoolean(() -> false));
-    public static final DriverKey<VariableDriver<Boolean>> IS_USING_OFF_HAND_ITEM = DriverKey.of("is_using_off_hand_item", () -> VariableDriver.ofBoolean(() -> false));
-    public static final DriverKey<VariableDriver<Boolean>> IS_MAIN_HAND_ON_COOLDOWN = DriverKey.of("is_main_hand_on_cooldown", () -> VariableDriver.ofBoolean(() -> false));
-    public static final DriverKey<VariableDriver<Boolean>> IS_OFF_HAND_ON_COOLDOWN = DriverKey.of("is_off_hand_on_cooldown", () -> VariableDriver.ofBoolean(() -> false));
+    public static final DriverKey<BooleanDriver> IS_USING_MAIN_HAND_ITEM = DriverKey.of("is_using_main_hand_item", () -> BooleanDriver.of(false));
+    public static final DriverKey<BooleanDriver> IS_USING_OFF_HAND_ITEM = DriverKey.of("is_using_off_hand_item", () -> BooleanDriver.of(false));
+    public static final DriverKey<BooleanDriver> IS_MAIN_HAND_ON_COOLDOWN = DriverKey.of("is_main_hand_on_cooldown", () -> BooleanDriver.of(false));
+    public static final DriverKey<BooleanDriver> IS_OFF_HAND_ON_COOLDOWN = DriverKey.of("is_off_hand_on_cooldown", () -> BooleanDriver.of(false));
 
     public static final String MAIN_HAND_ATTACK_SLOT = "main_hand_attack";
     public static final String OFF_HAND_ATTACK_SLOT = "off_hand_attack";
@@ -1407,8 +1410,9 @@ public class FirstPersonPlayerJointAnimator implements LivingEntityJointAnimator
 //        LocomotionMain.LOGGER.info(dataReference.getMainHandItem());
 //        LocomotionMain.LOGGER.info(dataReference.getMainHandItem().getCount());
 
-        driverContainer.getDriver(MAIN_HAND_ITEM).setValue(dataReference.getMainHandItem());
-        driverContainer.getDriver(OFF_HAND_ITEM).setValue(dataReference.getOffhandItem());
+        // Item stacks are mutated in place by the game, so the drivers hold copies, only taken when the stack changes.
+        driverContainer.getDriver(MAIN_HAND_ITEM).modifyValue(itemStack -> copyIfChanged(itemStack, dataReference.getMainHandItem()));
+        driverContainer.getDriver(OFF_HAND_ITEM).modifyValue(itemStack -> copyIfChanged(itemStack, dataReference.getOffhandItem()));
 
         //? if >= 1.21.5 {
         driverContainer.getDriver(HOTBAR_SLOT).setValue(dataReference.getInventory().getSelectedSlot());
@@ -1441,11 +1445,11 @@ public class FirstPersonPlayerJointAnimator implements LivingEntityJointAnimator
         driverContainer.getDriver(IS_USING_OFF_HAND_ITEM).setValue(false);
         if (dataReference.isUsingItem() && dataReference.getUsedItemHand() == InteractionHand.MAIN_HAND) {
             driverContainer.getDriver(IS_USING_MAIN_HAND_ITEM).setValue(true);
-            driverContainer.getDriver(PROJECTILE_ITEM).setValue(dataReference.getProjectile(dataReference.getMainHandItem()));
+            driverContainer.getDriver(PROJECTILE_ITEM).modifyValue(itemStack -> copyIfChanged(itemStack, dataReference.getProjectile(dataReference.getMainHandItem())));
         }
         if (dataReference.isUsingItem() && dataReference.getUsedItemHand() == InteractionHand.OFF_HAND) {
             driverContainer.getDriver(IS_USING_OFF_HAND_ITEM).setValue(true);
-            driverContainer.getDriver(PROJECTILE_ITEM).setValue(dataReference.getProjectile(dataReference.getOffhandItem()));
+            driverContainer.getDriver(PROJECTILE_ITEM).modifyValue(itemStack -> copyIfChanged(itemStack, dataReference.getProjectile(dataReference.getOffhandItem())));
         }
 
 
@@ -1465,7 +1469,7 @@ public class FirstPersonPlayerJointAnimator implements LivingEntityJointAnimator
         velocity.mul(1, 0f, 1).mul(dataReference.isSprinting() ? 4f : 3f).min(new Vector3f(1)).max(new Vector3f(-1));
         driverContainer.getDriver(DAMPED_VELOCITY).setValue(velocity);
 
-        Vector3f dampedVelocity = new Vector3f(driverContainer.getDriverValue(DAMPED_VELOCITY));
+        Vector3f dampedVelocity = driverContainer.getDriver(DAMPED_VELOCITY).getInto(new Vector3f(), 1);
         Quaternionf rotation = new Quaternionf().rotationYXZ(Mth.PI - dataReference.getYRot() * Mth.DEG_TO_RAD, -dataReference.getXRot() * Mth.DEG_TO_RAD, 0.0F);
         Vector3f movementDirection = new Vector3f(
                 dampedVelocity.dot(new Vector3f(1, 0, 0).rotate(rotation)),
@@ -1477,6 +1481,15 @@ public class FirstPersonPlayerJointAnimator implements LivingEntityJointAnimator
 
     }
 
+    /**
+     * Returns the current item stack if it still matches the provided one, or a copy of the provided one if it doesn't.
+     * @param currentItemStack      Item stack currently held by an item driver.
+     * @param itemStack             Item stack from the game, which may be mutated in place later on.
+     */
+    private static ItemStack copyIfChanged(ItemStack currentItemStack, ItemStack itemStack) {
+        return ItemStack.matches(currentItemStack, itemStack) ? currentItemStack : itemStack.copy();
+    }
+
     private static ResourceLocation makeAnimationSequenceResourceLocation(String path) {
         return ResourceLocation.fromNamespaceAndPath(LocomotionMain.MOD_ID, "sequences/entity/player/first_person/".concat(path).concat(".json"));
     }
@@ -1,40 +1,106 @@
 package com.trainguy9512.locomotion.animation.data;
 
 import com.google.common.collect.Maps;
+import com.trainguy9512.locomotion.LocomotionMain;
 import com.trainguy9512.locomotion.animation.animator.JointAnimator;
 import com.trainguy9512.locomotion.animation.driver.Driver;
 import com.trainguy9512.locomotion.animation.driver.VariableDriver;
 import com.trainguy9512.locomotion.animation.driver.DriverKey;
+import com.trainguy9512.locomotion.animation.driver.SpringDriver;
+import com.trainguy9512.locomotion.animation.driver.SpringSolver;
+import com.trainguy9512.locomotion.animation.driver.TriggerDriver;
+import com.trainguy9512.locomotion.animation.joint.skeleton.JointMask;
 import com.trainguy9512.locomotion.animation.joint.skeleton.JointSkeleton;
+import com.trainguy9512.locomotion.animation.pose.ComponentSpacePose;
 import com.trainguy9512.locomotion.animation.pose.LocalSpacePose;
+import com.trainguy9512.locomotion.animation.pose.PoseArena;
+import com.trainguy9512.locomotion.animation.pose.PoseTripleBuffer;
 import com.trainguy9512.locomotion.animation.pose.function.PoseFunction;
 import com.trainguy9512.locomotion.animation.pose.function.cache.CachedPoseContainer;
 import com.trainguy9512.locomotion.animation.pose.function.montage.MontageManager;
 import com.trainguy9512.locomotion.util.Interpolator;
-import com.trainguy9512.locomotion.util.TimeSpan;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
 
-public class AnimationDataContainer implements PoseCalculationDataContainer, OnTickDriverContainer {
+public class AnimationDataContainer implements PoseCalculationDataContainer, OnTickDriverContainer, AutoCloseable {
+
+    private static final int PREVIOUS_TICK_POSE_INDEX = 0;
+    private static final int CURRENT_TICK_POSE_INDEX = 1;
+    // Maximum spring movement for springs to be considered at rest when testing for a static pose.
+    private static final float STATIC_SPRING_EPSILON = 1.0E-4f;
 
     private final Map<DriverKey<? extends Driver<?>>, Driver<?>> drivers;
+    private final SpringSolver springSolver;
     private final CachedPoseContainer savedCachedPoseContainer;
     private final PoseFunction<LocalSpacePose> poseFunction;
     private final MontageManager montageManager;
 
     private final JointSkeleton jointSkeleton;
     private final DriverKey<VariableDriver<LocalSpacePose>> perTickCalculatedPoseDriverKey;
-    private final DriverKey<VariableDriver<Long>> gameTimeTicksDriverKey;
+    // Previous and current per-tick poses, stored off-heap instead of in the per-tick pose driver if enabled.
+    private final @Nullable PoseArena perTickCalculatedPoseArena;
+    // Per-tick poses published to the render thread, if the container is ticked on the animation thread.
+    private final @Nullable PoseTripleBuffer publishedPoseBuffer;
+    private long gameTimeTicks;
+    // Ticks started on the main thread, which the animation thread may not have finished yet.
+    private long startedTicks;
+
+    // Number of ticks between each calculation of the per-tick pose, which the pose is interpolated across.
+    private int poseUpdateInterval;
+    // Replaced as a whole rather than modified, so that the render thread reads a consistent snapshot while the
+    // container is ticked on the animation thread.
+    private volatile PoseUpdateTiming poseUpdateTiming;
+    private boolean isPoseUpdateDue;
+    // Joints evaluated at the container's skeleton level of detail.
+    private JointMask lodJointMask;
+    private boolean hasCalculatedPerTickPose;
+    // Number of ticks in a row that a due pose calculation was deferred, to stay within the tick budget or because the
+    // entity was off-screen.
+    private int deferredPoseUpdates;
+    private long lastRenderedFrame;
+
+    // Frames between each interpolation of the pose for rendering, and the last interpolated pose held in between.
+    private int frameUpdateStride;
+    private int frameUpdatePhase;
+    private @Nullable ComponentSpacePose lastFramePose;
+    private float frameCostNanos;
+
+    // Whether the pose can't have changed since the previous tick, in which case the last computed pose is reused.
+    private boolean isPoseStatic;
+    private @Nullable LocalSpacePose staticPose;
+    private long driverModificationCount;
 
     private AnimationDataContainer(JointAnimator<?> jointAnimator) {
         this.drivers = Maps.newHashMap();
+        this.springSolver = SpringSolver.of();
         this.savedCachedPoseContainer = CachedPoseContainer.of();
         this.poseFunction = jointAnimator.constructPoseFunction(savedCachedPoseContainer).wrapUnique();
         this.montageManager = MontageManager.of();
 
         this.jointSkeleton = jointAnimator.buildSkeleton();
         this.perTickCalculatedPoseDriverKey = DriverKey.of("per_tick_calculated_pose", () -> VariableDriver.ofInterpolatable(() -> LocalSpacePose.of(jointSkeleton), Interpolator.LOCAL_SPACE_POSE));
-        this.gameTimeTicksDriverKey = DriverKey.of("game_time", () -> VariableDriver.ofConstant(() -> 0L));
+        this.perTickCalculatedPoseArena = LocomotionMain.CONFIG.data().general.offHeapPoseStorage ? PoseArena.allocate(this.jointSkeleton, 2) : null;
+        this.publishedPoseBuffer = LocomotionMain.CONFIG.data().general.animationThread
+                && jointAnimator.getPoseCalulationFrequency() == JointAnimator.PoseCalculationFrequency.CALCULATE_ONCE_PER_TICK
+                ? PoseTripleBuffer.of()
+                : null;
+        this.gameTimeTicks = 0;
+        this.startedTicks = 0;
+        this.poseUpdateInterval = 1;
+        this.poseUpdateTiming = new PoseUpdateTiming(1, 0, 0);
+        this.isPoseUpdateDue = true;
+        this.lodJointMask = this.jointSkeleton.getFullJointMask();
+        this.hasCalculatedPerTickPose = false;
+        this.deferredPoseUpdates = 0;
+        this.lastRenderedFrame = -1;
+        this.frameUpdateStride = 1;
+        this.frameUpdatePhase = 0;
+        this.lastFramePose = null;
+        this.frameCostNanos = 0;
+        this.isPoseStatic = false;
+        this.staticPose = null;
+        this.driverModificationCount = 0;
         this.tick();
     }
 
@@ -43,33 +109,111 @@ public class AnimationDataContainer implements PoseCalculationDataContainer, OnT
     }
 
     public void preTick() {
-        this.drivers.values().forEach(Driver::pushCurrentToPrevious);
+        this.startedTicks++;
+        PoseUpdateTiming poseUpdateTiming = this.poseUpdateTiming;
+        int ticksSincePoseUpdate = poseUpdateTiming.ticksSinceUpdate() + 1;
+        this.isPoseUpdateDue = ticksSincePoseUpdate >= this.poseUpdateInterval;
+        this.poseUpdateTiming = this.isPoseUpdateDue
+                ? new PoseUpdateTiming(this.poseUpdateInterval, 0, this.startedTicks)
+                : new PoseUpdateTiming(poseUpdateTiming.window(), ticksSincePoseUpdate, poseUpdateTiming.lastUpdateTick());
+        for (Map.Entry<DriverKey<? extends Driver<?>>, Driver<?>> entry : this.drivers.entrySet()) {
+            // The per-tick pose keeps the pose of the previous calculation until a new one is calculated.
+            if (this.isPoseUpdateDue || entry.getKey() != this.perTickCalculatedPoseDriverKey) {
+                entry.getValue().pushCurrentToPrevious();
+            }
+        }
+        if (this.perTickCalculatedPoseArena != null && this.isPoseUpdateDue) {
+            this.perTickCalculatedPoseArena.copy(CURRENT_TICK_POSE_INDEX, PREVIOUS_TICK_POSE_INDEX);
+        }
     }
 
     public void tick() {
         this.montageManager.tick();
         this.drivers.values().forEach(Driver::tick);
-        this.getDriver(this.gameTimeTicksDriverKey).setValue(this.getDriver(this.gameTimeTicksDriverKey).getCurrentValue() + 1);
+        // Springs bound to this container are integrated together rather than within their own tick.
+        this.springSolver.step();
+        this.gameTimeTicks++;
         this.poseFunction.tick(PoseFunction.FunctionEvaluationState.of(
                 this,
                 this.montageManager,
                 false,
-                this.getDriver(this.gameTimeTicksDriverKey).getCurrentValue()
+                this.gameTimeTicks
         ));
+        this.updateStaticState();
+    }
+
+    /**
+     * Tests whether anything the pose is computed from changed during this tick. If nothing did, the pose computed
+     * during this tick is reused until something does.
+     */
+    private void updateStaticState() {
+        long modificationCount = 0;
+        boolean areDriversSettled = true;
+        for (Map.Entry<DriverKey<? extends Driver<?>>, Driver<?>> entry : this.drivers.entrySet()) {
+            Driver<?> driver = entry.getValue();
+            if (entry.getKey() == this.perTickCalculatedPoseDriverKey || driver instanceof SpringDriver<?>) {
+                // The per-tick pose is an output rather than an input, and springs are tested through the solver.
+                continue;
+            }
+            if (driver instanceof TriggerDriver triggerDriver) {
+                areDriversSettled &= !triggerDriver.hasBeenTriggered();
+                continue;
+            }
+            int driverModificationCount = driver.getModificationCount();
+            if (driverModificationCount < 0) {
+                areDriversSettled = false;
+            } else {
+                modificationCount += driverModificationCount;
+            }
+        }
+        // Modification counts only ever increase, so an unchanged total means no driver was modified.
+        boolean areDriversUnmodified = modificationCount == this.driverModificationCount;
+        this.driverModificationCount = modificationCount;
+
+        this.isPoseStatic = areDriversUnmodified
+                && areDriversSettled
+                && this.springSolver.isSettled(STATIC_SPRING_EPSILON)
+                && !this.montageManager.hasActiveMontages()
+                && this.poseFunction.isStatic();
+        if (!this.isPoseStatic) {
+            this.staticPose = null;
+        }
     }
 
     public void postTick() {
         this.drivers.values().forEach(Driver::postTick);
     }
 
+    /**
+     * Computes the pose for the current frame, or returns the previously computed pose if nothing it is computed from
+     * has changed since.
+     *
+     * <p>The returned pose must not be modified, as the same pose is returned again on later frames while it is static.</p>
+     *
+     * @param partialTicks          Percentage of a tick since the previous tick.
+     */
     public LocalSpacePose computePose(float partialTicks) {
         this.savedCachedPoseContainer.clearCaches();
-        return this.poseFunction.compute(PoseFunction.FunctionInterpolationContext.of(
+        if (this.isPoseStatic && this.staticPose != null) {
+            return this.staticPose;
+        }
+        LocalSpacePose pose = this.poseFunction.compute(PoseFunction.FunctionInterpolationContext.of(
                 this,
                 this.montageManager,
                 partialTicks,
-                TimeSpan.ofTicks(this.getDriverValue(gameTimeTicksDriverKey, 1) + partialTicks)
-        ));
+                this.gameTimeTicks + partialTicks
+        ).withRequiredJoints(this.lodJointMask));
+        if (this.isPoseStatic) {
+            this.staticPose = pose;
+        }
+        return pose;
+    }
+
+    /**
+     * Returns whether nothing the pose is computed from changed during the most recent tick.
+     */
+    public boolean isPoseStatic() {
+        return this.isPoseStatic;
     }
 
     @Override
@@ -81,6 +225,181 @@ public class AnimationDataContainer implements PoseCalculationDataContainer, OnT
         return this.perTickCalculatedPoseDriverKey;
     }
 
+    /**
+     * Sets the number of ticks between each calculation of the per-tick pose, which takes effect from the next tick. The
+     * per-tick pose is interpolated across the whole interval, so it moves smoothly at any interval.
+     * @param poseUpdateInterval    Number of ticks, 1 to calculate the pose every tick.
+     */
+    public void setPoseUpdateInterval(int poseUpdateInterval) {
+        if (poseUpdateInterval < 1) {
+            throw new IllegalArgumentException("Pose update interval must be at least 1 tick, not " + poseUpdateInterval + ".");
+        }
+        this.poseUpdateInterval = poseUpdateInterval;
+    }
+
+    /**
+     * Sets the skeleton level of detail that poses are computed at. Joints outside of the level's joint mask are not
+     * evaluated, and keep their reference pose.
+     * @param lodLevel              Level of detail, from 0 for every joint.
+     * @see JointSkeleton#getLodJointMask(int)
+     */
+    public void setLodLevel(int lodLevel) {
+        JointMask lodJointMask = this.jointSkeleton.getLodJointMask(lodLevel);
+        if (lodJointMask != this.lodJointMask) {
+            this.lodJointMask = lodJointMask;
+            // The reused static pose was computed with the previous level's joints.
+            this.isPoseStatic = false;
+            this.staticPose = null;
+        }
+    }
+
+    /**
+     * Returns whether the per-tick pose should be calculated during the current tick.
+     */
+    public boolean isPoseUpdateDue() {
+        return this.isPoseUpdateDue;
+    }
+
+    /**
+     * Skips the per-tick pose calculation that is due this tick, holding the last calculated pose and calculating it
+     * on the next tick instead.
+     */
+    public void deferPoseUpdate() {
+        if (!this.isPoseUpdateDue) {
+            return;
+        }
+        this.isPoseUpdateDue = false;
+        // The latest pose is held until the deferred calculation is published, as its tick has already started.
+        PoseUpdateTiming poseUpdateTiming = this.poseUpdateTiming;
+        this.poseUpdateTiming = new PoseUpdateTiming(poseUpdateTiming.window(), this.poseUpdateInterval - 1, poseUpdateTiming.lastUpdateTick());
+        this.deferredPoseUpdates++;
+    }
+
+    /**
+     * Returns the number of ticks in a row that the per-tick pose calculation has been deferred.
+     */
+    public int getDeferredPoseUpdates() {
+        return this.deferredPoseUpdates;
+    }
+
+    /**
+     * Returns whether a per-tick pose has been calculated since the container was created.
+     */
+    public boolean hasCalculatedPerTickPose() {
+        return this.hasCalculatedPerTickPose;
+    }
+
+    /**
+     * Records that the container's pose was rendered on the provided frame, meaning the entity passed visibility culling.
+     * @param frame                 Number of the frame being rendered.
+     */
+    public void markRendered(long frame) {
+        this.lastRenderedFrame = frame;
+    }
+
+    /**
+     * Returns the number of the last frame the container's pose was rendered on, or -1 if it has never been rendered.
+     */
+    public long getLastRenderedFrame() {
+        return this.lastRenderedFrame;
+    }
+
+    /**
+     * Sets how often the pose is interpolated for rendering, holding the last interpolated pose on the frames in
+     * between.
+     * @param stride                Number of frames between each interpolation, 1 for every frame.
+     * @param phase                 Offset of the frames the pose is interpolated on, from 0 to the stride, so that
+     *                              containers with the same stride take turns.
+     */
+    public void setFrameUpdateSchedule(int stride, int phase) {
+        this.frameUpdateStride = Math.max(stride, 1);
+        this.frameUpdatePhase = phase;
+    }
+
+    /**
+     * Returns whether the pose should be interpolated on the provided frame, or if the last interpolated pose can be
+     * held instead.
+     * @param frame                 Number of the frame being rendered.
+     */
+    public boolean isFrameUpdateDue(long frame) {
+        return this.lastFramePose == null || (frame + this.frameUpdatePhase) % this.frameUpdateStride == 0;
+    }
+
+    public @Nullable ComponentSpacePose getLastFramePose() {
+        return this.lastFramePose;
+    }
+
+    /**
+     * Stores the pose interpolated for the current frame, along with how long it took, which is averaged over recent
+     * frames to estimate the cost of interpolating the pose.
+     * @param pose                  Pose interpolated for the current frame.
+     * @param costNanos             Time taken to interpolate the pose, in nanoseconds.
+     */
+    public void setLastFramePose(ComponentSpacePose pose, long costNanos) {
+        this.lastFramePose = pose;
+        this.frameCostNanos = this.frameCostNanos == 0 ? costNanos : this.frameCostNanos + (costNanos - this.frameCostNanos) * 0.1f;
+    }
+
+    /**
+     * Returns the estimated time taken to interpolate the pose each frame, in nanoseconds.
+     */
+    public float getFrameCostNanos() {
+        return this.frameCostNanos;
+    }
+
+    /**
+     * Stores the pose calculated for the current tick, for joint animators that calculate their pose once per tick.
+     *
+     * <p>If the container is ticked on the animation thread, the pose is published to the render thread instead, and
+     * must not be modified afterward.</p>
+     *
+     * @param pose                  Pose calculated for the current tick.
+     */
+    public void setPerTickCalculatedPose(LocalSpacePose pose) {
+        this.hasCalculatedPerTickPose = true;
+        this.deferredPoseUpdates = 0;
+        if (this.publishedPoseBuffer != null) {
+            this.publishedPoseBuffer.publish(pose, this.startedTicks);
+        } else if (this.perTickCalculatedPoseArena != null) {
+            this.perTickCalculatedPoseArena.store(CURRENT_TICK_POSE_INDEX, pose);
+        } else {
+            this.getDriver(this.perTickCalculatedPoseDriverKey).setValue(pose);
+        }
+    }
+
+    /**
+     * Returns the per-tick calculated pose interpolated between the previous calculation and the latest calculation,
+     * across the ticks between them.
+     * @param partialTicks          Percentage of a tick since the previous tick.
+     */
+    public LocalSpacePose getPerTickCalculatedPose(float partialTicks) {
+        PoseUpdateTiming poseUpdateTiming = this.poseUpdateTiming;
+        float weight = Math.min((poseUpdateTiming.ticksSinceUpdate() + partialTicks) / poseUpdateTiming.window(), 1);
+        if (this.publishedPoseBuffer != null) {
+            LocalSpacePose publishedPose = this.publishedPoseBuffer.read(weight, poseUpdateTiming.lastUpdateTick());
+            return publishedPose != null ? publishedPose : LocalSpacePose.of(this.jointSkeleton);
+        }
+        if (this.perTickCalculatedPoseArena != null) {
+            return this.perTickCalculatedPoseArena.loadInterpolated(PREVIOUS_TICK_POSE_INDEX, CURRENT_TICK_POSE_INDEX, weight, this.lodJointMask);
+        }
+        return this.getDriverValue(this.perTickCalculatedPoseDriverKey, weight);
+    }
+
+    /**
+     * Returns whether this container is ticked on the animation thread, publishing its per-tick poses to the render
+     * thread.
+     */
+    public boolean isTickedOnAnimationThread() {
+        return this.publishedPoseBuffer != null;
+    }
+
+    /**
+     * Returns whether a per-tick pose has been published to the render thread yet. Can be called by any thread.
+     */
+    public boolean hasPublishedPerTickCalculatedPose() {
+        return this.publishedPoseBuffer != null && this.publishedPoseBuffer.hasPublished();
+    }
+
     public MontageManager getMontageManager() {
         return this.montageManager;
     }
@@ -102,6 +421,34 @@ public class AnimationDataContainer implements PoseCalculationDataContainer, OnT
     @SuppressWarnings("unchecked")
     @Override
     public <D, R extends Driver<D>> R getDriver(DriverKey<R> driverKey) {
-        return (R) this.drivers.computeIfAbsent(driverKey, DriverKey::createInstance);
+        return (R) this.drivers.computeIfAbsent(driverKey, this::createDriver);
+    }
+
+    /**
+     * Frees the off-heap storage of this container, if it has any. The container cannot be used afterward.
+     */
+    @Override
+    public void close() {
+        if (this.perTickCalculatedPoseArena != null) {
+            this.perTickCalculatedPoseArena.close();
+        }
+    }
+
+    private Driver<?> createDriver(DriverKey<? extends Driver<?>> driverKey) {
+        Driver<?> driver = driverKey.createInstance();
+        if (driver instanceof SpringDriver<?> springDriver) {
+            springDriver.bindTo(this.springSolver);
+        }
+        return driver;
+    }
+
+    /**
+     * Timing of the latest per-tick pose calculation, used to interpolate the per-tick pose across the ticks until the
+     * next one.
+     * @param window                Number of ticks the latest pose is interpolated across.
+     * @param ticksSinceUpdate      Number of ticks since the latest pose calculation was started.
+     * @param lastUpdateTick        Number of the tick the latest pose calculation was started on.
+     */
+    private record PoseUpdateTiming(int window, int ticksSinceUpdate, long lastUpdateTick) {
     }
 }
@@ -66,6 +66,26 @@ public class AnimationSequenceData {
             return this.translationTimelines().containsKey(joint) && this.rotationTimelines().containsKey(joint) && this.scaleTimelines().containsKey(joint) && this.visibilityTimelines().containsKey(joint);
         }
 
+        /**
+         * Returns whether this sequence has the same pose at every point in time, such as when every timeline has a
+         * single keyframe.
+         */
+        public boolean isStatic(){
+            if (this.length.inTicks() == 0) {
+                return true;
+            }
+            return areTimelinesStatic(this.translationTimelines) && areTimelinesStatic(this.rotationTimelines) && areTimelinesStatic(this.scaleTimelines) && areTimelinesStatic(this.visibilityTimelines);
+        }
+
+        private static boolean areTimelinesStatic(Map<String, ? extends Timeline<?>> timelines){
+            for (Timeline<?> timeline : timelines.values()) {
+                if (timeline.getKeyframeCount() > 1) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         /**
          * Returns a set of marker identifiers within the specified time range.
          * @param start     Start time
@@ -74,22 +94,42 @@ public class AnimationSequenceData {
          * @return          Set of marker identifiers.
          */
         public Set<String> getMarkersInRange(TimeSpan start, TimeSpan end, boolean looped){
-            float startSeconds = looped ? start.inSeconds() % this.length.inSeconds() : start.inSeconds();
-            float endSeconds = looped ? end.inSeconds() % this.length.inSeconds() : end.inSeconds();
             Set<String> markersToReturn = new HashSet<>();
-            this.timeMarkers.forEach((identifier, times) -> times.forEach(markerTime -> {
-                float markerTimeSeconds = markerTime.inSeconds();
-
-                boolean isRangeWrappedAroundLoop = endSeconds < startSeconds;
-                if (isRangeWrappedAroundLoop && (markerTimeSeconds <= endSeconds || markerTimeSeconds > startSeconds)) {
-                    markersToReturn.add(identifier);
-                } else if (markerTimeSeconds > startSeconds && markerTimeSeconds <= endSeconds) {
+            for (String identifier : this.timeMarkers.keySet()) {
+                if (this.isMarkerInRange(identifier, start.inTicks(), end.inTicks(), looped)) {
                     markersToReturn.add(identifier);
                 }
-            }));
+            }
             return markersToReturn;
         }
 
+        /**
+         * Returns whether any occurrence of the marker falls within the specified time range, without allocating.
+         * @param identifier    Marker identifier
+         * @param startTicks    Start time in ticks, exclusive
+         * @param endTicks      End time in ticks, inclusive
+         * @param looped        Whether the time range should be looped based on the sequence's length
+         */
+        public boolean isMarkerInRange(String identifier, float startTicks, float endTicks, boolean looped){
+            List<TimeSpan> times = this.timeMarkers.get(identifier);
+            if (times == null) {
+                return false;
+            }
+            float lengthInTicks = this.length.inTicks();
+            float start = looped ? startTicks % lengthInTicks : startTicks;
+            float end = looped ? endTicks % lengthInTicks : endTicks;
+            boolean isRangeWrappedAroundLoop = end < start;
+            for (int i = 0; i < times.size(); i++) {
+                float markerTicks = times.get(i).inTicks();
+                if (isRangeWrappedAroundLoop && (markerTicks <= end || markerTicks > start)) {
+                    return true;
+                } else if (markerTicks > start && markerTicks <= end) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
         public static AnimationSequence.Builder builder(TimeSpan frameLength){
             return new AnimationSequence.Builder(frameLength);
         }
@@ -6,6 +6,7 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.trainguy9512.locomotion.LocomotionMain;
+import com.trainguy9512.locomotion.animation.joint.RotationInterpolation;
 import com.trainguy9512.locomotion.util.Interpolator;
 import com.trainguy9512.locomotion.util.TimeSpan;
 import com.trainguy9512.locomotion.util.Timeline;
@@ -132,6 +133,7 @@ public class AnimationSequenceDataLoader {
             });
             LOGGER.info("Finished loading animations!");
             AnimationSequenceData.INSTANCE.clearAndReplace(data);
+            RotationInterpolation.logMaximumError(AnimationSequenceData.INSTANCE);
         });
     }
 
@@ -17,6 +17,12 @@ public interface PoseCalculationDataContainer {
      */
     public <D, R extends Driver<D>> D getDriverValue(DriverKey<R> driverKey, float partialTicks);
 
+    /**
+     * Returns an animation driver, for reading its value through the driver's own non-allocating getters.
+     * @param driverKey         {@link DriverKey <>} of the driver to return.
+     */
+    public <D, R extends Driver<D>> R getDriver(DriverKey<R> driverKey);
+
     /**
      * Returns the joint skeleton for the data container.
      */
@@ -0,0 +1,113 @@
+package com.trainguy9512.locomotion.animation.driver;
+
+/**
+ * Driver that stores a primitive boolean that can be updated each tick.
+ * <p>
+ * When interpolated, the previous tick's value is returned for the first half of the tick and the current tick's
+ * value for the second half, matching {@link com.trainguy9512.locomotion.util.Interpolator#BOOLEAN_BLEND}.
+ */
+public class BooleanDriver implements Driver<Boolean> {
+
+    private final boolean initialValue;
+
+    private boolean currentValue;
+    private boolean previousValue;
+    private int modificationCount;
+
+    protected BooleanDriver(boolean initialValue) {
+        this.initialValue = initialValue;
+
+        this.currentValue = initialValue;
+        this.previousValue = initialValue;
+    }
+
+    @Override
+    public void tick() {
+
+    }
+
+    /**
+     * Returns the boxed interpolated value. Prefer {@link BooleanDriver#getBoolean(float)} on hot paths.
+     */
+    @Override
+    public Boolean getValueInterpolated(float partialTicks) {
+        return this.getBoolean(partialTicks);
+    }
+
+    /**
+     * Returns the interpolated value between the previous tick and the current tick without boxing.
+     * @param partialTicks      Percentage of a tick since the previous tick.
+     */
+    public boolean getBoolean(float partialTicks) {
+        return partialTicks >= 0.5f ? this.currentValue : this.previousValue;
+    }
+
+    public boolean getPreviousValue() {
+        return this.previousValue;
+    }
+
+    public boolean getCurrentValue() {
+        return this.currentValue;
+    }
+
+    /**
+     * Sets the value for the current tick.
+     * @param newValue      Value to load for the current tick.
+     */
+    public void setValue(boolean newValue) {
+        if (newValue != this.currentValue) {
+            this.modificationCount++;
+        }
+        this.currentValue = newValue;
+    }
+
+    @Override
+    public void pushCurrentToPrevious() {
+        this.previousValue = this.currentValue;
+    }
+
+    @Override
+    public void postTick() {
+
+    }
+
+    /**
+     * Loads the driver with the driver's default value.
+     */
+    public void reset() {
+        this.setValue(this.initialValue);
+    }
+
+    /**
+     * Loads both the driver's current and previous values with the driver's default value
+     */
+    public void hardReset() {
+        this.setValue(this.initialValue);
+        this.pushCurrentToPrevious();
+    }
+
+    /**
+     * Returns whether the value has changed since the previous tick or not.
+     */
+    public boolean hasValueChanged() {
+        return this.currentValue != this.previousValue;
+    }
+
+    @Override
+    public int getModificationCount() {
+        return this.modificationCount;
+    }
+
+    /**
+     * Creates a boolean driver.
+     * @param defaultValue      Default value set from the start and set upon resetting the driver.
+     */
+    public static BooleanDriver of(boolean defaultValue) {
+        return new BooleanDriver(defaultValue);
+    }
+
+    @Override
+    public String toString() {
+        return Boolean.toString(this.currentValue);
+    }
+}
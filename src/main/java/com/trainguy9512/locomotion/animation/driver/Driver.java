@@ -28,4 +28,13 @@ public interface Driver<D> {
      * Called once per tick after data extraction and after pose function tick.
      */
     void postTick();
+
+    /**
+     * Returns a counter that is incremented every time the driver's current value changes. Unlike comparing the current
+     * and previous values, this detects changes made at any point, including during pose function ticking.
+     * @return                  Modification count, or -1 if the driver doesn't track modifications.
+     */
+    default int getModificationCount() {
+        return -1;
+    }
 }
@@ -0,0 +1,160 @@
+package com.trainguy9512.locomotion.animation.driver;
+
+import java.util.function.Supplier;
+
+/**
+ * Driver that stores a primitive float that can be updated each tick and then is linearly interpolated.
+ * <p>
+ * Unlike a {@link VariableDriver} of type {@link Float}, values are never boxed when being set or read through the
+ * primitive accessors. The last interpolated value is kept as a snapshot, so repeated reads within the same frame
+ * do not need to re-interpolate.
+ */
+public class FloatDriver implements Driver<Float> {
+
+    private final Supplier<Float> initialValue;
+    private final boolean interpolated;
+
+    private float currentValue;
+    private float previousValue;
+    private int modificationCount;
+
+    private float snapshotPartialTicks;
+    private float snapshotValue;
+
+    protected FloatDriver(Supplier<Float> initialValue, boolean interpolated) {
+        this.initialValue = initialValue;
+        this.interpolated = interpolated;
+
+        this.currentValue = initialValue.get();
+        this.previousValue = this.currentValue;
+        this.invalidateSnapshot();
+    }
+
+    @Override
+    public void tick() {
+
+    }
+
+    /**
+     * Returns the boxed interpolated value. Prefer {@link FloatDriver#getFloat(float)} on hot paths.
+     */
+    @Override
+    public Float getValueInterpolated(float partialTicks) {
+        return this.getFloat(partialTicks);
+    }
+
+    /**
+     * Returns the interpolated value between the previous tick and the current tick without boxing.
+     * @param partialTicks      Percentage of a tick since the previous tick.
+     */
+    public float getFloat(float partialTicks) {
+        if (!this.interpolated) {
+            return this.currentValue;
+        }
+        if (partialTicks != this.snapshotPartialTicks) {
+            this.snapshotValue = this.previousValue + (this.currentValue - this.previousValue) * partialTicks;
+            this.snapshotPartialTicks = partialTicks;
+        }
+        return this.snapshotValue;
+    }
+
+    public float getPreviousValue() {
+        return this.previousValue;
+    }
+
+    public float getCurrentValue() {
+        return this.currentValue;
+    }
+
+    /**
+     * Sets the value for the current tick.
+     * @param newValue      Value to load for the current tick.
+     */
+    public void setValue(float newValue) {
+        if (newValue != this.currentValue) {
+            this.modificationCount++;
+        }
+        this.currentValue = newValue;
+        this.invalidateSnapshot();
+    }
+
+    /**
+     * Adds to the current value, without going through a boxed modifier function.
+     * @param amount        Amount to add to the current value.
+     */
+    public void addToValue(float amount) {
+        this.setValue(this.currentValue + amount);
+    }
+
+    @Override
+    public void pushCurrentToPrevious() {
+        this.previousValue = this.currentValue;
+        this.invalidateSnapshot();
+    }
+
+    @Override
+    public void postTick() {
+
+    }
+
+    /**
+     * Loads the driver with the driver's default value.
+     */
+    public void reset() {
+        this.setValue(this.initialValue.get());
+    }
+
+    /**
+     * Loads both the driver's current and previous values with the driver's default value
+     */
+    public void hardReset() {
+        this.setValue(this.initialValue.get());
+        this.pushCurrentToPrevious();
+    }
+
+    /**
+     * Returns whether the value has changed since the previous tick or not.
+     */
+    public boolean hasValueChanged() {
+        return this.currentValue != this.previousValue;
+    }
+
+    @Override
+    public int getModificationCount() {
+        return this.modificationCount;
+    }
+
+    private void invalidateSnapshot() {
+        // NaN never compares equal, so the next interpolated read always recomputes.
+        this.snapshotPartialTicks = Float.NaN;
+    }
+
+    /**
+     * Creates a float driver that will be linearly interpolated between ticks.
+     * @param defaultValue      Default value set from the start and set upon resetting the driver.
+     */
+    public static FloatDriver of(Supplier<Float> defaultValue) {
+        return new FloatDriver(defaultValue, true);
+    }
+
+    /**
+     * Creates a float driver that will be linearly interpolated between ticks.
+     * @param defaultValue      Default value set from the start and set upon resetting the driver.
+     */
+    public static FloatDriver of(float defaultValue) {
+        return new FloatDriver(() -> defaultValue, true);
+    }
+
+    /**
+     * Creates a float driver that will pass the latest non-interpolated tick value when accessed.
+     * @param defaultValue      Default value set from the start and set upon resetting the driver.
+     */
+    public static FloatDriver ofConstant(float defaultValue) {
+        return new FloatDriver(() -> defaultValue, false);
+    }
+
+    @Override
+    public String toString() {
+        return Float.toString(this.currentValue);
+    }
+}
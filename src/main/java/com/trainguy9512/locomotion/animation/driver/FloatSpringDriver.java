@@ -0,0 +1,39 @@
+package com.trainguy9512.locomotion.animation.driver;
+
+/**
+ * Spring driver of a single primitive float.
+ */
+public class FloatSpringDriver extends SpringDriver<Float> {
+
+    protected FloatSpringDriver(float stiffness, float damping, float mass, float initialValue, boolean returnsDelta) {
+        super(stiffness, damping, mass, new float[]{initialValue}, returnsDelta);
+    }
+
+    /**
+     * Returns the boxed interpolated value. Prefer {@link FloatSpringDriver#getFloat(float)} on hot paths.
+     */
+    @Override
+    public Float getValueInterpolated(float partialTicks) {
+        return this.getFloat(partialTicks);
+    }
+
+    /**
+     * Returns the interpolated value between the previous tick and the current tick without boxing.
+     * @param partialTicks      Percentage of a tick since the previous tick.
+     */
+    public float getFloat(float partialTicks) {
+        return this.getChannelInterpolated(0, partialTicks);
+    }
+
+    /**
+     * Sets the target value for the current tick.
+     */
+    public void setValue(float target) {
+        this.setTarget(0, target);
+    }
+
+    @Override
+    public String toString() {
+        return Float.toString(this.solver.values[this.offset]);
+    }
+}
@@ -0,0 +1,111 @@
+package com.trainguy9512.locomotion.animation.driver;
+
+/**
+ * Driver that stores a primitive integer that can be updated each tick.
+ * <p>
+ * Integers are not interpolated, so the latest tick value is always returned when accessed.
+ */
+public class IntDriver implements Driver<Integer> {
+
+    private final int initialValue;
+
+    private int currentValue;
+    private int previousValue;
+    private int modificationCount;
+
+    protected IntDriver(int initialValue) {
+        this.initialValue = initialValue;
+
+        this.currentValue = initialValue;
+        this.previousValue = initialValue;
+    }
+
+    @Override
+    public void tick() {
+
+    }
+
+    /**
+     * Returns the boxed value. Prefer {@link IntDriver#getInt()} on hot paths.
+     */
+    @Override
+    public Integer getValueInterpolated(float partialTicks) {
+        return this.currentValue;
+    }
+
+    /**
+     * Returns the latest tick value without boxing.
+     */
+    public int getInt() {
+        return this.currentValue;
+    }
+
+    public int getPreviousValue() {
+        return this.previousValue;
+    }
+
+    public int getCurrentValue() {
+        return this.currentValue;
+    }
+
+    /**
+     * Sets the value for the current tick.
+     * @param newValue      Value to load for the current tick.
+     */
+    public void setValue(int newValue) {
+        if (newValue != this.currentValue) {
+            this.modificationCount++;
+        }
+        this.currentValue = newValue;
+    }
+
+    @Override
+    public void pushCurrentToPrevious() {
+        this.previousValue = this.currentValue;
+    }
+
+    @Override
+    public void postTick() {
+
+    }
+
+    /**
+     * Loads the driver with the driver's default value.
+     */
+    public void reset() {
+        this.setValue(this.initialValue);
+    }
+
+    /**
+     * Loads both the driver's current and previous values with the driver's default value
+     */
+    public void hardReset() {
+        this.setValue(this.initialValue);
+        this.pushCurrentToPrevious();
+    }
+
+    /**
+     * Returns whether the value has changed since the previous tick or not.
+     */
+    public boolean hasValueChanged() {
+        return this.currentValue != this.previousValue;
+    }
+
+    @Override
+    public int getModificationCount() {
+        return this.modificationCount;
+    }
+
+    /**
+     * Creates an integer driver.
+     * @param defaultValue      Default value set from the start and set upon resetting the driver.
+     */
+    public static IntDriver of(int defaultValue) {
+        return new IntDriver(defaultValue);
+    }
+
+    @Override
+    public String toString() {
+        return Integer.toString(this.currentValue);
+    }
+}
@@ -1,114 +1,142 @@
 package com.trainguy9512.locomotion.animation.driver;
 
-import com.trainguy9512.locomotion.LocomotionMain;
-import com.trainguy9512.locomotion.util.Interpolator;
-import org.joml.Vector3d;
 import org.joml.Vector3f;
 
-import java.util.function.BiFunction;
-import java.util.function.Function;
 import java.util.function.Supplier;
 
-public class SpringDriver<D> extends VariableDriver<D> {
-
+/**
+ * Driver that follows a target value set each tick with a damped spring.
+ * <p>
+ * Spring state is stored as primitive channels within a {@link SpringSolver}. By default each spring owns a private
+ * solver and integrates itself in {@link SpringDriver#tick()}. Once bound to a shared solver with
+ * {@link SpringDriver#bindTo(SpringSolver)}, the spring is instead integrated by whoever owns that solver, alongside
+ * every other spring bound to it.
+ *
+ * @param <D>       Data type
+ * @see FloatSpringDriver
+ * @see Vector3SpringDriver
+ */
+public abstract class SpringDriver<D> implements Driver<D> {
+
+    private final int channels;
     private final float stiffness;
     private final float damping;
     private final float mass;
-
-    private final BiFunction<D, D, D> addition;
-    private final BiFunction<D, Float, D> multiplication;
     private final boolean returnsDelta;
+    private final float[] initialValue;
+
+    protected SpringSolver solver;
+    protected int offset;
+    private boolean isBound;
 
-    private D currentTargetValue;
-    private D previousTargetValue;
-    private D velocity;
-
-    protected SpringDriver(
-            float stiffness,
-            float damping,
-            float mass,
-            Supplier<D> initialValue,
-            Interpolator<D> interpolator,
-            BiFunction<D, D, D> addition,
-            BiFunction<D, Float, D> multiplication,
-            boolean returnsDelta
-    ) {
-        super(initialValue, interpolator);
+    protected SpringDriver(float stiffness, float damping, float mass, float[] initialValue, boolean returnsDelta) {
+        this.channels = initialValue.length;
         this.stiffness = stiffness;
         this.damping = damping;
-        this.mass = Math.max(mass, 0.1f);
-
-        this.addition = addition;
-        this.multiplication = multiplication;
+        this.mass = mass;
         this.returnsDelta = returnsDelta;
+        this.initialValue = initialValue;
 
-        this.currentTargetValue = initialValue.get();
-        this.previousTargetValue = initialValue.get();
-        this.velocity = multiplication.apply(initialValue.get(), 0f);
+        this.solver = SpringSolver.ofCapacity(this.channels);
+        this.offset = this.solver.allocate(this.channels, stiffness, damping, mass);
+        this.isBound = false;
+        this.hardReset();
     }
 
-    public static <D> SpringDriver<D> of(float stiffness, float damping, float mass, Supplier<D> initialValue, Interpolator<D> interpolator, BiFunction<D, D, D> addition, BiFunction<D, Float, D> multiplication, boolean returnsDelta) {
-        return new SpringDriver<>(stiffness, damping, mass, initialValue, interpolator, addition, multiplication, returnsDelta);
+    /**
+     * Creates a float spring driver.
+     * @param stiffness         How strongly the spring is pulled towards the target value.
+     * @param damping           How much the spring's velocity is resisted.
+     * @param mass              Mass of the spring, dividing the resulting acceleration.
+     * @param initialValue      Default value set from the start and set upon resetting the driver.
+     * @param returnsDelta      Whether the interpolated value is the difference between the target and the spring value, rather than the spring value itself.
+     */
+    public static FloatSpringDriver ofFloat(float stiffness, float damping, float mass, Supplier<Float> initialValue, boolean returnsDelta) {
+        return new FloatSpringDriver(stiffness, damping, mass, initialValue.get(), returnsDelta);
     }
 
-    public static SpringDriver<Float> ofFloat(float stiffness, float damping, float mass, Supplier<Float> initialValue, boolean returnsDelta) {
-        return SpringDriver.of(stiffness, damping, mass, initialValue,
-                Interpolator.FLOAT,
-                Float::sum,
-                (a, b) -> a * b,
-                returnsDelta
-        );
+    /**
+     * Creates a three-component vector spring driver.
+     * @param stiffness         How strongly the spring is pulled towards the target value.
+     * @param damping           How much the spring's velocity is resisted.
+     * @param mass              Mass of the spring, dividing the resulting acceleration.
+     * @param initialValue      Default value set from the start and set upon resetting the driver.
+     * @param returnsDelta      Whether the interpolated value is the difference between the target and the spring value, rather than the spring value itself.
+     */
+    public static Vector3SpringDriver ofVector3f(float stiffness, float damping, float mass, Supplier<Vector3f> initialValue, boolean returnsDelta) {
+        return new Vector3SpringDriver(stiffness, damping, mass, initialValue.get(), returnsDelta);
     }
 
-    public static SpringDriver<Vector3f> ofVector3f(float stiffness, float damping, float mass, Supplier<Vector3f> initialValue, boolean returnsDelta) {
-        return SpringDriver.of(stiffness, damping, mass, initialValue,
-                Interpolator.VECTOR_FLOAT,
-                (a, b) -> a.add(b, new Vector3f()),
-                (a, b) -> a.mul(b, new Vector3f()),
-                returnsDelta
-        );
+    /**
+     * Moves this spring's state into the provided solver, which from then on is responsible for integrating it.
+     * @param solver            Shared solver to step this spring with.
+     */
+    public void bindTo(SpringSolver solver) {
+        if (this.solver == solver) {
+            return;
+        }
+        int newOffset = solver.allocate(this.channels, this.stiffness, this.damping, this.mass);
+        solver.copyState(this.solver, this.offset, newOffset, this.channels);
+        this.solver = solver;
+        this.offset = newOffset;
+        this.isBound = true;
     }
 
     @Override
-    public void setValue(D value) {
-        this.currentTargetValue = value;
+    public void tick() {
+        if (!this.isBound) {
+            this.solver.step();
+        }
     }
 
     @Override
     public void pushCurrentToPrevious() {
-        super.pushCurrentToPrevious();
-        this.previousTargetValue = this.currentTargetValue;
+        this.solver.pushCurrentToPrevious(this.offset, this.channels);
     }
 
     @Override
-    public void reset() {
-        super.reset();
-        this.previousTargetValue = this.initialValue.get();
-        this.currentTargetValue = this.initialValue.get();
+    public void postTick() {
+
     }
 
-    @Override
-    public D getValueInterpolated(float partialTicks) {
-        D interpolatedValue = super.getValueInterpolated(partialTicks);
+    /**
+     * Sets the target value of a single channel for the current tick.
+     */
+    protected void setTarget(int channel, float target) {
+        this.solver.targets[this.offset + channel] = target;
+    }
+
+    /**
+     * Returns the interpolated value of a single channel, or its delta from the target if the spring returns deltas.
+     */
+    protected float getChannelInterpolated(int channel, float partialTicks) {
+        int index = this.offset + channel;
+        float previousValue = this.solver.previousValues[index];
+        float value = previousValue + (this.solver.values[index] - previousValue) * partialTicks;
         if (this.returnsDelta) {
-            D targetInterpolatedValue = this.interpolator.interpolate(this.previousTargetValue, this.currentTargetValue, partialTicks);
-            return this.addition.apply(targetInterpolatedValue, this.multiplication.apply(interpolatedValue, -1f));
-        } else {
-            return interpolatedValue;
+            float previousTarget = this.solver.previousTargets[index];
+            return previousTarget + (this.solver.targets[index] - previousTarget) * partialTicks - value;
         }
+        return value;
     }
 
-    @Override
-    public void tick() {
-        super.tick();
-
-        D displacement = this.addition.apply(this.currentValue, this.multiplication.apply(this.currentTargetValue, -1f));
-        D springForce = this.multiplication.apply(displacement, this.stiffness * -1f);
-        D dampingForce = this.multiplication.apply(this.velocity, this.damping * -1f);
-        D acceleration = this.multiplication.apply(this.addition.apply(springForce, dampingForce), 1 / Math.max(this.mass, 0.01f));
-
-        this.velocity = this.addition.apply(this.velocity, acceleration);
+    /**
+     * Loads the spring's value and target with the driver's default value, and stops it from moving.
+     */
+    public void reset() {
+        for (int channel = 0; channel < this.channels; channel++) {
+            int index = this.offset + channel;
+            this.solver.values[index] = this.initialValue[channel];
+            this.solver.targets[index] = this.initialValue[channel];
+            this.solver.velocities[index] = 0;
+        }
+    }
 
-        this.currentValue = this.addition.apply(this.currentValue, this.velocity);
+    /**
+     * Loads the spring's current and previous values and targets with the driver's default value, and stops it from moving.
+     */
+    public void hardReset() {
+        this.reset();
+        this.pushCurrentToPrevious();
     }
 }
@@ -0,0 +1,138 @@
+package com.trainguy9512.locomotion.animation.driver;
+
+import java.util.Arrays;
+
+/**
+ * Packed storage and integrator for spring drivers.
+ * <p>
+ * Every spring channel (one per float spring, three per vector spring) keeps its value, velocity, target and
+ * coefficients at the same index across a set of flat arrays. Stepping every spring bound to a solver is then a
+ * single loop over primitive arrays, without any allocation or per-driver dispatch.
+ *
+ * @see SpringDriver
+ */
+public class SpringSolver {
+
+    private static final int DEFAULT_CAPACITY = 6;
+
+    float[] values;
+    float[] previousValues;
+    float[] velocities;
+    float[] targets;
+    float[] previousTargets;
+    private float[] stiffness;
+    private float[] damping;
+    private float[] inverseMass;
+
+    private int size;
+
+    private SpringSolver(int capacity) {
+        this.values = new float[capacity];
+        this.previousValues = new float[capacity];
+        this.velocities = new float[capacity];
+        this.targets = new float[capacity];
+        this.previousTargets = new float[capacity];
+        this.stiffness = new float[capacity];
+        this.damping = new float[capacity];
+        this.inverseMass = new float[capacity];
+        this.size = 0;
+    }
+
+    public static SpringSolver of() {
+        return new SpringSolver(DEFAULT_CAPACITY);
+    }
+
+    static SpringSolver ofCapacity(int capacity) {
+        return new SpringSolver(capacity);
+    }
+
+    /**
+     * Integrates every spring channel in the solver by one tick.
+     */
+    public void step() {
+        float[] values = this.values;
+        float[] velocities = this.velocities;
+        float[] targets = this.targets;
+        for (int i = 0; i < this.size; i++) {
+            float springForce = -this.stiffness[i] * (values[i] - targets[i]);
+            float dampingForce = -this.damping[i] * velocities[i];
+            velocities[i] += (springForce + dampingForce) * this.inverseMass[i];
+            values[i] += velocities[i];
+        }
+    }
+
+    /**
+     * Returns whether every spring channel has come to rest at its target, with its value and target the same as on
+     * the previous tick.
+     * @param epsilon       Maximum difference for values to be considered the same.
+     */
+    public boolean isSettled(float epsilon) {
+        for (int i = 0; i < this.size; i++) {
+            if (Math.abs(this.values[i] - this.targets[i]) > epsilon
+                    || Math.abs(this.velocities[i]) > epsilon
+                    || Math.abs(this.values[i] - this.previousValues[i]) > epsilon
+                    || Math.abs(this.targets[i] - this.previousTargets[i]) > epsilon) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of channels currently allocated in the solver.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Allocates a contiguous range of channels sharing the same spring coefficients.
+     * @return              Index of the first allocated channel.
+     */
+    int allocate(int channels, float stiffness, float damping, float mass) {
+        int offset = this.size;
+        this.ensureCapacity(offset + channels);
+        float inverseMass = 1 / Math.max(mass, 0.1f);
+        for (int i = offset; i < offset + channels; i++) {
+            this.stiffness[i] = stiffness;
+            this.damping[i] = damping;
+            this.inverseMass[i] = inverseMass;
+        }
+        this.size += channels;
+        return offset;
+    }
+
+    /**
+     * Copies the state of a range of channels from another solver into this one.
+     */
+    void copyState(SpringSolver source, int sourceOffset, int destinationOffset, int channels) {
+        System.arraycopy(source.values, sourceOffset, this.values, destinationOffset, channels);
+        System.arraycopy(source.previousValues, sourceOffset, this.previousValues, destinationOffset, channels);
+        System.arraycopy(source.velocities, sourceOffset, this.velocities, destinationOffset, channels);
+        System.arraycopy(source.targets, sourceOffset, this.targets, destinationOffset, channels);
+        System.arraycopy(source.previousTargets, sourceOffset, this.previousTargets, destinationOffset, channels);
+    }
+
+    /**
+     * Pushes the current values and targets of a range of channels to their previous tick values.
+     */
+    void pushCurrentToPrevious(int offset, int channels) {
+        System.arraycopy(this.values, offset, this.previousValues, offset, channels);
+        System.arraycopy(this.targets, offset, this.previousTargets, offset, channels);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= this.values.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, this.values.length * 2);
+        this.values = Arrays.copyOf(this.values, newCapacity);
+        this.previousValues = Arrays.copyOf(this.previousValues, newCapacity);
+        this.velocities = Arrays.copyOf(this.velocities, newCapacity);
+        this.targets = Arrays.copyOf(this.targets, newCapacity);
+        this.previousTargets = Arrays.copyOf(this.previousTargets, newCapacity);
+        this.stiffness = Arrays.copyOf(this.stiffness, newCapacity);
+        this.damping = Arrays.copyOf(this.damping, newCapacity);
+        this.inverseMass = Arrays.copyOf(this.inverseMass, newCapacity);
+    }
+}
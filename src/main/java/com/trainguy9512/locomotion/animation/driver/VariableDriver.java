@@ -3,25 +3,36 @@ package com.trainguy9512.locomotion.animation.driver;
 import com.trainguy9512.locomotion.util.Interpolator;
 import org.joml.Vector3f;
 
+import java.util.Objects;
+import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
  * Driver that acts as a variable that can be updated each tick and then is interpolated.
+ *
+ * <p>Modifications are counted by comparing each new value to the current one, so that transitions depending on the
+ * driver are only tested again once its value changes. Values must therefore never be mutated in place after being set,
+ * as the change would go unnoticed. Set a copy of mutable values instead, and give the driver an equivalence test that
+ * compares their contents if their type doesn't override {@link Object#equals(Object)}.</p>
+ *
  * @param <D>
  */
 public class VariableDriver<D> implements Driver<D> {
 
     protected final Supplier<D> initialValue;
     protected final Interpolator<D> interpolator;
+    protected final BiPredicate<D, D> equivalence;
 
     protected D currentValue;
     protected D previousValue;
+    protected int modificationCount;
 
 
-    protected VariableDriver(Supplier<D> initialValue, Interpolator<D> interpolator) {
+    protected VariableDriver(Supplier<D> initialValue, Interpolator<D> interpolator, BiPredicate<D, D> equivalence) {
         this.initialValue = initialValue;
         this.interpolator = interpolator;
+        this.equivalence = equivalence;
 
         this.currentValue = initialValue.get();
         this.previousValue = initialValue.get();
@@ -48,11 +59,10 @@ public class VariableDriver<D> implements Driver<D> {
     /**
      * Sets the value for the current tick.
      * If the new value is null, the default value is used instead.
-     * @param newValue      Value to load for the current tick.
-     * @implNote            Ensure that any mutable values inputted here are copies of themselves!
+     * @param newValue      Value to load for the current tick, which must not be mutated afterward.
      */
     public void setValue(D newValue) {
-        this.currentValue = newValue != null ? newValue : this.initialValue.get();
+        this.updateCurrentValue(newValue != null ? newValue : this.initialValue.get());
     }
 
     /**
@@ -60,7 +70,14 @@ public class VariableDriver<D> implements Driver<D> {
      * @param valueModifier Value modifier function
      */
     public void modifyValue(Function<D, D> valueModifier) {
-        this.currentValue = valueModifier.apply(this.currentValue);
+        this.updateCurrentValue(valueModifier.apply(this.currentValue));
+    }
+
+    private void updateCurrentValue(D newValue) {
+        if (!this.equivalence.test(newValue, this.currentValue)) {
+            this.modificationCount++;
+        }
+        this.currentValue = newValue;
     }
 
     /**
@@ -94,7 +111,12 @@ public class VariableDriver<D> implements Driver<D> {
      * Returns whether the value has changed since the previous tick or not.
      */
     public boolean hasValueChanged() {
-        return !this.currentValue.equals(this.previousValue);
+        return !this.equivalence.test(this.currentValue, this.previousValue);
+    }
+
+    @Override
+    public int getModificationCount() {
+        return this.modificationCount;
     }
 
     /**
@@ -103,7 +125,7 @@ public class VariableDriver<D> implements Driver<D> {
      * @param interpolator      Interpolation function for the data type
      */
     public static <D> VariableDriver<D> ofInterpolatable(Supplier<D> defaultValue, Interpolator<D> interpolator) {
-        return new VariableDriver<>(defaultValue, interpolator);
+        return new VariableDriver<>(defaultValue, interpolator, Objects::equals);
     }
 
     /**
@@ -114,6 +136,16 @@ public class VariableDriver<D> implements Driver<D> {
         return VariableDriver.ofInterpolatable(defaultValue, Interpolator.constant());
     }
 
+    /**
+     * Creates a driver of the given data type that will pass the latest non-interpolated tick value when accessed, for
+     * types that don't override {@link Object#equals(Object)}.
+     * @param defaultValue      Default value set from the start and set upon resetting the driver.
+     * @param equivalence       Test for whether two values are the same, used to count modifications.
+     */
+    public static <D> VariableDriver<D> ofConstant(Supplier<D> defaultValue, BiPredicate<D, D> equivalence) {
+        return new VariableDriver<>(defaultValue, Interpolator.constant(), equivalence);
+    }
+
     /**
      * Creates a boolean driver that will pass the latest non-interpolated tick value when accessed.
      * @param defaultValue      Default value set from the start and set upon resetting the driver.
@@ -0,0 +1,157 @@
+package com.trainguy9512.locomotion.animation.driver;
+
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+/**
+ * Driver that stores a three-component float vector that can be updated each tick and then is linearly interpolated.
+ * <p>
+ * The current, previous and interpolated vectors are owned by the driver and updated in place, so setting and
+ * reading values through {@link Vector3Driver#setValue(float, float, float)} and
+ * {@link Vector3Driver#getInto(Vector3f, float)} never allocates. The last interpolated value is kept as a snapshot,
+ * so repeated reads within the same frame do not need to re-interpolate.
+ */
+public class Vector3Driver implements Driver<Vector3f> {
+
+    private final Vector3fc initialValue;
+
+    private final Vector3f currentValue;
+    private final Vector3f previousValue;
+    private int modificationCount;
+
+    private final Vector3f snapshotValue;
+    private float snapshotPartialTicks;
+
+    protected Vector3Driver(Vector3fc initialValue) {
+        this.initialValue = new Vector3f(initialValue);
+
+        this.currentValue = new Vector3f(initialValue);
+        this.previousValue = new Vector3f(initialValue);
+        this.snapshotValue = new Vector3f(initialValue);
+        this.invalidateSnapshot();
+    }
+
+    @Override
+    public void tick() {
+
+    }
+
+    /**
+     * Returns a newly allocated copy of the interpolated value. Prefer {@link Vector3Driver#getInto(Vector3f, float)} on hot paths.
+     */
+    @Override
+    public Vector3f getValueInterpolated(float partialTicks) {
+        return this.getInto(new Vector3f(), partialTicks);
+    }
+
+    /**
+     * Writes the interpolated value between the previous tick and the current tick into the destination vector.
+     * @param destination       Vector to store the result in.
+     * @param partialTicks      Percentage of a tick since the previous tick.
+     * @return                  The destination vector.
+     */
+    public Vector3f getInto(Vector3f destination, float partialTicks) {
+        return destination.set(this.getSnapshot(partialTicks));
+    }
+
+    /**
+     * Returns a read-only view of the interpolated value, which is only valid until the driver is next updated.
+     * @param partialTicks      Percentage of a tick since the previous tick.
+     */
+    public Vector3fc getSnapshot(float partialTicks) {
+        if (partialTicks != this.snapshotPartialTicks) {
+            this.previousValue.lerp(this.currentValue, partialTicks, this.snapshotValue);
+            this.snapshotPartialTicks = partialTicks;
+        }
+        return this.snapshotValue;
+    }
+
+    public Vector3fc getPreviousValue() {
+        return this.previousValue;
+    }
+
+    public Vector3fc getCurrentValue() {
+        return this.currentValue;
+    }
+
+    /**
+     * Sets the value for the current tick by copying the provided vector's components.
+     * @param newValue      Value to load for the current tick.
+     */
+    public void setValue(Vector3fc newValue) {
+        this.setValue(newValue.x(), newValue.y(), newValue.z());
+    }
+
+    /**
+     * Sets the value for the current tick.
+     */
+    public void setValue(float x, float y, float z) {
+        if (x != this.currentValue.x || y != this.currentValue.y || z != this.currentValue.z) {
+            this.modificationCount++;
+        }
+        this.currentValue.set(x, y, z);
+        this.invalidateSnapshot();
+    }
+
+    @Override
+    public void pushCurrentToPrevious() {
+        this.previousValue.set(this.currentValue);
+        this.invalidateSnapshot();
+    }
+
+    @Override
+    public void postTick() {
+
+    }
+
+    /**
+     * Loads the driver with the driver's default value.
+     */
+    public void reset() {
+        this.setValue(this.initialValue);
+    }
+
+    /**
+     * Loads both the driver's current and previous values with the driver's default value
+     */
+    public void hardReset() {
+        this.setValue(this.initialValue);
+        this.pushCurrentToPrevious();
+    }
+
+    /**
+     * Returns whether the value has changed since the previous tick or not.
+     */
+    public boolean hasValueChanged() {
+        return !this.currentValue.equals(this.previousValue);
+    }
+
+    @Override
+    public int getModificationCount() {
+        return this.modificationCount;
+    }
+
+    private void invalidateSnapshot() {
+        this.snapshotPartialTicks = Float.NaN;
+    }
+
+    /**
+     * Creates a vector driver that will be linearly interpolated between ticks.
+     * @param defaultValue      Default value set from the start and set upon resetting the driver.
+     */
+    public static Vector3Driver of(Vector3fc defaultValue) {
+        return new Vector3Driver(defaultValue);
+    }
+
+    /**
+     * Creates a vector driver that will be linearly interpolated between ticks, with a default value of zero.
+     */
+    public static Vector3Driver ofZero() {
+        return new Vector3Driver(new Vector3f());
+    }
+
+    @Override
+    public String toString() {
+        return this.currentValue.toString();
+    }
+}
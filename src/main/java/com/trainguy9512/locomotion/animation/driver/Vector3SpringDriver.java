@@ -0,0 +1,57 @@
+package com.trainguy9512.locomotion.animation.driver;
+
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+/**
+ * Spring driver of a three-component float vector, with each component integrated independently.
+ */
+public class Vector3SpringDriver extends SpringDriver<Vector3f> {
+
+    protected Vector3SpringDriver(float stiffness, float damping, float mass, Vector3fc initialValue, boolean returnsDelta) {
+        super(stiffness, damping, mass, new float[]{initialValue.x(), initialValue.y(), initialValue.z()}, returnsDelta);
+    }
+
+    /**
+     * Returns a newly allocated interpolated value. Prefer {@link Vector3SpringDriver#getInto(Vector3f, float)} on hot paths.
+     */
+    @Override
+    public Vector3f getValueInterpolated(float partialTicks) {
+        return this.getInto(new Vector3f(), partialTicks);
+    }
+
+    /**
+     * Writes the interpolated value between the previous tick and the current tick into the destination vector.
+     * @param destination       Vector to store the result in.
+     * @param partialTicks      Percentage of a tick since the previous tick.
+     * @return                  The destination vector.
+     */
+    public Vector3f getInto(Vector3f destination, float partialTicks) {
+        return destination.set(
+                this.getChannelInterpolated(0, partialTicks),
+                this.getChannelInterpolated(1, partialTicks),
+                this.getChannelInterpolated(2, partialTicks)
+        );
+    }
+
+    /**
+     * Sets the target value for the current tick by copying the provided vector's components.
+     */
+    public void setValue(Vector3fc target) {
+        this.setValue(target.x(), target.y(), target.z());
+    }
+
+    /**
+     * Sets the target value for the current tick.
+     */
+    public void setValue(float x, float y, float z) {
+        this.setTarget(0, x);
+        this.setTarget(1, y);
+        this.setTarget(2, z);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + this.solver.values[this.offset] + ", " + this.solver.values[this.offset + 1] + ", " + this.solver.values[this.offset + 2] + ")";
+    }
+}
@@ -12,12 +12,24 @@ public final class JointChannel {
 
     private final Matrix4f transform;
     private boolean visibility;
+    private final boolean isMutable;
 
-    public static final JointChannel ZERO = JointChannel.ofPartPose(PartPose.ZERO);
+    /**
+     * Visible joint channel with an identity transform, shared by every pose as the reference pose of each joint.
+     *
+     * <p>This channel cannot be modified, as poses compare joint channels against it by identity. Use
+     * {@link JointChannel#of(JointChannel)} to get a modifiable copy.</p>
+     */
+    public static final JointChannel ZERO = new JointChannel(new Matrix4f(), true, false);
 
     private JointChannel(Matrix4f transform, boolean visibility) {
+        this(transform, visibility, true);
+    }
+
+    private JointChannel(Matrix4f transform, boolean visibility, boolean isMutable) {
         this.transform = transform;
         this.visibility = visibility;
+        this.isMutable = isMutable;
     }
 
     public static JointChannel of(Matrix4f transform, boolean visibility){
@@ -41,13 +53,22 @@ public final class JointChannel {
     }
 
     public static JointChannel ofJointFromAnimationSequence(ResourceLocation sequenceLocation, String jointIdentifier, TimeSpan time, boolean looping){
-        AnimationSequenceData.AnimationSequence animationSequence = AnimationSequenceData.INSTANCE.getOrThrow(sequenceLocation);
+        return ofJointFromAnimationSequence(sequenceLocation, jointIdentifier, time.inTicks(), looping);
+    }
+
+    public static JointChannel ofJointFromAnimationSequence(ResourceLocation sequenceLocation, String jointIdentifier, float timeInTicks, boolean looping){
+        return ofJointFromAnimationSequence(AnimationSequenceData.INSTANCE.getOrThrow(sequenceLocation), jointIdentifier, timeInTicks, looping);
+    }
+
+    public static JointChannel ofJointFromAnimationSequence(AnimationSequenceData.AnimationSequence animationSequence, String jointIdentifier, float timeInTicks, boolean looping){
         if(animationSequence.containsTimelinesForJoint(jointIdentifier)){
+            // Timelines are keyed in seconds.
+            float timeInSeconds = timeInTicks / 20f;
             return JointChannel.ofTranslationRotationScaleQuaternion(
-                    animationSequence.translationTimelines().get(jointIdentifier).getValueAtTime(time.inSeconds(), looping),
-                    animationSequence.rotationTimelines().get(jointIdentifier).getValueAtTime(time.inSeconds(), looping),
-                    animationSequence.scaleTimelines().get(jointIdentifier).getValueAtTime(time.inSeconds(), looping),
-                    animationSequence.visibilityTimelines().get(jointIdentifier).getValueAtTime(time.inSeconds(), looping)
+                    animationSequence.translationTimelines().get(jointIdentifier).getValueAtTime(timeInSeconds, looping),
+                    animationSequence.rotationTimelines().get(jointIdentifier).getValueAtTime(timeInSeconds, looping),
+                    animationSequence.scaleTimelines().get(jointIdentifier).getValueAtTime(timeInSeconds, looping),
+                    animationSequence.visibilityTimelines().get(jointIdentifier).getValueAtTime(timeInSeconds, looping)
             );
         } else {
             return JointChannel.ZERO;
@@ -66,10 +87,26 @@ public final class JointChannel {
         return this.transform.getTranslation(new Vector3f());
     }
 
+    /**
+     * Stores the translation of this joint channel in the provided vector, without allocating.
+     * @param destination       Vector to store the translation in
+     */
+    public Vector3f getTranslation(Vector3f destination) {
+        return this.transform.getTranslation(destination);
+    }
+
     public Quaternionf getRotation() {
         return this.transform.getNormalizedRotation(new Quaternionf());
     }
 
+    /**
+     * Stores the normalized rotation of this joint channel in the provided quaternion, without allocating.
+     * @param destination       Quaternion to store the rotation in
+     */
+    public Quaternionf getRotation(Quaternionf destination) {
+        return this.transform.getNormalizedRotation(destination);
+    }
+
     public Vector3f getEulerRotationZYX() {
         return this.transform.getEulerAnglesZYX(new Vector3f());
     }
@@ -78,6 +115,14 @@ public final class JointChannel {
         return this.transform.getScale(new Vector3f());
     }
 
+    /**
+     * Stores the scale of this joint channel in the provided vector, without allocating.
+     * @param destination       Vector to store the scale in
+     */
+    public Vector3f getScale(Vector3f destination) {
+        return this.transform.getScale(destination);
+    }
+
     public PartPose asPartPose(){
         Vector3f rotation = this.getEulerRotationZYX();
         Vector3f translation = this.getTranslation();
@@ -92,7 +137,14 @@ public final class JointChannel {
                 );
     }
 
+    private void checkMutable() {
+        if (!this.isMutable) {
+            throw new IllegalStateException("The shared identity joint channel cannot be modified. Modify a copy of it instead.");
+        }
+    }
+
     public void translate(Vector3f translation, TransformSpace transformSpace, TransformType transformType) {
+        this.checkMutable();
         switch (transformType){
             case ADD -> {
                 if(translation.x() != 0 || translation.y() != 0 || translation.z() != 0){
@@ -107,6 +159,7 @@ public final class JointChannel {
     }
 
     public void rotate(Quaternionf rotation, TransformSpace transformSpace, TransformType transformType) {
+        this.checkMutable();
         switch (transformType){
             case ADD -> {
                 switch (transformSpace){
@@ -124,6 +177,7 @@ public final class JointChannel {
     }
 
     public void scale(Vector3f scale, TransformSpace transformSpace, TransformType transformType) {
+        this.checkMutable();
         switch (transformType){
             case ADD -> {
                 switch (transformSpace){
@@ -152,32 +206,73 @@ public final class JointChannel {
     }
 
     public void multiply(Matrix4f transform, TransformSpace transformSpace) {
+        this.checkMutable();
         switch (transformSpace) {
             case COMPONENT, PARENT -> this.transform.mul(transform);
             case LOCAL -> this.transform.mulLocal(transform);
         }
     }
 
+    /**
+     * Sets the transform and visibility of this joint channel to those of the provided joint channel.
+     * @param other             Joint channel to copy from
+     * @return                  This joint channel
+     */
+    public JointChannel set(JointChannel other) {
+        this.checkMutable();
+        this.transform.set(other.transform);
+        this.visibility = other.visibility;
+        return this;
+    }
+
     public void invert() {
+        this.checkMutable();
         this.transform.invert();
     }
 
-    private static final Quaternionf QUATERNION_CACHE = new Quaternionf();
-    private static final Vector3f VECTOR_CACHE = new Vector3f();
+    /**
+     * Returns whether this joint channel has the same transform and visibility as the provided joint channel.
+     * @param other             Joint channel to compare to
+     * @param epsilon           Maximum difference between two matrix entries for them to be considered equal.
+     */
+    public boolean isEquivalentTo(JointChannel other, float epsilon) {
+        return this.visibility == other.visibility && this.transform.equals(other.transform, epsilon);
+    }
 
+    /**
+     * Returns whether this joint channel is visible and has an identity transform.
+     * @param epsilon           Maximum difference between two matrix entries for them to be considered equal.
+     */
+    public boolean isIdentity(float epsilon) {
+        return this.isEquivalentTo(ZERO, epsilon);
+    }
+
+    /**
+     * Returns a copy of this joint channel reflected across the YZ plane.
+     *
+     * <p>This negates the X translation and the Y and Z components of the rotation quaternion, leaving scale as is.
+     * Rather than decomposing the transform, the reflection is applied directly to the matrix by negating every entry
+     * that maps between the X axis and the other axes.</p>
+     */
     public JointChannel mirrored() {
-        Vector3f mirroredTranslation = this.getTranslation().mul(-1, 1, 1);
-        Vector3f mirroredRotation = this.transform.getUnnormalizedRotation(QUATERNION_CACHE).getEulerAnglesZYX(VECTOR_CACHE).mul(1, -1, -1);
-        return JointChannel.ofTranslationRotationScaleEuler(mirroredTranslation, mirroredRotation, this.getScale(), this.visibility);
+        Matrix4f mirroredTransform = new Matrix4f(this.transform);
+        mirroredTransform
+                .m01(-mirroredTransform.m01())
+                .m02(-mirroredTransform.m02())
+                .m10(-mirroredTransform.m10())
+                .m20(-mirroredTransform.m20())
+                .m30(-mirroredTransform.m30());
+        return new JointChannel(mirroredTransform, this.visibility);
     }
 
     /**
      * Returns a joint channel interpolated between this pose and the provided pose.
      * @param other             Joint channel to interpolate to
      * @param weight            Weight value, 0 is the original channel and 1 is the other channel.
-     * @param destination       Channel to save interpolated channel onto.
+     * @param destination       Channel to save interpolated channel onto, which must not be {@link JointChannel#ZERO}.
      */
     public JointChannel interpolate(JointChannel other, float weight, JointChannel destination) {
+        destination.checkMutable();
         Vector3f translation = this.transform.getTranslation(new Vector3f());
         Quaternionf rotation = this.transform.getUnnormalizedRotation(new Quaternionf());
         Vector3f scale = this.transform.getScale(new Vector3f());
@@ -187,7 +282,7 @@ public final class JointChannel {
         Vector3f otherScale = other.transform.getScale(new Vector3f());
 
         translation.lerp(otherTranslation, weight);
-        rotation.slerp(otherRotation, weight);
+        RotationInterpolation.interpolate(rotation, otherRotation, weight, rotation);
         scale.lerp(otherScale, weight);
         boolean visibility = Interpolator.BOOLEAN_BLEND.interpolate(this.visibility, other.visibility, weight);
 
@@ -0,0 +1,151 @@
+package com.trainguy9512.locomotion.animation.joint;
+
+import com.trainguy9512.locomotion.animation.data.AnimationSequenceData;
+import com.trainguy9512.locomotion.util.Timeline;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.joml.Math;
+import org.joml.Quaternionf;
+import org.joml.Quaternionfc;
+
+import java.util.Map;
+
+/**
+ * Interpolates rotations for keyframe sampling and pose blending, with a configurable quality.
+ *
+ * <p>Normalized lerp is much cheaper than slerp, as it needs no trigonometry, and its error is negligible for the
+ * small angles typical between adjacent keyframes or similar poses. Above the slerp threshold angle, rotations fall
+ * back to slerp.</p>
+ */
+public final class RotationInterpolation {
+
+    private static final Logger LOGGER = LogManager.getLogger("Locomotion/RotationInterpolation");
+
+    /**
+     * Default angle between two rotations, in degrees, above which normalized lerp falls back to slerp.
+     */
+    public static final float DEFAULT_SLERP_THRESHOLD_DEGREES = 30f;
+
+    private static volatile Mode mode = Mode.NLERP;
+    // Cosine of half of the slerp threshold angle, compared against the quaternion dot product.
+    private static volatile float slerpThresholdCosine = Math.cos(Math.toRadians(DEFAULT_SLERP_THRESHOLD_DEGREES) / 2);
+
+    private RotationInterpolation() {
+    }
+
+    /**
+     * Sets the rotation interpolation quality.
+     * @param interpolationMode     Interpolation mode
+     * @param slerpThresholdDegrees Angle between two rotations above which normalized lerp falls back to slerp, in
+     *                              degrees. Values of 180 or above never fall back.
+     */
+    public static void configure(Mode interpolationMode, float slerpThresholdDegrees) {
+        mode = interpolationMode;
+        slerpThresholdCosine = slerpThresholdDegrees >= 180 ? -1 : Math.cos(Math.toRadians(Math.max(slerpThresholdDegrees, 0)) / 2);
+    }
+
+    /**
+     * Interpolates between two rotations using the configured interpolation quality.
+     * @param from                  Rotation at a weight of 0.
+     * @param to                    Rotation at a weight of 1.
+     * @param weight                Interpolation weight, from 0 to 1.
+     * @param destination           Quaternion to store the result in, which may be the same as either rotation.
+     * @return                      Destination quaternion
+     */
+    public static Quaternionf interpolate(Quaternionfc from, Quaternionfc to, float weight, Quaternionf destination) {
+        float dot = dot(from, to);
+        if (requiresSlerp(dot)) {
+            return from.slerp(to, weight, destination);
+        }
+        return nlerp(from, to, dot, weight, destination);
+    }
+
+    /**
+     * Returns whether two rotations with the provided dot product are interpolated with slerp rather than normalized
+     * lerp, for batch interpolation that applies normalized lerp to every rotation and corrects the rest afterward.
+     * @param dot                   Dot product of the two rotation quaternions.
+     */
+    public static boolean requiresSlerp(float dot) {
+        return mode == Mode.SLERP || Math.abs(dot) < slerpThresholdCosine;
+    }
+
+    /**
+     * Returns the dot product of two rotation quaternions, as the read-only quaternion interface does not provide one.
+     */
+    public static float dot(Quaternionfc a, Quaternionfc b) {
+        return a.x() * b.x() + a.y() * b.y() + a.z() * b.z() + a.w() * b.w();
+    }
+
+    /**
+     * Normalized lerp, flipping the target rotation if needed so that the shortest path is taken.
+     */
+    private static Quaternionf nlerp(Quaternionfc from, Quaternionfc to, float dot, float weight, Quaternionf destination) {
+        float fromWeight = 1 - weight;
+        float toWeight = dot < 0 ? -weight : weight;
+        return destination.set(
+                from.x() * fromWeight + to.x() * toWeight,
+                from.y() * fromWeight + to.y() * toWeight,
+                from.z() * fromWeight + to.z() * toWeight,
+                from.w() * fromWeight + to.w() * toWeight
+        ).normalize();
+    }
+
+    /**
+     * Returns the angular error, in degrees, of interpolating between two rotations with the configured quality rather
+     * than slerp. The error is measured at a weight of 0.25, near where normalized lerp deviates most.
+     */
+    public static float measureError(Quaternionfc from, Quaternionfc to) {
+        Quaternionf expected = from.slerp(to, 0.25f, new Quaternionf());
+        Quaternionf actual = interpolate(from, to, 0.25f, new Quaternionf());
+        float dot = Math.min(Math.abs(expected.dot(actual)), 1);
+        return 2 * Math.acos(dot) * Mth.RAD_TO_DEG;
+    }
+
+    /**
+     * Logs the maximum angular error of the configured interpolation quality between adjacent rotation keyframes
+     * across every loaded animation sequence.
+     *
+     * <p>Blends between different sequences can span larger angles than adjacent keyframes do, but they fall back to
+     * slerp above the same threshold.</p>
+     *
+     * @param sequenceData          Loaded animation sequences
+     * @return                      Maximum angular error, in degrees
+     */
+    public static float logMaximumError(AnimationSequenceData sequenceData) {
+        float maximumError = 0;
+        ResourceLocation maximumErrorSequence = null;
+        String maximumErrorJoint = null;
+        for (Map.Entry<ResourceLocation, AnimationSequenceData.AnimationSequence> sequenceEntry : sequenceData.getHashMap().entrySet()) {
+            for (Map.Entry<String, Timeline<Quaternionf>> timelineEntry : sequenceEntry.getValue().rotationTimelines().entrySet()) {
+                Timeline<Quaternionf> timeline = timelineEntry.getValue();
+                for (int i = 1; i < timeline.getKeyframeCount(); i++) {
+                    float error = measureError(timeline.getKeyframeValue(i - 1), timeline.getKeyframeValue(i));
+                    if (error > maximumError) {
+                        maximumError = error;
+                        maximumErrorSequence = sequenceEntry.getKey();
+                        maximumErrorJoint = timelineEntry.getKey();
+                    }
+                }
+            }
+        }
+        if (maximumErrorSequence != null) {
+            LOGGER.info("Maximum rotation interpolation error with mode {} is {} degrees, in joint {} of animation {}", mode, maximumError, maximumErrorJoint, maximumErrorSequence);
+        } else {
+            LOGGER.info("Rotation interpolation with mode {} has no error across loaded animations", mode);
+        }
+        return maximumError;
+    }
+
+    public enum Mode {
+        /**
+         * Spherical linear interpolation for every rotation.
+         */
+        SLERP,
+        /**
+         * Normalized linear interpolation, falling back to slerp above the slerp threshold angle.
+         */
+        NLERP
+    }
+}
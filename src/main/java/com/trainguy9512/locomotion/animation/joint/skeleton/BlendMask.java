@@ -10,15 +10,28 @@ import java.util.Set;
  * Configuration that defines the weight influences for each joint, used when blending different poses together that shouldn't blend every joint.
  * <p>Default mask value for unassigned joints is 0.</p>
  */
-public class BlendMask extends SkeletonPropertyDefinition<Float> {
+public class BlendMask extends SkeletonPropertyDefinition.JointWeights {
+
+    // Volatile, as masks are shared by containers ticked on different threads.
+    private volatile BlendMask mirroredMask;
 
     private BlendMask(Map<String, Float> jointProperties, boolean mirrored) {
         super(jointProperties, mirrored, 0f);
+        this.mirroredMask = null;
     }
 
+    /**
+     * Returns the mirrored blend mask. The same instance is returned every time, so that joint masks derived from it can be cached.
+     */
     @Override
-    public SkeletonPropertyDefinition<Float> getMirrored() {
-        return new BlendMask(this.jointProperties, !this.isMirrored);
+    public BlendMask getMirrored() {
+        BlendMask mirroredMask = this.mirroredMask;
+        if (mirroredMask == null) {
+            mirroredMask = new BlendMask(this.jointProperties, !this.isMirrored);
+            mirroredMask.mirroredMask = this;
+            this.mirroredMask = mirroredMask;
+        }
+        return mirroredMask;
     }
 
     public static Builder builder() {
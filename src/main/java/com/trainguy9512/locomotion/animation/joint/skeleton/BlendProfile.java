@@ -11,15 +11,28 @@ import java.util.Set;
  * @param jointDurationMultipliers      Map of joints to duration multipliers. Duration multipliers can be anywhere between 0 and 1.
  * @param isMirrored                    Whether the blend profile will be mirrored or not, used by {@link BlendProfile#ofMirrored}
  */
-public class BlendProfile extends SkeletonPropertyDefinition<Float> {
+public class BlendProfile extends SkeletonPropertyDefinition.JointWeights {
+
+    // Volatile, as profiles are shared by containers ticked on different threads.
+    private volatile BlendProfile mirroredProfile;
 
     private BlendProfile(Map<String, Float> jointProperties, boolean mirrored) {
         super(jointProperties, mirrored, 1f);
+        this.mirroredProfile = null;
     }
 
+    /**
+     * Returns the mirrored blend profile. The same instance is returned every time, so that its compiled weight tables are reused.
+     */
     @Override
     public BlendProfile getMirrored() {
-        return new BlendProfile(this.jointProperties, !this.isMirrored);
+        BlendProfile mirroredProfile = this.mirroredProfile;
+        if (mirroredProfile == null) {
+            mirroredProfile = new BlendProfile(this.jointProperties, !this.isMirrored);
+            mirroredProfile.mirroredProfile = this;
+            this.mirroredProfile = mirroredProfile;
+        }
+        return mirroredProfile;
     }
 
     public static Builder builder() {
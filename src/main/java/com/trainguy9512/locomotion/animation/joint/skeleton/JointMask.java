@@ -0,0 +1,189 @@
+package com.trainguy9512.locomotion.animation.joint.skeleton;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Set of joints within a skeleton that are required to compute a pose.
+ *
+ * <p>Joint masks are propagated top-down through pose functions during pose computation, narrowed by blend masks and
+ * mirrored by mirror functions, so that samplers and blends only touch joints that can affect the final pose.
+ * Joints outside of the mask are left with an identity transform.</p>
+ *
+ * <p>Masks derived from a mask are cached on it, so deriving the same mask every frame doesn't allocate.</p>
+ */
+public final class JointMask {
+
+    private final JointSkeleton jointSkeleton;
+    private final Set<String> joints;
+    // Joints and their skeleton indices in hierarchy order, for iterating without an iterator.
+    private final String[] jointArray;
+    private final int[] jointIndexArray;
+    private final boolean isFull;
+
+    private final Map<BlendMask, JointMask> blendMaskedMasks;
+    // Volatile, as masks are derived by containers ticked on different threads. Racing threads may each derive a mask,
+    // which is harmless as equal masks compute the same poses.
+    private volatile JointMask mirroredMask;
+    private volatile JointMask maskWithAncestors;
+
+    private JointMask(JointSkeleton jointSkeleton, Set<String> joints) {
+        this.jointSkeleton = jointSkeleton;
+        this.joints = joints;
+        this.jointIndexArray = new int[joints.size()];
+        int i = 0;
+        for (String joint : joints) {
+            this.jointIndexArray[i++] = jointSkeleton.getJointIndex(joint);
+        }
+        Arrays.sort(this.jointIndexArray);
+        this.jointArray = new String[this.jointIndexArray.length];
+        for (i = 0; i < this.jointIndexArray.length; i++) {
+            this.jointArray[i] = jointSkeleton.getJointByIndex(this.jointIndexArray[i]);
+        }
+        this.isFull = joints.size() == jointSkeleton.getJointCount();
+        this.blendMaskedMasks = new ConcurrentHashMap<>();
+        this.mirroredMask = null;
+        this.maskWithAncestors = null;
+    }
+
+    /**
+     * Creates a joint mask containing every joint in the provided skeleton.
+     * @param jointSkeleton         Joint skeleton
+     * @see JointSkeleton#getFullJointMask()
+     */
+    static JointMask full(JointSkeleton jointSkeleton) {
+        return new JointMask(jointSkeleton, jointSkeleton.getJoints());
+    }
+
+    /**
+     * Creates a joint mask containing the provided joints.
+     * @param jointSkeleton         Joint skeleton the joints belong to.
+     * @param joints                Joints to include in the mask. Joints not in the skeleton are ignored.
+     */
+    public static JointMask of(JointSkeleton jointSkeleton, Set<String> joints) {
+        Set<String> maskJoints = new HashSet<>();
+        for (String joint : joints) {
+            if (jointSkeleton.containsJoint(joint)) {
+                maskJoints.add(joint);
+            }
+        }
+        return new JointMask(jointSkeleton, Set.copyOf(maskJoints));
+    }
+
+    /**
+     * Returns every joint in this mask.
+     */
+    public Set<String> getJoints() {
+        return this.joints;
+    }
+
+    public JointSkeleton getJointSkeleton() {
+        return this.jointSkeleton;
+    }
+
+    /**
+     * Returns the number of joints in this mask.
+     */
+    public int size() {
+        return this.jointArray.length;
+    }
+
+    /**
+     * Returns the joint at the provided position in this mask, from 0 to the mask's size, in hierarchy order.
+     */
+    public String getJoint(int i) {
+        return this.jointArray[i];
+    }
+
+    /**
+     * Returns the skeleton index of the joint at the provided position in this mask.
+     * @see JointSkeleton#getJointIndex(String)
+     */
+    public int getJointIndex(int i) {
+        return this.jointIndexArray[i];
+    }
+
+    public boolean contains(String joint) {
+        return this.joints.contains(joint);
+    }
+
+    /**
+     * Returns whether this mask contains every joint in its skeleton.
+     */
+    public boolean isFull() {
+        return this.isFull;
+    }
+
+    public boolean isEmpty() {
+        return this.joints.isEmpty();
+    }
+
+    /**
+     * Returns the joints in this mask that have a weight above zero in the provided blend mask.
+     * @param blendMask             Blend mask to narrow this mask by. If null, this mask is returned.
+     */
+    public JointMask maskedBy(@Nullable BlendMask blendMask) {
+        if (blendMask == null) {
+            return this;
+        }
+        return this.blendMaskedMasks.computeIfAbsent(blendMask, mask -> {
+            JointWeightTable weightTable = mask.getWeightTable(this.jointSkeleton);
+            Set<String> maskJoints = new HashSet<>();
+            for (int i = 0; i < this.jointArray.length; i++) {
+                if (weightTable.get(this.jointIndexArray[i]) > 0) {
+                    maskJoints.add(this.jointArray[i]);
+                }
+            }
+            return new JointMask(this.jointSkeleton, Set.copyOf(maskJoints));
+        });
+    }
+
+    /**
+     * Returns the mirror joint of every joint in this mask, which is the set of joints required by the input of a
+     * mirrored pose.
+     */
+    public JointMask mirrored() {
+        if (this.isFull) {
+            return this;
+        }
+        JointMask mirroredMask = this.mirroredMask;
+        if (mirroredMask == null) {
+            Set<String> maskJoints = new HashSet<>();
+            for (int jointIndex : this.jointIndexArray) {
+                maskJoints.add(this.jointSkeleton.getJointByIndex(this.jointSkeleton.getMirrorJointIndex(jointIndex)));
+            }
+            mirroredMask = new JointMask(this.jointSkeleton, Set.copyOf(maskJoints));
+            mirroredMask.mirroredMask = this;
+            this.mirroredMask = mirroredMask;
+        }
+        return mirroredMask;
+    }
+
+    /**
+     * Returns this mask with every ancestor of its joints added, which is the set of joints required to convert the
+     * joints of this mask to component space.
+     */
+    public JointMask withAncestors() {
+        if (this.isFull) {
+            return this;
+        }
+        JointMask maskWithAncestors = this.maskWithAncestors;
+        if (maskWithAncestors == null) {
+            Set<String> maskJoints = new HashSet<>(this.joints);
+            for (String joint : this.joints) {
+                String parent = this.jointSkeleton.getJointConfiguration(joint).parent();
+                while (parent != null && maskJoints.add(parent)) {
+                    parent = this.jointSkeleton.getJointConfiguration(parent).parent();
+                }
+            }
+            maskWithAncestors = maskJoints.size() == this.joints.size() ? this : new JointMask(this.jointSkeleton, Set.copyOf(maskJoints));
+            this.maskWithAncestors = maskWithAncestors;
+        }
+        return maskWithAncestors;
+    }
+}
@@ -16,12 +16,81 @@ public class JointSkeleton {
 
     private static final Logger LOGGER = LogManager.getLogger("Locomotion.JointSkeleton");
 
+    /**
+     * Number of levels of detail, from level 0 with every joint to the level with the fewest joints.
+     */
+    public static final int LOD_LEVEL_COUNT = 4;
+
     private final HashMap<String, JointConfiguration> joints;
     private final String rootJoint;
+    // Joints indexed in hierarchy order, so that every joint comes after its parent.
+    private final String[] jointsByIndex;
+    private final Map<String, Integer> jointIndices;
+    // Index of each joint's mirror joint, or the joint's own index if it has no mirror joint.
+    private final int[] mirrorJointIndices;
+    private final JointMask fullJointMask;
+    private final JointMask[] lodJointMasks;
 
     private JointSkeleton(HashMap<String, JointConfiguration> joints, String rootJoint){
         this.joints = joints;
         this.rootJoint = rootJoint;
+
+        List<String> jointOrder = new ArrayList<>(joints.size());
+        this.addJointAndChildrenInOrder(rootJoint, jointOrder);
+        for (String joint : joints.keySet()) {
+            if (!jointOrder.contains(joint)) {
+                jointOrder.add(joint);
+            }
+        }
+        this.jointsByIndex = jointOrder.toArray(new String[0]);
+        this.jointIndices = Maps.newHashMap();
+        for (int i = 0; i < this.jointsByIndex.length; i++) {
+            this.jointIndices.put(this.jointsByIndex[i], i);
+        }
+        this.mirrorJointIndices = new int[this.jointsByIndex.length];
+        for (int i = 0; i < this.jointsByIndex.length; i++) {
+            int mirrorJointIndex = this.getJointIndex(joints.get(this.jointsByIndex[i]).mirrorJoint());
+            this.mirrorJointIndices[i] = mirrorJointIndex != -1 ? mirrorJointIndex : i;
+        }
+        this.fullJointMask = JointMask.full(this);
+        this.lodJointMasks = this.buildLodJointMasks();
+    }
+
+    /**
+     * Builds the joint mask of each level of detail. A joint is only evaluated at a level if its parent is too, as its
+     * component space transform depends on its parent's.
+     */
+    private JointMask[] buildLodJointMasks(){
+        int[] jointLodLevels = new int[this.jointsByIndex.length];
+        for (int i = 0; i < this.jointsByIndex.length; i++) {
+            JointConfiguration jointConfiguration = this.joints.get(this.jointsByIndex[i]);
+            int parentIndex = this.getJointIndex(jointConfiguration.parent());
+            // Joints are indexed in hierarchy order, so the parent's level is already known.
+            jointLodLevels[i] = parentIndex != -1 ? Math.min(jointConfiguration.lodLevel(), jointLodLevels[parentIndex]) : jointConfiguration.lodLevel();
+        }
+
+        JointMask[] lodJointMasks = new JointMask[LOD_LEVEL_COUNT];
+        lodJointMasks[0] = this.fullJointMask;
+        for (int lodLevel = 1; lodLevel < LOD_LEVEL_COUNT; lodLevel++) {
+            Set<String> lodJoints = new HashSet<>();
+            for (int i = 0; i < this.jointsByIndex.length; i++) {
+                if (jointLodLevels[i] >= lodLevel) {
+                    lodJoints.add(this.jointsByIndex[i]);
+                }
+            }
+            JointMask previousLodJointMask = lodJointMasks[lodLevel - 1];
+            lodJointMasks[lodLevel] = lodJoints.size() == previousLodJointMask.size() ? previousLodJointMask : JointMask.of(this, lodJoints);
+        }
+        return lodJointMasks;
+    }
+
+    private void addJointAndChildrenInOrder(String joint, List<String> jointOrder){
+        jointOrder.add(joint);
+        for (String child : this.joints.get(joint).children()) {
+            if (this.joints.containsKey(child) && !jointOrder.contains(child)) {
+                this.addJointAndChildrenInOrder(child, jointOrder);
+            }
+        }
     }
 
     /**
@@ -88,6 +157,25 @@ public class JointSkeleton {
         return joints.keySet();
     }
 
+    /**
+     * Returns the joint mask containing every joint in the skeleton.
+     * @return Joint mask
+     */
+    public JointMask getFullJointMask(){
+        return this.fullJointMask;
+    }
+
+    /**
+     * Returns the joint mask of the joints evaluated at the supplied level of detail. Joints outside of the mask keep
+     * their reference pose.
+     * @param lodLevel Level of detail, from 0 with every joint to {@link JointSkeleton#LOD_LEVEL_COUNT} - 1. Levels out
+     *                 of range are clamped.
+     * @return Joint mask
+     */
+    public JointMask getLodJointMask(int lodLevel){
+        return this.lodJointMasks[Math.max(0, Math.min(lodLevel, LOD_LEVEL_COUNT - 1))];
+    }
+
     /**
      * Retrieves the joint configuration for the supplied joint.
      * @param joint Joint string identifier to get a joint configuration for.
@@ -101,6 +189,45 @@ public class JointSkeleton {
         return this.joints.containsKey(joint);
     }
 
+    /**
+     * Returns the number of joints in the skeleton.
+     */
+    public int getJointCount(){
+        return this.jointsByIndex.length;
+    }
+
+    /**
+     * Returns the index of the supplied joint, used for looking up per-joint values stored in arrays.
+     * Joints are indexed in hierarchy order, so a joint's index is always greater than its parent's.
+     * @param joint Joint string identifier
+     * @return Joint index, or -1 if the joint is not in the skeleton
+     */
+    public int getJointIndex(@Nullable String joint){
+        if (joint == null) {
+            return -1;
+        }
+        Integer index = this.jointIndices.get(joint);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns the index of the mirror joint of the joint at the supplied index.
+     * @param index Joint index, from 0 to the joint count
+     * @return Mirror joint index, or the supplied index if the joint has no mirror joint
+     */
+    public int getMirrorJointIndex(int index){
+        return this.mirrorJointIndices[index];
+    }
+
+    /**
+     * Returns the joint at the supplied index.
+     * @param index Joint index, from 0 to the joint count
+     * @return Joint string identifier
+     */
+    public String getJointByIndex(int index){
+        return this.jointsByIndex[index];
+    }
+
     public static class Builder {
 
         private final HashMap<String, JointConfiguration.Builder> joints = Maps.newHashMap();
@@ -155,6 +282,26 @@ public class JointSkeleton {
             return this;
         }
 
+        /**
+         * Sets the lowest level of detail at which the supplied joint is still evaluated. Joints are evaluated at every
+         * level of detail by default.
+         * @param joint Joint string identifier
+         * @param lodLevel Lowest level of detail to evaluate the joint at, from 0 to {@link JointSkeleton#LOD_LEVEL_COUNT} - 1.
+         *                 A joint at level 0 is only evaluated at full detail. Children of the joint are never evaluated at
+         *                 a lower level of detail than the joint itself.
+         */
+        public Builder setJointLodLevel(String joint, int lodLevel){
+            if(lodLevel < 0 || lodLevel >= LOD_LEVEL_COUNT){
+                throw new IllegalArgumentException("Level of detail " + lodLevel + " for joint " + joint + " is out of range, it must be from 0 to " + (LOD_LEVEL_COUNT - 1) + ".");
+            }
+            if(this.joints.containsKey(joint)){
+                this.joints.get(joint).setLodLevel(lodLevel);
+            } else {
+                LOGGER.warn("Level of detail not set during joint skeleton construction for joint {}, due to joint {} not being defined in the skeleton.", joint, joint);
+            }
+            return this;
+        }
+
         public JointSkeleton build(){
             HashMap<String, JointConfiguration> jointsBuilt = Maps.newHashMap();
             this.joints.forEach((joint, jointBuilder) -> jointsBuilt.put(joint, jointBuilder.build()));
@@ -163,7 +310,7 @@ public class JointSkeleton {
     }
 
 
-    public record JointConfiguration(boolean isRoot, String parent, List<String> children, String mirrorJoint, boolean usesModelPart, String modelPartIdentifier, PartPose modelPartOffset) {
+    public record JointConfiguration(boolean isRoot, String parent, List<String> children, String mirrorJoint, boolean usesModelPart, String modelPartIdentifier, PartPose modelPartOffset, int lodLevel) {
 
         public static class Builder {
             private final boolean isRoot;
@@ -173,6 +320,7 @@ public class JointSkeleton {
             private boolean usesModelPart;
             private String modelPartIdentifier;
             private PartPose modelPartOffset;
+            private int lodLevel;
 
             private Builder(String joint, String parent){
                 this.isRoot = parent == null;
@@ -181,6 +329,7 @@ public class JointSkeleton {
                 this.usesModelPart = false;
                 this.modelPartIdentifier = null;
                 this.modelPartOffset = PartPose.ZERO;
+                this.lodLevel = LOD_LEVEL_COUNT - 1;
             }
 
             public static Builder of(String joint, @Nullable String parent){
@@ -210,8 +359,13 @@ public class JointSkeleton {
                 return this;
             }
 
+            public Builder setLodLevel(int lodLevel){
+                this.lodLevel = lodLevel;
+                return this;
+            }
+
             protected JointConfiguration build(){
-                return new JointConfiguration(this.isRoot, this.parent, this.children, this.mirrorJoint, this.usesModelPart, this.modelPartIdentifier, this.modelPartOffset);
+                return new JointConfiguration(this.isRoot, this.parent, this.children, this.mirrorJoint, this.usesModelPart, this.modelPartIdentifier, this.modelPartOffset, this.lodLevel);
             }
         }
     }
@@ -0,0 +1,62 @@
+package com.trainguy9512.locomotion.animation.joint.skeleton;
+
+/**
+ * Per-joint float values of a skeleton property definition, compiled against a skeleton and indexed by
+ * {@link JointSkeleton#getJointIndex(String)}.
+ *
+ * <p>Tables are compiled once per skeleton, so that blends can look up per-joint weights without hashing joint names,
+ * resolving mirror joints or unboxing values, and can skip masks that affect no joints or every joint.</p>
+ */
+public final class JointWeightTable {
+
+    private final float[] weights;
+    private final boolean isAllZero;
+    private final boolean isAllOne;
+
+    private JointWeightTable(float[] weights) {
+        this.weights = weights;
+        boolean isAllZero = true;
+        boolean isAllOne = true;
+        for (float weight : weights) {
+            isAllZero &= weight == 0;
+            isAllOne &= weight == 1;
+        }
+        this.isAllZero = isAllZero;
+        this.isAllOne = isAllOne;
+    }
+
+    /**
+     * Compiles the provided property definition against the provided skeleton.
+     * @param definition            Property definition, mirrored or not.
+     * @param jointSkeleton         Joint skeleton to compile against.
+     */
+    static JointWeightTable compile(SkeletonPropertyDefinition<Float> definition, JointSkeleton jointSkeleton) {
+        float[] weights = new float[jointSkeleton.getJointCount()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = definition.getProperty(jointSkeleton.getJointByIndex(i), jointSkeleton);
+        }
+        return new JointWeightTable(weights);
+    }
+
+    /**
+     * Returns the value for the joint at the provided index.
+     * @param jointIndex            Joint index from {@link JointSkeleton#getJointIndex(String)}
+     */
+    public float get(int jointIndex) {
+        return this.weights[jointIndex];
+    }
+
+    /**
+     * Returns whether every joint has a value of 0.
+     */
+    public boolean isAllZero() {
+        return this.isAllZero;
+    }
+
+    /**
+     * Returns whether every joint has a value of 1.
+     */
+    public boolean isAllOne() {
+        return this.isAllOne;
+    }
+}
@@ -1,5 +1,7 @@
 package com.trainguy9512.locomotion.animation.joint.skeleton;
 
+import com.google.common.collect.MapMaker;
+
 import java.util.Map;
 
 public abstract class SkeletonPropertyDefinition<D> {
@@ -28,4 +30,32 @@ public abstract class SkeletonPropertyDefinition<D> {
     }
 
     public abstract SkeletonPropertyDefinition<D> getMirrored();
+
+    /**
+     * Skeleton property definition of per-joint float values, which can be compiled into a {@link JointWeightTable}
+     * for each skeleton it's used with.
+     */
+    public abstract static class JointWeights extends SkeletonPropertyDefinition<Float> {
+
+        // Skeletons are weakly referenced, so that definitions held in static fields don't keep every skeleton they've
+        // been used with, such as those of reloaded or unloaded entity types, alive.
+        private final Map<JointSkeleton, JointWeightTable> weightTables;
+
+        protected JointWeights(Map<String, Float> jointProperties, boolean mirrored, float defaultValue) {
+            super(jointProperties, mirrored, defaultValue);
+            this.weightTables = new MapMaker().weakKeys().makeMap();
+        }
+
+        /**
+         * Returns the values of this definition compiled against the provided skeleton, compiling them on first use.
+         * @param jointSkeleton     Joint skeleton
+         */
+        public JointWeightTable getWeightTable(JointSkeleton jointSkeleton) {
+            JointWeightTable weightTable = this.weightTables.get(jointSkeleton);
+            if (weightTable == null) {
+                weightTable = this.weightTables.computeIfAbsent(jointSkeleton, skeleton -> JointWeightTable.compile(this, skeleton));
+            }
+            return weightTable;
+        }
+    }
 }
@@ -6,6 +6,10 @@ import org.joml.Matrix4f;
 
 public class ComponentSpacePose extends Pose {
 
+    // Source pose for component space poses that convert joints on demand, which is cleared once every joint has been converted.
+    private LocalSpacePose lazySourcePose;
+    private boolean[] isJointResolved;
+
     private ComponentSpacePose(JointSkeleton jointSkeleton) {
         super(jointSkeleton);
     }
@@ -26,18 +30,44 @@ public class ComponentSpacePose extends Pose {
 
 
     public static ComponentSpacePose of(Pose pose){
+        pose.releaseJointChannels();
         return new ComponentSpacePose(pose);
     }
 
+    /**
+     * Creates a component space pose that converts each joint of the provided local space pose the first time it's retrieved.
+     * @see LocalSpacePose#componentSpaceView()
+     */
+    static ComponentSpacePose lazilyConvertedFrom(LocalSpacePose localSpacePose){
+        ComponentSpacePose pose = new ComponentSpacePose(localSpacePose);
+        pose.lazySourcePose = localSpacePose;
+        pose.isJointResolved = new boolean[localSpacePose.getJointSkeleton().getJointCount()];
+        return pose;
+    }
+
     /**
      * Retrieves a copy of the transform for the supplied joint.
      * @param joint                 Joint string identifier
      * @return                      Joint transform
      */
     public JointChannel getComponentSpaceTransform(String joint){
+        this.resolveJoint(joint);
         return JointChannel.of(this.jointChannels.getOrDefault(joint, JointChannel.ZERO));
     }
 
+    @Override
+    public JointChannel getJointChannel(String joint){
+        this.resolveJoint(joint);
+        return super.getJointChannel(joint);
+    }
+
+    @Override
+    public void setJointChannel(String joint, JointChannel jointChannel){
+        // Modifying a joint would change the component space transforms of its unresolved children.
+        this.resolveJointChannels();
+        super.setJointChannel(joint, jointChannel);
+    }
+
     /**
      * Creates a local space pose from this component space pose.
      */
@@ -46,4 +76,44 @@ public class ComponentSpacePose extends Pose {
         pose.convertChildrenJointsToLocalSpace(this.getJointSkeleton().getRootJoint(), new Matrix4f());
         return pose;
     }
+
+    @Override
+    protected void resolveJointChannels(){
+        if (this.lazySourcePose != null) {
+            // Joints are indexed in hierarchy order, so every parent is resolved before its children.
+            for (int i = 0; i < this.isJointResolved.length; i++) {
+                this.resolveJoint(this.jointSkeleton.getJointByIndex(i));
+            }
+            this.lazySourcePose = null;
+            this.isJointResolved = null;
+        }
+    }
+
+    /**
+     * Converts the supplied joint and its unresolved ancestors to component space, if this pose converts joints on demand.
+     */
+    private void resolveJoint(String joint){
+        if (this.lazySourcePose == null) {
+            return;
+        }
+        int jointIndex = this.jointSkeleton.getJointIndex(joint);
+        if (jointIndex == -1 || this.isJointResolved[jointIndex]) {
+            return;
+        }
+        String parent = this.jointSkeleton.getJointConfiguration(joint).parent();
+        JointChannel localJointChannel = this.lazySourcePose.jointChannels.getOrDefault(joint, JointChannel.ZERO);
+        Matrix4f componentSpaceMatrix;
+        if (parent != null && this.jointSkeleton.containsJoint(parent)) {
+            this.resolveJoint(parent);
+            Matrix4f parentMatrix = this.jointParentMatrices.get(parent);
+            // Joints left at their reference pose, such as joints outside of a skeleton level of detail, share their
+            // parent's transform rather than being multiplied by an identity transform.
+            componentSpaceMatrix = localJointChannel == JointChannel.ZERO ? parentMatrix : new Matrix4f(parentMatrix).mul(localJointChannel.getTransform());
+        } else {
+            componentSpaceMatrix = localJointChannel.getTransform();
+        }
+        this.jointParentMatrices.put(joint, componentSpaceMatrix);
+        this.jointChannels.put(joint, JointChannel.of(componentSpaceMatrix, localJointChannel.getVisibility()));
+        this.isJointResolved[jointIndex] = true;
+    }
 }
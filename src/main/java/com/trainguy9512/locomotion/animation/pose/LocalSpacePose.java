@@ -1,9 +1,11 @@
 package com.trainguy9512.locomotion.animation.pose;
 
 import com.mojang.blaze3d.vertex.PoseStack;
+import com.trainguy9512.locomotion.animation.data.AnimationSequenceData;
 import com.trainguy9512.locomotion.animation.joint.skeleton.BlendMask;
-import com.trainguy9512.locomotion.animation.joint.skeleton.BlendProfile;
+import com.trainguy9512.locomotion.animation.joint.skeleton.JointMask;
 import com.trainguy9512.locomotion.animation.joint.skeleton.JointSkeleton;
+import com.trainguy9512.locomotion.animation.joint.skeleton.JointWeightTable;
 import com.trainguy9512.locomotion.animation.joint.JointChannel;
 import com.trainguy9512.locomotion.util.TimeSpan;
 import com.trainguy9512.locomotion.util.Transition;
@@ -32,10 +34,32 @@ public class LocalSpacePose extends Pose {
     }
 
 
+    /**
+     * Creates an animation pose sharing every joint channel with the provided pose. Shared joint channels are replaced
+     * rather than modified in place by either pose from then on.
+     * @param pose                  Pose to copy
+     * @return                      New animation pose
+     */
     public static LocalSpacePose of(Pose pose) {
+        pose.releaseJointChannels();
         return new LocalSpacePose(pose);
     }
 
+    /**
+     * Creates a new animation pose with copies of every joint channel in the provided pose, so that joint channels
+     * modified in place on either pose do not affect the other.
+     * @param pose                  Pose to copy
+     * @return                      New animation pose
+     */
+    public static LocalSpacePose copyOf(Pose pose) {
+        LocalSpacePose copy = new LocalSpacePose(pose);
+        copy.jointChannels.replaceAll((joint, jointChannel) -> JointChannel.of(jointChannel));
+        for (String joint : copy.jointChannels.keySet()) {
+            copy.ownedJointChannels.set(copy.jointSkeleton.getJointIndex(joint));
+        }
+        return copy;
+    }
+
     /**
      * Creates a local space pose from this component space pose.
      */
@@ -45,6 +69,17 @@ public class LocalSpacePose extends Pose {
         return pose;
     }
 
+    /**
+     * Creates a component space view of this pose, which converts each joint to component space the first time it's
+     * retrieved by only resolving that joint's ancestors.
+     *
+     * <p>This is cheaper than {@link LocalSpacePose#convertedToComponentSpace()} for consumers that only need a few
+     * joints. This pose must not be modified while the view is in use.</p>
+     */
+    public ComponentSpacePose componentSpaceView() {
+        return ComponentSpacePose.lazilyConvertedFrom(this);
+    }
+
     /**
      * Creates an animation pose from a point in time within the provided animation sequence
      * @param jointSkeleton         Template joint skeleton
@@ -54,22 +89,61 @@ public class LocalSpacePose extends Pose {
      * @return                      New animation pose
      */
     public static LocalSpacePose fromAnimationSequence(JointSkeleton jointSkeleton, ResourceLocation sequenceLocation, TimeSpan time, boolean looping) {
+        return LocalSpacePose.fromAnimationSequence(jointSkeleton, sequenceLocation, time.inTicks(), looping);
+    }
+
+    public static LocalSpacePose fromAnimationSequence(JointSkeleton jointSkeleton, ResourceLocation sequenceLocation, float timeInTicks, boolean looping) {
+        return LocalSpacePose.fromAnimationSequence(jointSkeleton, sequenceLocation, timeInTicks, looping, jointSkeleton.getFullJointMask());
+    }
+
+    /**
+     * Creates an animation pose from a point in time within the provided animation sequence, only sampling the required joints.
+     * @param jointSkeleton         Template joint skeleton
+     * @param sequenceLocation      Animation sequence resource location
+     * @param timeInTicks           Point of time in the animation to get, in ticks.
+     * @param looping               Whether the animation should be looped or not.
+     * @param requiredJoints        Joints to sample. Every other joint is left as the shared, unmodifiable
+     *                              {@link JointChannel#ZERO} channel.
+     * @return                      New animation pose
+     */
+    public static LocalSpacePose fromAnimationSequence(JointSkeleton jointSkeleton, ResourceLocation sequenceLocation, float timeInTicks, boolean looping, JointMask requiredJoints) {
+        AnimationSequenceData.AnimationSequence animationSequence = AnimationSequenceData.INSTANCE.getOrThrow(sequenceLocation);
         LocalSpacePose pose = LocalSpacePose.of(jointSkeleton);
-        for(String joint : jointSkeleton.getJoints()){
-            pose.setJointChannel(joint, JointChannel.ofJointFromAnimationSequence(sequenceLocation, joint, time, looping));
+        for(String joint : requiredJoints.getJoints()){
+            pose.setJointChannel(joint, JointChannel.ofJointFromAnimationSequence(animationSequence, joint, timeInTicks, looping));
         }
         return pose;
     }
 
     public LocalSpacePose mirrored() {
-        LocalSpacePose mirroredPose = new LocalSpacePose(this);
-        this.jointChannels.keySet().forEach(joint -> {
-            JointSkeleton.JointConfiguration configuration = this.getJointSkeleton().getJointConfiguration(joint);
-            String mirrorJoint = configuration.mirrorJoint() != null ? configuration.mirrorJoint() : joint;
-            JointChannel mirroredTransform = this.getJointChannel(mirrorJoint).mirrored();
-            mirroredPose.setJointChannel(joint, mirroredTransform);
-        });
-        return mirroredPose;
+        return new LocalSpacePose(this).mirror(this.jointSkeleton.getFullJointMask());
+    }
+
+    /**
+     * Mirrors this pose in place, only mirroring the required joints. Each joint is replaced by its mirror joint's
+     * channel reflected across the YZ plane. Joint channels are replaced rather than modified, so poses sharing joint
+     * channels with this pose are not affected.
+     * @param requiredJoints        Joints to mirror. The mirror joints of these must be present in this pose.
+     * @return                      This pose
+     */
+    public LocalSpacePose mirror(JointMask requiredJoints) {
+        for (int i = 0; i < requiredJoints.size(); i++) {
+            int jointIndex = requiredJoints.getJointIndex(i);
+            int mirrorJointIndex = this.jointSkeleton.getMirrorJointIndex(jointIndex);
+            String joint = requiredJoints.getJoint(i);
+            if (mirrorJointIndex == jointIndex) {
+                this.putOwnedJointChannel(joint, jointIndex, this.jointChannels.get(joint).mirrored());
+                continue;
+            }
+            String mirrorJoint = this.jointSkeleton.getJointByIndex(mirrorJointIndex);
+            // Swap each pair of joints once, when reaching the first of the pair in the mask.
+            if (mirrorJointIndex > jointIndex || !requiredJoints.contains(mirrorJoint)) {
+                JointChannel channel = this.jointChannels.get(joint);
+                this.putOwnedJointChannel(joint, jointIndex, this.jointChannels.get(mirrorJoint).mirrored());
+                this.putOwnedJointChannel(mirrorJoint, mirrorJointIndex, channel.mirrored());
+            }
+        }
+        return this;
     }
 
     /**
@@ -113,24 +187,65 @@ public class LocalSpacePose extends Pose {
             float weight,
             @Nullable BlendMask blendMask,
             LocalSpacePose destination
+    ) {
+        return this.interpolated(other, weight, blendMask, this.jointSkeleton.getFullJointMask(), destination);
+    }
+
+    /**
+     * Returns an animation pose interpolated between this pose and the provided pose, only interpolating the required joints.
+     * @param other             Animation pose to interpolate to.
+     * @param weight            Weight value, 0 is the original pose and 1 is the other pose.
+     * @param blendMask         Optional blend mask for determining which joints will interpolate.
+     * @param requiredJoints    Joints to interpolate.
+     * @param destination       Pose to save interpolated pose onto.
+     * @return                  New interpolated animation pose.
+     */
+    public LocalSpacePose interpolated(
+            LocalSpacePose other,
+            float weight,
+            @Nullable BlendMask blendMask,
+            JointMask requiredJoints,
+            LocalSpacePose destination
     ) {
         if (weight == 0) {
             return destination;
         }
-        for (String joint : this.jointSkeleton.getJoints()) {
-            float jointWeight = weight;
-            if (blendMask != null) {
-                jointWeight *= blendMask.getProperty(joint, this.jointSkeleton);
-            }
-            if (jointWeight == 1f) {
-                destination.setJointChannel(joint, other.getJointChannel(joint));
-            } else {
-                destination.setJointChannel(joint, destination.getJointChannel(joint).interpolate(other.getJointChannel(joint), jointWeight));
+        JointWeightTable maskWeights = blendMask != null ? blendMask.getWeightTable(this.jointSkeleton) : null;
+        if (maskWeights != null && maskWeights.isAllZero()) {
+            return destination;
+        }
+        if (maskWeights != null && maskWeights.isAllOne()) {
+            maskWeights = null;
+        }
+        for (int i = 0; i < requiredJoints.size(); i++) {
+            float jointWeight = maskWeights != null ? weight * maskWeights.get(requiredJoints.getJointIndex(i)) : weight;
+            if (jointWeight != 0) {
+                this.interpolateJoint(other, requiredJoints.getJoint(i), requiredJoints.getJointIndex(i), jointWeight, destination);
             }
         }
         return destination;
     }
 
+    private void interpolateJoint(LocalSpacePose other, String joint, int jointIndex, float weight, LocalSpacePose destination) {
+        JointChannel otherChannel = other.jointChannels.getOrDefault(joint, JointChannel.ZERO);
+        JointChannel channel = destination.jointChannels.getOrDefault(joint, JointChannel.ZERO);
+        // Joints left at their reference pose in both poses, such as joints outside of a skeleton level of detail, stay
+        // that way without being copied.
+        if (otherChannel == JointChannel.ZERO && channel == JointChannel.ZERO) {
+            return;
+        }
+        // Channels shared with other poses are copied once, and then modified in place by later interpolations.
+        if (!destination.ownsJointChannel(jointIndex)) {
+            channel = JointChannel.of(channel);
+            destination.putOwnedJointChannel(joint, jointIndex, channel);
+        }
+        if (weight == 1f) {
+            channel.set(otherChannel);
+        } else {
+            channel.interpolate(otherChannel, weight, channel);
+        }
+    }
+
     /**
      * Returns this animation pose interpolated between this pose and the provided pose.
      * @param other             Animation pose to interpolate to.
@@ -161,25 +276,59 @@ public class LocalSpacePose extends Pose {
             Transition transition,
             @Nullable BlendMask blendMask,
             LocalSpacePose destination
+    ) {
+        return this.interpolatedByTransition(other, time, transition, blendMask, this.jointSkeleton.getFullJointMask(), destination);
+    }
+
+    /**
+     * Returns an animation pose interpolated between this pose and the provided pose using data from a transition,
+     * only interpolating the required joints.
+     * @param other             Animation pose to interpolate to.
+     * @param time              Time progress between 0 and 1
+     * @param transition        Transition to use for easing and blend profile data.
+     * @param blendMask         Optional blend mask for determining which joints will interpolate.
+     * @param requiredJoints    Joints to interpolate.
+     * @param destination       Pose to save interpolated pose onto.
+     * @return                  New interpolated animation pose.
+     */
+    public LocalSpacePose interpolatedByTransition(
+            LocalSpacePose other,
+            float time,
+            Transition transition,
+            @Nullable BlendMask blendMask,
+            JointMask requiredJoints,
+            LocalSpacePose destination
     ) {
         if (time == 0) {
             return destination;
         }
-        for (String joint : this.jointSkeleton.getJoints()) {
-            float jointTime = time;
-            if (transition.blendProfile() != null) {
-                jointTime /= transition.blendProfile().getProperty(joint, this.jointSkeleton);
-                jointTime = Mth.clamp(jointTime, 0, 1);
-            }
-            if (blendMask != null) {
-                jointTime *= blendMask.getProperty(joint, this.jointSkeleton);
+        JointWeightTable maskWeights = blendMask != null ? blendMask.getWeightTable(this.jointSkeleton) : null;
+        if (maskWeights != null && maskWeights.isAllZero()) {
+            return destination;
+        }
+        if (maskWeights != null && maskWeights.isAllOne()) {
+            maskWeights = null;
+        }
+        JointWeightTable profileDurations = transition.blendProfile() != null ? transition.blendProfile().getWeightTable(this.jointSkeleton) : null;
+        // Without a blend profile, every unmasked joint shares the same eased time.
+        float easedTime = profileDurations == null ? transition.easement().ease(time) : 0;
+        for (int i = 0; i < requiredJoints.size(); i++) {
+            int jointIndex = requiredJoints.getJointIndex(i);
+            float maskWeight = maskWeights != null ? maskWeights.get(jointIndex) : 1;
+            if (maskWeight == 0) {
+                continue;
             }
-            jointTime = transition.easement().ease(jointTime);
-            if (jointTime == 1f) {
-                destination.setJointChannel(joint, other.getJointChannel(joint));
+            float jointTime;
+            if (profileDurations == null && maskWeight == 1) {
+                jointTime = easedTime;
             } else {
-                destination.setJointChannel(joint, destination.getJointChannel(joint).interpolate(other.getJointChannel(joint), jointTime));
+                jointTime = time;
+                if (profileDurations != null) {
+                    jointTime = Mth.clamp(jointTime / profileDurations.get(jointIndex), 0, 1);
+                }
+                jointTime = transition.easement().ease(jointTime * maskWeight);
             }
+            this.interpolateJoint(other, requiredJoints.getJoint(i), jointIndex, jointTime, destination);
         }
         return destination;
     }
@@ -197,10 +346,50 @@ public class LocalSpacePose extends Pose {
     }
 
     public void multiply(LocalSpacePose other, JointChannel.TransformSpace transformSpace) {
-        this.jointChannels.forEach((joint, channel) -> channel.multiply(other.jointChannels.get(joint), transformSpace));
+        this.multiply(other, transformSpace, this.jointSkeleton.getFullJointMask());
+    }
+
+    /**
+     * Multiplies the transform of each required joint in this pose by the matching transform in the provided pose.
+     * Joint channels shared with other poses, and the shared {@link JointChannel#ZERO} channel, are replaced rather
+     * than modified.
+     * @param other                 Pose to multiply by.
+     * @param transformSpace        Space to multiply the transforms in.
+     * @param requiredJoints        Joints to multiply. Every other joint is left as is.
+     */
+    public void multiply(LocalSpacePose other, JointChannel.TransformSpace transformSpace, JointMask requiredJoints) {
+        for (int i = 0; i < requiredJoints.size(); i++) {
+            String joint = requiredJoints.getJoint(i);
+            JointChannel otherChannel = other.jointChannels.getOrDefault(joint, JointChannel.ZERO);
+            if (otherChannel == JointChannel.ZERO) {
+                continue;
+            }
+            int jointIndex = requiredJoints.getJointIndex(i);
+            JointChannel channel = this.jointChannels.getOrDefault(joint, JointChannel.ZERO);
+            if (!this.ownsJointChannel(jointIndex)) {
+                channel = JointChannel.of(channel);
+                this.putOwnedJointChannel(joint, jointIndex, channel);
+            }
+            channel.multiply(otherChannel, transformSpace);
+        }
     }
 
+    /**
+     * Inverts the transform of every joint in this pose, replacing joint channels shared with other poses rather than
+     * modifying them.
+     */
     public void invert() {
-        this.jointChannels.values().forEach(JointChannel::invert);
+        this.jointChannels.replaceAll((joint, channel) -> {
+            if (channel == JointChannel.ZERO) {
+                return channel;
+            }
+            int jointIndex = this.jointSkeleton.getJointIndex(joint);
+            if (!this.ownsJointChannel(jointIndex)) {
+                channel = JointChannel.of(channel);
+                this.ownedJointChannels.set(jointIndex);
+            }
+            channel.invert();
+            return channel;
+        });
     }
 }
@@ -12,12 +12,16 @@ public abstract class Pose {
 
     protected final JointSkeleton jointSkeleton;
     protected final Map<String, JointChannel> jointChannels;
-    private final Map<String, Matrix4f> jointParentMatrices;
+    protected final Map<String, Matrix4f> jointParentMatrices;
+    // Indices of joints whose channels were created by this pose and aren't shared with any other pose, which can be
+    // modified in place.
+    protected final BitSet ownedJointChannels;
 
     protected Pose(JointSkeleton jointSkeleton){
         this.jointSkeleton = jointSkeleton;
         this.jointChannels = Maps.newHashMap();
         this.jointParentMatrices = Maps.newHashMap();
+        this.ownedJointChannels = new BitSet(jointSkeleton.getJointCount());
 
         for(String joint : jointSkeleton.getJoints()){
             this.setJointChannel(joint, JointChannel.ZERO);
@@ -25,9 +29,17 @@ public abstract class Pose {
     }
 
     protected Pose(Pose pose){
+        pose.resolveJointChannels();
         this.jointSkeleton = pose.jointSkeleton;
         this.jointChannels = new HashMap<>(pose.jointChannels);
         this.jointParentMatrices = new HashMap<>(pose.jointParentMatrices);
+        this.ownedJointChannels = new BitSet(this.jointSkeleton.getJointCount());
+    }
+
+    /**
+     * Ensures every joint channel is stored in the joint channel map, for poses that compute joint channels on demand.
+     */
+    protected void resolveJointChannels(){
     }
 
     /**
@@ -44,8 +56,49 @@ public abstract class Pose {
      * @param jointChannel        Joint transform
      */
     public void setJointChannel(String joint, JointChannel jointChannel){
-        if(this.jointSkeleton.containsJoint(joint)){
+        int jointIndex = this.jointSkeleton.getJointIndex(joint);
+        if(jointIndex != -1){
             this.jointChannels.put(joint, jointChannel);
+            this.ownedJointChannels.clear(jointIndex);
+        }
+    }
+
+    /**
+     * Sets the transform of every joint to those of the provided pose, without copying the transforms themselves.
+     * Neither pose modifies the shared transforms in place afterward.
+     * @param pose                  Pose to take the joint transforms from, which must share this pose's skeleton.
+     */
+    public void setJointChannels(Pose pose){
+        this.jointChannels.putAll(pose.jointChannels);
+        this.ownedJointChannels.clear();
+        pose.releaseJointChannels();
+    }
+
+    /**
+     * Stores a joint channel created by this pose, which is modified in place until it's shared with another pose.
+     * @param joint                 Joint string identifier
+     * @param jointIndex            Index of the joint in this pose's skeleton
+     * @param jointChannel          Joint channel not referenced by any other pose, which must not be {@link JointChannel#ZERO}.
+     */
+    protected void putOwnedJointChannel(String joint, int jointIndex, JointChannel jointChannel){
+        this.jointChannels.put(joint, jointChannel);
+        this.ownedJointChannels.set(jointIndex);
+    }
+
+    /**
+     * Returns whether the channel of the joint at the supplied index can be modified in place.
+     */
+    protected boolean ownsJointChannel(int jointIndex){
+        return this.ownedJointChannels.get(jointIndex);
+    }
+
+    /**
+     * Gives up ownership of every joint channel in this pose, for when they are about to be shared with another pose or
+     * another thread. Joints changed afterward are given new channels rather than being modified in place.
+     */
+    void releaseJointChannels(){
+        if (!this.ownedJointChannels.isEmpty()) {
+            this.ownedJointChannels.clear();
         }
     }
 
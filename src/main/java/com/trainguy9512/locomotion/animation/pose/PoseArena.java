@@ -0,0 +1,247 @@
+package com.trainguy9512.locomotion.animation.pose;
+
+import com.trainguy9512.locomotion.animation.joint.JointChannel;
+import com.trainguy9512.locomotion.animation.joint.RotationInterpolation;
+import com.trainguy9512.locomotion.animation.joint.skeleton.JointMask;
+import com.trainguy9512.locomotion.animation.joint.skeleton.JointSkeleton;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.lwjgl.system.MemoryUtil;
+
+import java.lang.ref.Cleaner;
+import java.nio.FloatBuffer;
+
+/**
+ * Fixed number of poses stored off-heap in a single native buffer.
+ *
+ * <p>Each pose is packed as eleven blocks of floats, one for each component of the joint translations, rotation
+ * quaternions and scales followed by the joint visibilities, each in skeleton joint index order. Poses kept for a long
+ * time, such as the per-tick poses of every animated entity, can be stored here rather than as long-lived joint
+ * channel and matrix objects on the heap. Poses are read back into short-lived local space poses when they are
+ * needed.</p>
+ *
+ * <p>As every component is contiguous, poses are interpolated with the array kernels in {@link PoseKernels} across
+ * all joints at once.</p>
+ *
+ * <p>The native buffer is freed when the arena is closed, or when the arena is garbage collected if it was never
+ * closed.</p>
+ */
+public final class PoseArena implements AutoCloseable {
+
+    private static final Cleaner CLEANER = Cleaner.create();
+    private static final int FLOATS_PER_JOINT = 11;
+    // Offsets of each block within a pose, in multiples of the joint count.
+    private static final int TRANSLATION_BLOCK = 0;
+    private static final int ROTATION_BLOCK = 3;
+    private static final int SCALE_BLOCK = 7;
+    private static final int VISIBILITY_BLOCK = 10;
+
+    private final JointSkeleton jointSkeleton;
+    private final int poseCount;
+    private final int jointCount;
+    private final int floatsPerPose;
+    private final FloatBuffer buffer;
+    private final Cleaner.Cleanable cleanable;
+    private boolean closed;
+
+    // Scratch storage for unpacking poses and interpolating between them.
+    private final float[] fromValues;
+    private final float[] toValues;
+    private final float[] interpolatedValues;
+    private final float[] rotationDots;
+    private final Vector3f translation;
+    private final Quaternionf rotation;
+    private final Vector3f scale;
+    private final Quaternionf otherRotation;
+
+    private PoseArena(JointSkeleton jointSkeleton, int poseCount) {
+        this.jointSkeleton = jointSkeleton;
+        this.poseCount = poseCount;
+        this.jointCount = jointSkeleton.getJointCount();
+        this.floatsPerPose = this.jointCount * FLOATS_PER_JOINT;
+        this.buffer = MemoryUtil.memAllocFloat(this.floatsPerPose * poseCount);
+        FloatBuffer buffer = this.buffer;
+        this.cleanable = CLEANER.register(this, () -> MemoryUtil.memFree(buffer));
+        this.closed = false;
+
+        this.fromValues = new float[this.floatsPerPose];
+        this.toValues = new float[this.floatsPerPose];
+        this.interpolatedValues = new float[this.floatsPerPose];
+        this.rotationDots = new float[this.jointCount];
+        this.translation = new Vector3f();
+        this.rotation = new Quaternionf();
+        this.scale = new Vector3f();
+        this.otherRotation = new Quaternionf();
+
+        LocalSpacePose identityPose = LocalSpacePose.of(jointSkeleton);
+        for (int i = 0; i < poseCount; i++) {
+            this.store(i, identityPose);
+        }
+    }
+
+    /**
+     * Allocates an arena for the provided number of poses, with every pose starting with identity transforms.
+     * @param jointSkeleton         Skeleton of the stored poses.
+     * @param poseCount             Number of poses to store.
+     */
+    public static PoseArena allocate(JointSkeleton jointSkeleton, int poseCount) {
+        if (poseCount <= 0) {
+            throw new IllegalArgumentException("Cannot allocate a pose arena for " + poseCount + " poses.");
+        }
+        return new PoseArena(jointSkeleton, poseCount);
+    }
+
+    public JointSkeleton getJointSkeleton() {
+        return this.jointSkeleton;
+    }
+
+    /**
+     * Writes every joint of the provided pose to the pose at the provided index.
+     * @param poseIndex             Index of the pose to write to.
+     * @param pose                  Pose to store, which must share this arena's skeleton.
+     */
+    public void store(int poseIndex, LocalSpacePose pose) {
+        int offset = this.getOffset(poseIndex);
+        float[] values = this.fromValues;
+        int n = this.jointCount;
+        for (int jointIndex = 0; jointIndex < n; jointIndex++) {
+            JointChannel channel = pose.jointChannels.getOrDefault(this.jointSkeleton.getJointByIndex(jointIndex), JointChannel.ZERO);
+            channel.getTranslation(this.translation);
+            channel.getRotation(this.rotation);
+            channel.getScale(this.scale);
+            values[TRANSLATION_BLOCK * n + jointIndex] = this.translation.x;
+            values[(TRANSLATION_BLOCK + 1) * n + jointIndex] = this.translation.y;
+            values[(TRANSLATION_BLOCK + 2) * n + jointIndex] = this.translation.z;
+            values[ROTATION_BLOCK * n + jointIndex] = this.rotation.x;
+            values[(ROTATION_BLOCK + 1) * n + jointIndex] = this.rotation.y;
+            values[(ROTATION_BLOCK + 2) * n + jointIndex] = this.rotation.z;
+            values[(ROTATION_BLOCK + 3) * n + jointIndex] = this.rotation.w;
+            values[SCALE_BLOCK * n + jointIndex] = this.scale.x;
+            values[(SCALE_BLOCK + 1) * n + jointIndex] = this.scale.y;
+            values[(SCALE_BLOCK + 2) * n + jointIndex] = this.scale.z;
+            values[VISIBILITY_BLOCK * n + jointIndex] = channel.getVisibility() ? 1 : 0;
+        }
+        this.buffer.put(offset, values, 0, this.floatsPerPose);
+    }
+
+    /**
+     * Copies the pose at one index to another.
+     * @param sourceIndex           Index of the pose to copy.
+     * @param destinationIndex      Index of the pose to overwrite.
+     */
+    public void copy(int sourceIndex, int destinationIndex) {
+        int sourceOffset = this.getOffset(sourceIndex);
+        int destinationOffset = this.getOffset(destinationIndex);
+        if (sourceOffset != destinationOffset) {
+            MemoryUtil.memCopy(
+                    MemoryUtil.memAddress(this.buffer, sourceOffset),
+                    MemoryUtil.memAddress(this.buffer, destinationOffset),
+                    (long) this.floatsPerPose * Float.BYTES
+            );
+        }
+    }
+
+    /**
+     * Reads the pose at the provided index into a new local space pose.
+     * @param poseIndex             Index of the pose to read.
+     * @param requiredJoints        Joints to read. Joints outside of the mask are left with an identity transform.
+     */
+    public LocalSpacePose load(int poseIndex, JointMask requiredJoints) {
+        return this.loadInterpolated(poseIndex, poseIndex, 0, requiredJoints);
+    }
+
+    /**
+     * Reads two poses and interpolates between them into a new local space pose, in the same way as
+     * {@link LocalSpacePose#interpolated(LocalSpacePose, float)}.
+     *
+     * <p>Translations, scales and rotations of every joint are interpolated at once with {@link PoseKernels}, using
+     * normalized lerp for rotations. Rotations that {@link RotationInterpolation} would interpolate with slerp are then
+     * corrected individually.</p>
+     *
+     * @param fromIndex             Index of the pose at a weight of 0.
+     * @param toIndex               Index of the pose at a weight of 1.
+     * @param weight                Interpolation weight, from 0 to 1.
+     * @param requiredJoints        Joints to read. Joints outside of the mask are left with an identity transform.
+     */
+    public LocalSpacePose loadInterpolated(int fromIndex, int toIndex, float weight, JointMask requiredJoints) {
+        int fromOffset = this.getOffset(fromIndex);
+        int toOffset = this.getOffset(toIndex);
+        int n = this.jointCount;
+        this.buffer.get(fromOffset, this.fromValues, 0, this.floatsPerPose);
+        float[] values = this.fromValues;
+        if (fromIndex != toIndex && weight != 0) {
+            this.buffer.get(toOffset, this.toValues, 0, this.floatsPerPose);
+            values = this.interpolatedValues;
+            PoseKernels.lerp(this.fromValues, this.toValues, weight, values, TRANSLATION_BLOCK * n, 3 * n);
+            PoseKernels.lerp(this.fromValues, this.toValues, weight, values, SCALE_BLOCK * n, 3 * n);
+            PoseKernels.dotQuaternions(this.fromValues, this.toValues, ROTATION_BLOCK * n, n, this.rotationDots);
+            PoseKernels.nlerpQuaternions(this.fromValues, this.toValues, this.rotationDots, weight, values, ROTATION_BLOCK * n, n);
+            for (int jointIndex = 0; jointIndex < n; jointIndex++) {
+                if (RotationInterpolation.requiresSlerp(this.rotationDots[jointIndex])) {
+                    this.readRotation(this.fromValues, jointIndex, this.rotation);
+                    this.readRotation(this.toValues, jointIndex, this.otherRotation);
+                    this.rotation.slerp(this.otherRotation, weight);
+                    this.writeRotation(values, jointIndex, this.rotation);
+                }
+            }
+            // Visibility switches over at the halfway point, for every joint at once.
+            System.arraycopy(weight >= 0.5f ? this.toValues : this.fromValues, VISIBILITY_BLOCK * n, values, VISIBILITY_BLOCK * n, n);
+        }
+
+        LocalSpacePose pose = LocalSpacePose.of(this.jointSkeleton);
+        for (int i = 0; i < requiredJoints.size(); i++) {
+            int jointIndex = requiredJoints.getJointIndex(i);
+            this.translation.set(
+                    values[TRANSLATION_BLOCK * n + jointIndex],
+                    values[(TRANSLATION_BLOCK + 1) * n + jointIndex],
+                    values[(TRANSLATION_BLOCK + 2) * n + jointIndex]
+            );
+            this.readRotation(values, jointIndex, this.rotation);
+            this.scale.set(
+                    values[SCALE_BLOCK * n + jointIndex],
+                    values[(SCALE_BLOCK + 1) * n + jointIndex],
+                    values[(SCALE_BLOCK + 2) * n + jointIndex]
+            );
+            boolean visibility = values[VISIBILITY_BLOCK * n + jointIndex] != 0;
+            pose.putOwnedJointChannel(requiredJoints.getJoint(i), jointIndex, JointChannel.ofTranslationRotationScaleQuaternion(this.translation, this.rotation, this.scale, visibility));
+        }
+        return pose;
+    }
+
+    private void readRotation(float[] values, int jointIndex, Quaternionf destination) {
+        int n = this.jointCount;
+        destination.set(
+                values[ROTATION_BLOCK * n + jointIndex],
+                values[(ROTATION_BLOCK + 1) * n + jointIndex],
+                values[(ROTATION_BLOCK + 2) * n + jointIndex],
+                values[(ROTATION_BLOCK + 3) * n + jointIndex]
+        );
+    }
+
+    private void writeRotation(float[] values, int jointIndex, Quaternionf rotation) {
+        int n = this.jointCount;
+        values[ROTATION_BLOCK * n + jointIndex] = rotation.x;
+        values[(ROTATION_BLOCK + 1) * n + jointIndex] = rotation.y;
+        values[(ROTATION_BLOCK + 2) * n + jointIndex] = rotation.z;
+        values[(ROTATION_BLOCK + 3) * n + jointIndex] = rotation.w;
+    }
+
+    private int getOffset(int poseIndex) {
+        if (this.closed) {
+            throw new IllegalStateException("Cannot access a pose arena after it has been closed.");
+        }
+        if (poseIndex < 0 || poseIndex >= this.poseCount) {
+            throw new IllegalArgumentException("Pose index " + poseIndex + " is out of bounds for a pose arena of " + this.poseCount + " poses.");
+        }
+        return poseIndex * this.floatsPerPose;
+    }
+
+    /**
+     * Frees the native buffer of this arena. The arena cannot be used afterward.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        this.cleanable.clean();
+    }
+}
@@ -0,0 +1,208 @@
+package com.trainguy9512.locomotion.animation.pose;
+
+import com.trainguy9512.locomotion.animation.joint.JointChannel;
+import com.trainguy9512.locomotion.animation.joint.RotationInterpolation;
+import com.trainguy9512.locomotion.animation.joint.skeleton.BlendMask;
+import com.trainguy9512.locomotion.animation.joint.skeleton.JointMask;
+import com.trainguy9512.locomotion.animation.joint.skeleton.JointWeightTable;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+import java.util.Arrays;
+
+/**
+ * Blends any number of poses layered on top of a base pose in a single pass per joint.
+ *
+ * <p>Layers are added bottom to top, and the result matches blending each layer onto the result of the layers beneath
+ * it, as with repeated calls to {@link LocalSpacePose#interpolated(LocalSpacePose, float, BlendMask)}. Rather than
+ * decomposing and recomposing every joint channel once per layer, each layer's effective weight is resolved per joint
+ * and the translations and scales of every layer are accumulated at once. Rotations are combined layer by layer with
+ * {@link RotationInterpolation}, so they follow the configured interpolation quality and slerp threshold.</p>
+ *
+ * <p>Blenders keep scratch storage between blends, so each one should only be used by a single pose function.</p>
+ */
+public final class PoseBlender {
+
+    /**
+     * Layers with a weight below this value are not blended, and callers can skip computing their poses.
+     */
+    public static final float WEIGHT_EPSILON = 0.001f;
+
+    private LocalSpacePose basePose;
+    private LocalSpacePose[] layerPoses;
+    private float[] layerWeights;
+    private JointWeightTable[] layerMaskWeights;
+    private float[] effectiveWeights;
+    private int layerCount;
+
+    private final Vector3f translation;
+    private final Quaternionf rotation;
+    private final Vector3f scale;
+    private final Vector3f layerTranslation;
+    private final Quaternionf layerRotation;
+    private final Vector3f layerScale;
+
+    private PoseBlender() {
+        this.basePose = null;
+        this.layerPoses = new LocalSpacePose[4];
+        this.layerWeights = new float[4];
+        this.layerMaskWeights = new JointWeightTable[4];
+        this.effectiveWeights = new float[5];
+        this.layerCount = 0;
+
+        this.translation = new Vector3f();
+        this.rotation = new Quaternionf();
+        this.scale = new Vector3f();
+        this.layerTranslation = new Vector3f();
+        this.layerRotation = new Quaternionf();
+        this.layerScale = new Vector3f();
+    }
+
+    public static PoseBlender of() {
+        return new PoseBlender();
+    }
+
+    /**
+     * Starts a new blend with the provided base pose, clearing any layers from the previous blend.
+     * @param basePose              Pose at the bottom of the blend.
+     */
+    public PoseBlender begin(LocalSpacePose basePose) {
+        this.basePose = basePose;
+        Arrays.fill(this.layerPoses, 0, this.layerCount, null);
+        Arrays.fill(this.layerMaskWeights, 0, this.layerCount, null);
+        this.layerCount = 0;
+        return this;
+    }
+
+    /**
+     * Adds a pose on top of every pose added so far.
+     * @param pose                  Pose to layer on top.
+     * @param weight                Weight of the layer, 0 is the poses beneath and 1 is this pose.
+     * @param blendMask             Optional blend mask for determining which joints the layer applies to.
+     */
+    public PoseBlender addLayer(LocalSpacePose pose, float weight, @Nullable BlendMask blendMask) {
+        if (weight < WEIGHT_EPSILON) {
+            return this;
+        }
+        JointWeightTable maskWeights = blendMask != null ? blendMask.getWeightTable(pose.jointSkeleton) : null;
+        if (maskWeights != null && maskWeights.isAllZero()) {
+            return this;
+        }
+        if (this.layerCount == this.layerPoses.length) {
+            int capacity = this.layerCount * 2;
+            this.layerPoses = Arrays.copyOf(this.layerPoses, capacity);
+            this.layerWeights = Arrays.copyOf(this.layerWeights, capacity);
+            this.layerMaskWeights = Arrays.copyOf(this.layerMaskWeights, capacity);
+            this.effectiveWeights = Arrays.copyOf(this.effectiveWeights, capacity + 1);
+        }
+        this.layerPoses[this.layerCount] = pose;
+        this.layerWeights[this.layerCount] = Math.min(weight, 1);
+        this.layerMaskWeights[this.layerCount] = maskWeights != null && maskWeights.isAllOne() ? null : maskWeights;
+        this.layerCount++;
+        return this;
+    }
+
+    /**
+     * Blends every layer onto the base pose, storing the result in the base pose.
+     * @param requiredJoints        Joints to blend.
+     * @return                      Base pose with every layer blended on top.
+     */
+    public LocalSpacePose blend(JointMask requiredJoints) {
+        if (this.basePose == null) {
+            throw new IllegalStateException("Cannot blend poses without a base pose.");
+        }
+        LocalSpacePose destination = this.basePose;
+        if (this.layerCount == 0) {
+            this.begin(null);
+            return destination;
+        }
+        for (int i = 0; i < requiredJoints.size(); i++) {
+            this.blendJoint(requiredJoints.getJoint(i), requiredJoints.getJointIndex(i), destination);
+        }
+        this.begin(null);
+        return destination;
+    }
+
+    private void blendJoint(String joint, int jointIndex, LocalSpacePose destination) {
+        // Resolve the contribution of each layer from the top down, as each layer covers the layers beneath it.
+        float remainingWeight = 1;
+        int lowestContributingLayer = 0;
+        for (int i = this.layerCount - 1; i >= 0; i--) {
+            float weight = this.getLayerWeight(i, jointIndex);
+            this.effectiveWeights[i + 1] = weight * remainingWeight;
+            remainingWeight *= 1 - weight;
+            if (remainingWeight < WEIGHT_EPSILON) {
+                lowestContributingLayer = i + 1;
+                remainingWeight = 0;
+                break;
+            }
+        }
+        this.effectiveWeights[0] = remainingWeight;
+
+        // If a single pose contributes to this joint, take its channel as is.
+        int onlyContributingPose = -1;
+        for (int i = lowestContributingLayer; i <= this.layerCount; i++) {
+            if (this.effectiveWeights[i] >= WEIGHT_EPSILON) {
+                if (onlyContributingPose != -1) {
+                    onlyContributingPose = -2;
+                    break;
+                }
+                onlyContributingPose = i;
+            }
+        }
+        if (onlyContributingPose == 0 || onlyContributingPose == -1) {
+            return;
+        }
+        if (onlyContributingPose > 0) {
+            destination.putOwnedJointChannel(joint, jointIndex, JointChannel.of(this.getChannel(onlyContributingPose, joint)));
+            return;
+        }
+
+        this.translation.zero();
+        this.scale.zero();
+        float totalWeight = 0;
+        boolean hasRotation = false;
+        boolean visibility = this.getChannel(lowestContributingLayer, joint).getVisibility();
+        for (int i = lowestContributingLayer; i <= this.layerCount; i++) {
+            float weight = this.effectiveWeights[i];
+            JointChannel channel = this.getChannel(i, joint);
+            if (i > 0 && this.getLayerWeight(i - 1, jointIndex) >= 0.5f) {
+                visibility = channel.getVisibility();
+            }
+            if (weight < WEIGHT_EPSILON) {
+                continue;
+            }
+            totalWeight += weight;
+            channel.getTranslation(this.layerTranslation);
+            channel.getRotation(this.layerRotation);
+            channel.getScale(this.layerScale);
+            this.translation.fma(weight, this.layerTranslation);
+            this.scale.fma(weight, this.layerScale);
+            // Each layer covers the rotation beneath it by its own weight, as when interpolating one layer at a time.
+            if (hasRotation) {
+                RotationInterpolation.interpolate(this.rotation, this.layerRotation, this.getLayerWeight(i - 1, jointIndex), this.rotation);
+            } else {
+                this.rotation.set(this.layerRotation);
+                hasRotation = true;
+            }
+        }
+        // Weights skipped for being below the epsilon are made up for by normalizing.
+        this.translation.div(totalWeight);
+        this.scale.div(totalWeight);
+        destination.putOwnedJointChannel(joint, jointIndex, JointChannel.ofTranslationRotationScaleQuaternion(this.translation, this.rotation, this.scale, visibility));
+    }
+
+    private float getLayerWeight(int layer, int jointIndex) {
+        JointWeightTable maskWeights = this.layerMaskWeights[layer];
+        return maskWeights == null ? this.layerWeights[layer] : this.layerWeights[layer] * maskWeights.get(jointIndex);
+    }
+
+    /**
+     * Returns the joint channel of the pose at the provided index, where 0 is the base pose and layers start at 1.
+     */
+    private JointChannel getChannel(int poseIndex, String joint) {
+        LocalSpacePose pose = poseIndex == 0 ? this.basePose : this.layerPoses[poseIndex - 1];
+        return pose.jointChannels.getOrDefault(joint, JointChannel.ZERO);
+    }
+}
@@ -0,0 +1,158 @@
+package com.trainguy9512.locomotion.animation.pose;
+
+import com.trainguy9512.locomotion.animation.joint.JointChannel;
+import com.trainguy9512.locomotion.animation.joint.skeleton.JointMask;
+import com.trainguy9512.locomotion.animation.joint.skeleton.JointSkeleton;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Sparse additive pose that only stores the joints that differ from a reference pose.
+ *
+ * <p>Joints are recorded in a bit set of skeleton joint indices, with their channels stored compactly in ascending
+ * joint index order. Every joint not in the set is an identity transform, so applying a delta only touches the joints
+ * it actually moves rather than multiplying and blending every joint in the skeleton.</p>
+ *
+ * <p>Deltas are not modified after they are created, so they can be cached and applied to any number of poses.</p>
+ */
+public final class PoseDelta {
+
+    /**
+     * Maximum difference between two matrix entries for them to be considered equal.
+     */
+    public static final float EQUALITY_EPSILON = 1e-5f;
+
+    private final JointSkeleton jointSkeleton;
+    private final BitSet joints;
+    private JointChannel[] channels;
+    private int size;
+
+    private PoseDelta(JointSkeleton jointSkeleton) {
+        this.jointSkeleton = jointSkeleton;
+        this.joints = new BitSet(jointSkeleton.getJointCount());
+        this.channels = new JointChannel[4];
+        this.size = 0;
+    }
+
+    /**
+     * Creates an empty delta, which leaves every joint as it is.
+     * @param jointSkeleton         Joint skeleton
+     */
+    public static PoseDelta empty(JointSkeleton jointSkeleton) {
+        return new PoseDelta(jointSkeleton);
+    }
+
+    /**
+     * Creates a delta by subtracting a reference pose from an additive pose, leaving out every joint that is the same
+     * in both poses.
+     * @param additivePose          Pose to subtract the reference pose from.
+     * @param referencePose         Pose that the additive pose is relative to.
+     * @param requiredJoints        Joints to include in the delta.
+     */
+    public static PoseDelta ofDifference(LocalSpacePose additivePose, LocalSpacePose referencePose, JointMask requiredJoints) {
+        PoseDelta delta = new PoseDelta(additivePose.getJointSkeleton());
+        for (int i = 0; i < requiredJoints.size(); i++) {
+            String joint = requiredJoints.getJoint(i);
+            JointChannel additiveChannel = additivePose.jointChannels.getOrDefault(joint, JointChannel.ZERO);
+            JointChannel referenceChannel = referencePose.jointChannels.getOrDefault(joint, JointChannel.ZERO);
+            if (additiveChannel.getVisibility() && additiveChannel.isEquivalentTo(referenceChannel, EQUALITY_EPSILON)) {
+                continue;
+            }
+            JointChannel deltaChannel = JointChannel.of(additiveChannel);
+            deltaChannel.multiply(referenceChannel.getTransform().invert(), JointChannel.TransformSpace.COMPONENT);
+            delta.add(requiredJoints.getJointIndex(i), deltaChannel);
+        }
+        return delta;
+    }
+
+    /**
+     * Creates a delta from a full additive pose, leaving out every joint with an identity transform.
+     * @param additivePose          Additive pose, such as one made by subtracting a reference pose.
+     * @param requiredJoints        Joints to include in the delta.
+     */
+    public static PoseDelta ofAdditivePose(LocalSpacePose additivePose, JointMask requiredJoints) {
+        PoseDelta delta = new PoseDelta(additivePose.getJointSkeleton());
+        for (int i = 0; i < requiredJoints.size(); i++) {
+            JointChannel additiveChannel = additivePose.jointChannels.getOrDefault(requiredJoints.getJoint(i), JointChannel.ZERO);
+            if (additiveChannel.isIdentity(EQUALITY_EPSILON)) {
+                continue;
+            }
+            delta.add(requiredJoints.getJointIndex(i), JointChannel.of(additiveChannel));
+        }
+        return delta;
+    }
+
+    private void add(int jointIndex, JointChannel channel) {
+        if (jointIndex < this.joints.length()) {
+            throw new IllegalArgumentException("Joints must be added to a pose delta in ascending joint index order.");
+        }
+        if (this.size == this.channels.length) {
+            this.channels = Arrays.copyOf(this.channels, this.size * 2);
+        }
+        this.joints.set(jointIndex);
+        this.channels[this.size++] = channel;
+    }
+
+    public JointSkeleton getJointSkeleton() {
+        return this.jointSkeleton;
+    }
+
+    /**
+     * Returns the number of joints in this delta.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns whether this delta moves the joint with the provided skeleton index.
+     */
+    public boolean contains(int jointIndex) {
+        return jointIndex >= 0 && this.joints.get(jointIndex);
+    }
+
+    /**
+     * Adds this delta on top of the provided pose, only touching the joints in this delta.
+     *
+     * <p>Joint channels in the pose are replaced rather than modified, so poses sharing channels with the base pose are
+     * unaffected.</p>
+     *
+     * @param basePose              Pose to apply the delta to, which is modified and returned.
+     * @param weight                Weight of the delta, 0 is the base pose and 1 is the fully applied delta.
+     * @return                      Base pose with the delta applied.
+     */
+    public LocalSpacePose applyTo(LocalSpacePose basePose, float weight) {
+        if (weight == 0) {
+            return basePose;
+        }
+        int i = 0;
+        for (int jointIndex = this.joints.nextSetBit(0); jointIndex >= 0; jointIndex = this.joints.nextSetBit(jointIndex + 1)) {
+            String joint = this.jointSkeleton.getJointByIndex(jointIndex);
+            JointChannel baseChannel = basePose.jointChannels.getOrDefault(joint, JointChannel.ZERO);
+            JointChannel channel = JointChannel.of(this.channels[i++]);
+            channel.multiply(baseChannel, JointChannel.TransformSpace.COMPONENT);
+            if (weight != 1) {
+                baseChannel.interpolate(channel, weight, channel);
+            }
+            basePose.putOwnedJointChannel(joint, jointIndex, channel);
+        }
+        return basePose;
+    }
+
+    /**
+     * Returns this delta as a full additive pose, with an identity transform for every joint not in the delta.
+     */
+    public LocalSpacePose toPose() {
+        LocalSpacePose pose = LocalSpacePose.of(this.jointSkeleton);
+        int i = 0;
+        for (int jointIndex = this.joints.nextSetBit(0); jointIndex >= 0; jointIndex = this.joints.nextSetBit(jointIndex + 1)) {
+            pose.putOwnedJointChannel(this.jointSkeleton.getJointByIndex(jointIndex), jointIndex, JointChannel.of(this.channels[i++]));
+        }
+        return pose;
+    }
+}
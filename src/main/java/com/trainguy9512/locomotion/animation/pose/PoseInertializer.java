@@ -0,0 +1,327 @@
+package com.trainguy9512.locomotion.animation.pose;
+
+import com.trainguy9512.locomotion.animation.joint.JointChannel;
+import com.trainguy9512.locomotion.animation.joint.skeleton.JointSkeleton;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+/**
+ * Blends into new poses by inertialization, rather than by crossfading between a source and target pose.
+ *
+ * <p>The inertializer keeps a short history of the poses it has been given. When an inertialization is requested,
+ * the offset from the most recent pose to the new target pose is captured per joint, along with the velocity of
+ * the offset. The offset is then decayed to zero over the transition duration using a quintic curve, so only
+ * the target pose needs to be evaluated during the transition.</p>
+ *
+ * <p>Translation and rotation offsets are decayed along a fixed direction and axis per joint. Scale and visibility
+ * are taken from the target pose immediately.</p>
+ */
+public class PoseInertializer {
+
+    private static final float EPSILON = 1.0E-5f;
+
+    // Coefficients per curve: A, B, C, half of the initial acceleration, initial velocity, initial offset, and duration.
+    static final int CURVE_STRIDE = 7;
+
+    private JointSkeleton jointSkeleton;
+    private String[] joints;
+
+    // The two most recently recorded poses, packed per joint, as 3 translation floats and 4 rotation floats.
+    private float[] lastTranslations;
+    private float[] lastRotations;
+    private float[] previousTranslations;
+    private float[] previousRotations;
+    private double lastRecordedTime;
+    private double previousRecordedTime;
+    private int recordedPoseCount;
+
+    // Decaying offsets, as a normalized translation direction and rotation axis per joint, with a curve for each.
+    private float[] translationDirections;
+    private float[] rotationAxes;
+    private float[] translationCurves;
+    private float[] rotationCurves;
+
+    private long ticksElapsed;
+    private long requestedTick;
+    private float requestedDurationTicks;
+    private double captureTime;
+    private boolean isPending;
+    private boolean isActive;
+
+    private final Vector3f translationCache = new Vector3f();
+    private final Quaternionf rotationCache = new Quaternionf();
+    private final Quaternionf offsetRotationCache = new Quaternionf();
+    private final Vector3f scaleCache = new Vector3f();
+
+    private PoseInertializer() {
+        this.jointSkeleton = null;
+        this.recordedPoseCount = 0;
+        this.ticksElapsed = 0;
+        this.isPending = false;
+        this.isActive = false;
+    }
+
+    public static PoseInertializer of() {
+        return new PoseInertializer();
+    }
+
+    /**
+     * Advances the inertializer's clock by one tick. Should be called once per tick, before any inertialization is requested on that tick.
+     */
+    public void tick() {
+        this.ticksElapsed++;
+    }
+
+    /**
+     * Requests an inertialization from the last recorded pose to the next pose passed to {@link PoseInertializer#apply}.
+     * Any inertialization that is already active is replaced, using the last recorded pose as the new source pose.
+     *
+     * @param durationTicks     Duration of the inertialization, in ticks.
+     */
+    public void requestInertialization(float durationTicks) {
+        this.isPending = true;
+        this.requestedTick = this.ticksElapsed;
+        this.requestedDurationTicks = durationTicks;
+    }
+
+    /**
+     * Clears the pose history and any active inertialization.
+     */
+    public void reset() {
+        this.recordedPoseCount = 0;
+        this.isPending = false;
+        this.isActive = false;
+    }
+
+    public boolean isActive() {
+        return this.isActive || this.isPending;
+    }
+
+    /**
+     * Applies the active inertialization offset to the provided target pose in place, and records the result in the pose history.
+     *
+     * @param pose              Target pose to apply the offset to.
+     * @param partialTicks      Progress through the current tick, from 0 to 1.
+     * @return                  The provided pose, with the offset applied.
+     */
+    public LocalSpacePose apply(LocalSpacePose pose, float partialTicks) {
+        double time = this.ticksElapsed + partialTicks;
+        if (pose.getJointSkeleton() != this.jointSkeleton) {
+            this.initialize(pose.getJointSkeleton());
+        }
+        if (this.isPending) {
+            this.isPending = false;
+            this.capture(pose, time);
+        }
+        if (this.isActive) {
+            float timeSinceCapture = (float) (time - this.captureTime);
+            boolean hasOffset = false;
+            for (int i = 0; i < this.joints.length; i++) {
+                float translationOffset = evaluateCurve(this.translationCurves, i * CURVE_STRIDE, timeSinceCapture);
+                float rotationOffset = evaluateCurve(this.rotationCurves, i * CURVE_STRIDE, timeSinceCapture);
+                if (translationOffset == 0 && rotationOffset == 0) {
+                    continue;
+                }
+                hasOffset = true;
+                JointChannel targetChannel = pose.jointChannels.get(this.joints[i]);
+                Vector3f translation = targetChannel.getTranslation(this.translationCache);
+                Quaternionf rotation = targetChannel.getRotation(this.rotationCache);
+                Vector3f scale = targetChannel.getScale(this.scaleCache);
+
+                translation.add(
+                        this.translationDirections[i * 3] * translationOffset,
+                        this.translationDirections[i * 3 + 1] * translationOffset,
+                        this.translationDirections[i * 3 + 2] * translationOffset
+                );
+                this.offsetRotationCache.fromAxisAngleRad(
+                        this.rotationAxes[i * 3],
+                        this.rotationAxes[i * 3 + 1],
+                        this.rotationAxes[i * 3 + 2],
+                        rotationOffset
+                ).mul(rotation, rotation);
+                pose.setJointChannel(this.joints[i], JointChannel.ofTranslationRotationScaleQuaternion(translation, rotation, scale, targetChannel.getVisibility()));
+            }
+            // Once every curve has reached the end of its duration, the inertialization is finished.
+            this.isActive = hasOffset;
+        }
+        this.record(pose, time);
+        return pose;
+    }
+
+    private void initialize(JointSkeleton jointSkeleton) {
+        this.jointSkeleton = jointSkeleton;
+        this.joints = jointSkeleton.getJoints().toArray(new String[0]);
+        int jointCount = this.joints.length;
+        this.lastTranslations = new float[jointCount * 3];
+        this.lastRotations = new float[jointCount * 4];
+        this.previousTranslations = new float[jointCount * 3];
+        this.previousRotations = new float[jointCount * 4];
+        this.translationDirections = new float[jointCount * 3];
+        this.rotationAxes = new float[jointCount * 3];
+        this.translationCurves = new float[jointCount * CURVE_STRIDE];
+        this.rotationCurves = new float[jointCount * CURVE_STRIDE];
+        this.recordedPoseCount = 0;
+        this.isActive = false;
+    }
+
+    private void record(LocalSpacePose pose, double time) {
+        float[] translations = this.previousTranslations;
+        float[] rotations = this.previousRotations;
+        this.previousTranslations = this.lastTranslations;
+        this.previousRotations = this.lastRotations;
+        this.previousRecordedTime = this.lastRecordedTime;
+        this.lastTranslations = translations;
+        this.lastRotations = rotations;
+        this.lastRecordedTime = time;
+
+        for (int i = 0; i < this.joints.length; i++) {
+            JointChannel channel = pose.jointChannels.get(this.joints[i]);
+            Vector3f translation = channel.getTranslation(this.translationCache);
+            Quaternionf rotation = channel.getRotation(this.rotationCache);
+            translations[i * 3] = translation.x;
+            translations[i * 3 + 1] = translation.y;
+            translations[i * 3 + 2] = translation.z;
+            rotations[i * 4] = rotation.x;
+            rotations[i * 4 + 1] = rotation.y;
+            rotations[i * 4 + 2] = rotation.z;
+            rotations[i * 4 + 3] = rotation.w;
+        }
+        this.recordedPoseCount = Math.min(this.recordedPoseCount + 1, 2);
+    }
+
+    /**
+     * Captures the offset from the last recorded pose to the target pose, and the velocity of the offset
+     * from the two most recently recorded poses.
+     */
+    private void capture(LocalSpacePose targetPose, double time) {
+        float remainingDuration = this.requestedDurationTicks - (float) (time - this.requestedTick);
+        if (this.recordedPoseCount == 0 || remainingDuration <= EPSILON) {
+            this.isActive = false;
+            return;
+        }
+        float deltaTime = (float) (this.lastRecordedTime - this.previousRecordedTime);
+        boolean hasVelocity = this.recordedPoseCount == 2 && deltaTime > EPSILON;
+
+        for (int i = 0; i < this.joints.length; i++) {
+            JointChannel targetChannel = targetPose.jointChannels.get(this.joints[i]);
+            int translationIndex = i * 3;
+            int rotationIndex = i * 4;
+
+            // Translation offset, decayed along the direction from the target to the source.
+            Vector3f targetTranslation = targetChannel.getTranslation(this.translationCache);
+            float offsetX = this.lastTranslations[translationIndex] - targetTranslation.x;
+            float offsetY = this.lastTranslations[translationIndex + 1] - targetTranslation.y;
+            float offsetZ = this.lastTranslations[translationIndex + 2] - targetTranslation.z;
+            float translationOffset = (float) Math.sqrt(offsetX * offsetX + offsetY * offsetY + offsetZ * offsetZ);
+            float translationVelocity = 0;
+            if (translationOffset > EPSILON) {
+                offsetX /= translationOffset;
+                offsetY /= translationOffset;
+                offsetZ /= translationOffset;
+                if (hasVelocity) {
+                    translationVelocity = (
+                            (this.lastTranslations[translationIndex] - this.previousTranslations[translationIndex]) * offsetX
+                            + (this.lastTranslations[translationIndex + 1] - this.previousTranslations[translationIndex + 1]) * offsetY
+                            + (this.lastTranslations[translationIndex + 2] - this.previousTranslations[translationIndex + 2]) * offsetZ
+                    ) / deltaTime;
+                }
+            } else {
+                translationOffset = 0;
+            }
+            this.translationDirections[translationIndex] = offsetX;
+            this.translationDirections[translationIndex + 1] = offsetY;
+            this.translationDirections[translationIndex + 2] = offsetZ;
+            computeCurve(this.translationCurves, i * CURVE_STRIDE, translationOffset, translationVelocity, remainingDuration);
+
+            // Rotation offset, as the rotation from the target to the source, decayed around its axis.
+            Quaternionf inverseTargetRotation = targetChannel.getRotation(this.rotationCache).conjugate();
+            Quaternionf offsetRotation = this.offsetRotationCache.set(
+                    this.lastRotations[rotationIndex],
+                    this.lastRotations[rotationIndex + 1],
+                    this.lastRotations[rotationIndex + 2],
+                    this.lastRotations[rotationIndex + 3]
+            ).mul(inverseTargetRotation);
+            if (offsetRotation.w < 0) {
+                offsetRotation.set(-offsetRotation.x, -offsetRotation.y, -offsetRotation.z, -offsetRotation.w);
+            }
+            float sinHalfAngle = (float) Math.sqrt(offsetRotation.x * offsetRotation.x + offsetRotation.y * offsetRotation.y + offsetRotation.z * offsetRotation.z);
+            float rotationOffset = 2 * (float) Math.atan2(sinHalfAngle, offsetRotation.w);
+            float axisX = 0;
+            float axisY = 0;
+            float axisZ = 0;
+            float rotationVelocity = 0;
+            if (rotationOffset > EPSILON) {
+                axisX = offsetRotation.x / sinHalfAngle;
+                axisY = offsetRotation.y / sinHalfAngle;
+                axisZ = offsetRotation.z / sinHalfAngle;
+                if (hasVelocity) {
+                    // Angle of the previous pose's offset around the same axis.
+                    Quaternionf previousOffsetRotation = this.offsetRotationCache.set(
+                            this.previousRotations[rotationIndex],
+                            this.previousRotations[rotationIndex + 1],
+                            this.previousRotations[rotationIndex + 2],
+                            this.previousRotations[rotationIndex + 3]
+                    ).mul(inverseTargetRotation);
+                    if (previousOffsetRotation.w < 0) {
+                        previousOffsetRotation.set(-previousOffsetRotation.x, -previousOffsetRotation.y, -previousOffsetRotation.z, -previousOffsetRotation.w);
+                    }
+                    float previousRotationOffset = 2 * (float) Math.atan2(
+                            previousOffsetRotation.x * axisX + previousOffsetRotation.y * axisY + previousOffsetRotation.z * axisZ,
+                            previousOffsetRotation.w
+                    );
+                    rotationVelocity = (rotationOffset - previousRotationOffset) / deltaTime;
+                }
+            } else {
+                rotationOffset = 0;
+            }
+            this.rotationAxes[translationIndex] = axisX;
+            this.rotationAxes[translationIndex + 1] = axisY;
+            this.rotationAxes[translationIndex + 2] = axisZ;
+            computeCurve(this.rotationCurves, i * CURVE_STRIDE, rotationOffset, rotationVelocity, remainingDuration);
+        }
+        this.captureTime = time;
+        this.isActive = true;
+    }
+
+    /**
+     * Computes the coefficients of a quintic curve that decays an offset to zero with zero velocity and acceleration at the end of its duration.
+     *
+     * @param curves        Array to store the curve coefficients in.
+     * @param offset        Index of the curve within the array.
+     * @param x0            Initial offset, greater than or equal to zero.
+     * @param v0            Initial velocity of the offset.
+     * @param duration      Duration of the decay, in ticks.
+     */
+    static void computeCurve(float[] curves, int offset, float x0, float v0, float duration) {
+        if (x0 <= EPSILON) {
+            for (int i = 0; i < CURVE_STRIDE; i++) {
+                curves[offset + i] = 0;
+            }
+            return;
+        }
+        // An offset moving away from zero is ignored, and the duration is shortened so that the curve does not overshoot zero.
+        v0 = Math.min(v0, 0);
+        float t1 = duration;
+        if (v0 < 0) {
+            t1 = Math.min(t1, -5 * x0 / v0);
+        }
+        float t1Squared = t1 * t1;
+        float a0 = Math.max((-8 * v0 * t1 - 20 * x0) / t1Squared, 0);
+
+        curves[offset] = -(a0 * t1Squared + 6 * v0 * t1 + 12 * x0) / (2 * t1Squared * t1Squared * t1);
+        curves[offset + 1] = (3 * a0 * t1Squared + 16 * v0 * t1 + 30 * x0) / (2 * t1Squared * t1Squared);
+        curves[offset + 2] = -(3 * a0 * t1Squared + 12 * v0 * t1 + 20 * x0) / (2 * t1Squared * t1);
+        curves[offset + 3] = a0 / 2;
+        curves[offset + 4] = v0;
+        curves[offset + 5] = x0;
+        curves[offset + 6] = t1;
+    }
+
+    static float evaluateCurve(float[] curves, int offset, float time) {
+        if (time >= curves[offset + 6]) {
+            return 0;
+        }
+        float t = Math.max(time, 0);
+        return ((((curves[offset] * t + curves[offset + 1]) * t + curves[offset + 2]) * t + curves[offset + 3]) * t + curves[offset + 4]) * t + curves[offset + 5];
+    }
+}
@@ -0,0 +1,80 @@
+package com.trainguy9512.locomotion.animation.pose;
+
+/**
+ * Data-parallel kernels for poses stored as primitive arrays, with every component of every joint stored contiguously.
+ *
+ * <p>Each kernel is a plain counted loop over primitive arrays with no calls, branches or object access in its body,
+ * which is the shape the JIT compiler's superword optimization vectorizes into SIMD instructions. This works on every
+ * Java version the mod targets, without incubator modules or launch flags.</p>
+ */
+public final class PoseKernels {
+
+    private PoseKernels() {
+    }
+
+    /**
+     * Linearly interpolates a range of values.
+     * @param from                  Values at a weight of 0.
+     * @param to                    Values at a weight of 1.
+     * @param weight                Interpolation weight, from 0 to 1.
+     * @param destination           Array to store the result in, which may be the same as either input.
+     * @param offset                Index of the first value to interpolate.
+     * @param length                Number of values to interpolate.
+     */
+    public static void lerp(float[] from, float[] to, float weight, float[] destination, int offset, int length) {
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            destination[i] = from[i] + (to[i] - from[i]) * weight;
+        }
+    }
+
+    /**
+     * Computes the dot product of every pair of quaternions, each stored as four blocks of components.
+     * @param from                  First quaternions, with blocks of x, y, z and w components starting at the offset.
+     * @param to                    Second quaternions, laid out the same way.
+     * @param offset                Index of the first x component.
+     * @param count                 Number of quaternions.
+     * @param destination           Array to store the dot product of each pair in.
+     */
+    public static void dotQuaternions(float[] from, float[] to, int offset, int count, float[] destination) {
+        int y = offset + count;
+        int z = y + count;
+        int w = z + count;
+        for (int i = 0; i < count; i++) {
+            destination[i] = from[offset + i] * to[offset + i]
+                    + from[y + i] * to[y + i]
+                    + from[z + i] * to[z + i]
+                    + from[w + i] * to[w + i];
+        }
+    }
+
+    /**
+     * Interpolates every pair of quaternions with normalized lerp, taking the shortest path.
+     * @param from                  Quaternions at a weight of 0, with blocks of x, y, z and w components starting at the
+     *                              offset.
+     * @param to                    Quaternions at a weight of 1, laid out the same way.
+     * @param dots                  Dot product of each pair, from {@link PoseKernels#dotQuaternions}.
+     * @param weight                Interpolation weight, from 0 to 1.
+     * @param destination           Array to store the result in, which may be the same as either input.
+     * @param offset                Index of the first x component.
+     * @param count                 Number of quaternions.
+     */
+    public static void nlerpQuaternions(float[] from, float[] to, float[] dots, float weight, float[] destination, int offset, int count) {
+        int y = offset + count;
+        int z = y + count;
+        int w = z + count;
+        float fromWeight = 1 - weight;
+        for (int i = 0; i < count; i++) {
+            float toWeight = Math.copySign(weight, dots[i]);
+            float qx = from[offset + i] * fromWeight + to[offset + i] * toWeight;
+            float qy = from[y + i] * fromWeight + to[y + i] * toWeight;
+            float qz = from[z + i] * fromWeight + to[z + i] * toWeight;
+            float qw = from[w + i] * fromWeight + to[w + i] * toWeight;
+            float inverseLength = 1 / (float) Math.sqrt(qx * qx + qy * qy + qz * qz + qw * qw);
+            destination[offset + i] = qx * inverseLength;
+            destination[y + i] = qy * inverseLength;
+            destination[z + i] = qz * inverseLength;
+            destination[w + i] = qw * inverseLength;
+        }
+    }
+}
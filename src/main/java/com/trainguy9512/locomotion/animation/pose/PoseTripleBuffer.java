@@ -0,0 +1,102 @@
+package com.trainguy9512.locomotion.animation.pose;
+
+import com.trainguy9512.locomotion.util.Interpolator;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free handoff of per-tick poses from one writing thread to one reading thread.
+ *
+ * <p>The buffer has three slots, each holding the poses of two consecutive ticks. The writer fills its back slot and
+ * swaps it with the middle slot, and the reader swaps its front slot with the middle slot whenever a newer pair has
+ * been published. Neither side ever waits for the other, and the reader always sees the most recently published
+ * pair in full.</p>
+ *
+ * <p>Published poses must not be modified afterward, as the reader interpolates between them directly.</p>
+ */
+public final class PoseTripleBuffer {
+
+    private static final int INDEX_MASK = 0b11;
+    private static final int PUBLISHED_BIT = 0b100;
+
+    private final Slot[] slots;
+    // Index of the middle slot, with the published bit set if the writer has filled it since the reader last swapped.
+    private final AtomicInteger middle;
+    private int backIndex;
+    private int frontIndex;
+
+    // Owned by the writer.
+    private @Nullable LocalSpacePose lastPublishedPose;
+    // Set by the writer once, and read by any thread.
+    private volatile boolean hasPublished;
+
+    private PoseTripleBuffer() {
+        this.slots = new Slot[]{new Slot(), new Slot(), new Slot()};
+        this.backIndex = 0;
+        this.middle = new AtomicInteger(1);
+        this.frontIndex = 2;
+        this.lastPublishedPose = null;
+        this.hasPublished = false;
+    }
+
+    public static PoseTripleBuffer of() {
+        return new PoseTripleBuffer();
+    }
+
+    /**
+     * Publishes the pose of a new tick, paired with the pose of the previously published tick. Must only be called by
+     * the writing thread.
+     * @param pose                  Pose calculated for the tick.
+     * @param tick                  Number of the tick the pose was calculated for.
+     */
+    public void publish(LocalSpacePose pose, long tick) {
+        // The reader copies joint channels from published poses, so they must never be modified in place.
+        pose.releaseJointChannels();
+        Slot slot = this.slots[this.backIndex];
+        slot.previousPose = this.lastPublishedPose != null ? this.lastPublishedPose : pose;
+        slot.currentPose = pose;
+        slot.tick = tick;
+        this.lastPublishedPose = pose;
+        this.backIndex = this.middle.getAndSet(this.backIndex | PUBLISHED_BIT) & INDEX_MASK;
+        this.hasPublished = true;
+    }
+
+    /**
+     * Returns whether a pose has ever been published. Can be called by any thread.
+     */
+    public boolean hasPublished() {
+        return this.hasPublished;
+    }
+
+    /**
+     * Returns the most recently published pose pair interpolated by the provided weight. Must only be called by the
+     * reading thread.
+     *
+     * <p>If the most recent pair is older than the expected tick, the writer hasn't caught up yet, so the newest pose
+     * is held rather than interpolating from an older tick, which would move the pose backward.</p>
+     *
+     * @param weight                Interpolation weight, 0 is the previous pose and 1 is the current pose.
+     * @param expectedTick          Number of the tick the latest pose is expected to be published for.
+     * @return                      Interpolated pose, or null if nothing has been published yet.
+     */
+    public @Nullable LocalSpacePose read(float weight, long expectedTick) {
+        if ((this.middle.get() & PUBLISHED_BIT) != 0) {
+            this.frontIndex = this.middle.getAndSet(this.frontIndex) & INDEX_MASK;
+        }
+        Slot slot = this.slots[this.frontIndex];
+        if (slot.currentPose == null) {
+            return null;
+        }
+        if (slot.tick < expectedTick) {
+            return LocalSpacePose.of(slot.currentPose);
+        }
+        return Interpolator.LOCAL_SPACE_POSE.interpolate(slot.previousPose, slot.currentPose, weight);
+    }
+
+    private static final class Slot {
+        private @Nullable LocalSpacePose previousPose;
+        private @Nullable LocalSpacePose currentPose;
+        private long tick;
+    }
+}
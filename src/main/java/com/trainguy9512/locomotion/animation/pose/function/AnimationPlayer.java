@@ -1,20 +1,40 @@
 package com.trainguy9512.locomotion.animation.pose.function;
 
-import com.trainguy9512.locomotion.animation.pose.function.statemachine.StateMachineFunction;
 import com.trainguy9512.locomotion.util.TimeSpan;
 import net.minecraft.util.Tuple;
 
 public interface AnimationPlayer {
 
     /**
-     * Returns the remaining time in the sequence player at the previous tick and the current tick.
+     * Returns the remaining time in ticks in the sequence player at the previous tick.
+     * Meant to be called in contexts just prior to this pose function updating
+     * @implNote    Should be equivalent to the current remaining time minus the play rate.
+     */
+    float getRemainingTicksPreviously();
+
+    /**
+     * Returns the remaining time in ticks in the sequence player at the current tick.
      * Meant to be called in contexts just prior to this pose function updating
-     * @implNote    Tuple should be (remainingTime - playRate, remainingTime)
      */
-    Tuple<TimeSpan, TimeSpan> getRemainingTime();
+    float getRemainingTicksCurrently();
+
+    /**
+     * Returns the length of the animation currently being played, in ticks.
+     */
+    float getAnimationLengthInTicks();
+
+    /**
+     * Returns the remaining time in the sequence player at the previous tick and the current tick.
+     * Prefer {@link AnimationPlayer#getRemainingTicksPreviously()} and {@link AnimationPlayer#getRemainingTicksCurrently()} on hot paths.
+     */
+    default Tuple<TimeSpan, TimeSpan> getRemainingTime() {
+        return new Tuple<>(TimeSpan.ofTicks(this.getRemainingTicksPreviously()), TimeSpan.ofTicks(this.getRemainingTicksCurrently()));
+    }
 
     /**
      * Returns the length of the animation currently being played.
      */
-    TimeSpan getAnimationLength();
+    default TimeSpan getAnimationLength() {
+        return TimeSpan.ofTicks(this.getAnimationLengthInTicks());
+    }
 }
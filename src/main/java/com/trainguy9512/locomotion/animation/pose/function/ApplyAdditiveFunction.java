@@ -1,14 +1,18 @@
 package com.trainguy9512.locomotion.animation.pose.function;
 
-import com.trainguy9512.locomotion.animation.joint.JointChannel;
 import com.trainguy9512.locomotion.animation.pose.LocalSpacePose;
+import com.trainguy9512.locomotion.animation.pose.PoseDelta;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Optional;
 import java.util.function.Function;
 
 /**
  * Pose function that adds an additive pose to a base animation pose, based on an alpha value.
+ *
+ * <p>The additive pose is applied as a {@link PoseDelta}, so only the joints it moves are touched. Additive inputs
+ * that are {@link PoseDeltaFunction}s provide their delta directly, otherwise the identity joints of the additive pose
+ * are skipped.</p>
  */
 public class ApplyAdditiveFunction implements PoseFunction<LocalSpacePose> {
 
@@ -35,17 +39,14 @@ public class ApplyAdditiveFunction implements PoseFunction<LocalSpacePose> {
     public @NotNull LocalSpacePose compute(FunctionInterpolationContext context) {
         LocalSpacePose basePose = this.basePoseInput.compute(context);
 
-        LocalSpacePose additivePose = this.additivePoseInput.compute(context);
-        additivePose.multiply(basePose, JointChannel.TransformSpace.COMPONENT);
-
         float weight = this.alphaFunction.apply(context);
-        if (weight == 1f) {
-            return additivePose;
-        } else if (weight == 0f) {
+        if (weight == 0f) {
             return basePose;
-        } else {
-            return basePose.interpolated(additivePose, weight);
         }
+        PoseDelta additiveDelta = this.additivePoseInput instanceof PoseDeltaFunction deltaFunction
+                ? deltaFunction.computeDelta(context)
+                : PoseDelta.ofAdditivePose(this.additivePoseInput.compute(context), context.requiredJoints());
+        return additiveDelta.applyTo(basePose, weight);
     }
 
     @Override
@@ -60,12 +61,17 @@ public class ApplyAdditiveFunction implements PoseFunction<LocalSpacePose> {
     }
 
     @Override
-    public Optional<AnimationPlayer> testForMostRelevantAnimationPlayer() {
+    public boolean isStatic() {
+        return this.basePoseInput.isStatic() && this.additivePoseInput.isStatic();
+    }
+
+    @Override
+    public @Nullable AnimationPlayer findMostRelevantAnimationPlayer() {
         // Test the base pose input first. If it does not have a relevant animation player, then test the additive pose input.
-        Optional<AnimationPlayer> test = this.basePoseInput.testForMostRelevantAnimationPlayer();
-        if (test.isPresent()) {
+        AnimationPlayer test = this.basePoseInput.findMostRelevantAnimationPlayer();
+        if (test != null) {
             return test;
         }
-        return this.additivePoseInput.testForMostRelevantAnimationPlayer();
+        return this.additivePoseInput.findMostRelevantAnimationPlayer();
     }
 }
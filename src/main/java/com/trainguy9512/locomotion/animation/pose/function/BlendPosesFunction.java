@@ -1,9 +1,11 @@
 package com.trainguy9512.locomotion.animation.pose.function;
 
 import com.google.common.collect.Maps;
-import com.trainguy9512.locomotion.animation.driver.VariableDriver;
+import com.trainguy9512.locomotion.animation.driver.FloatDriver;
 import com.trainguy9512.locomotion.animation.joint.skeleton.BlendMask;
+import com.trainguy9512.locomotion.animation.joint.skeleton.JointMask;
 import com.trainguy9512.locomotion.animation.pose.LocalSpacePose;
+import com.trainguy9512.locomotion.animation.pose.PoseBlender;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -13,23 +15,56 @@ import java.util.function.Function;
 public class BlendPosesFunction implements PoseFunction<LocalSpacePose> {
 
     private final PoseFunction<LocalSpacePose> baseFunction;
-    private final Map<BlendInput, VariableDriver<Float>> inputs;
+    private final Map<BlendInput, FloatDriver> inputs;
 
-    public BlendPosesFunction(PoseFunction<LocalSpacePose> baseFunction, Map<BlendInput, VariableDriver<Float>> inputs){
+    // Blend inputs and their weights in blending order, bottom to top.
+    private final BlendInput[] orderedInputs;
+    private final FloatDriver[] orderedWeights;
+    private final float[] interpolatedWeights;
+    private final PoseBlender poseBlender;
+
+    public BlendPosesFunction(PoseFunction<LocalSpacePose> baseFunction, Map<BlendInput, FloatDriver> inputs){
         this.baseFunction = baseFunction;
         this.inputs = inputs;
+        this.orderedInputs = inputs.keySet().toArray(new BlendInput[0]);
+        this.orderedWeights = new FloatDriver[this.orderedInputs.length];
+        for (int i = 0; i < this.orderedInputs.length; i++) {
+            this.orderedWeights[i] = inputs.get(this.orderedInputs[i]);
+        }
+        this.interpolatedWeights = new float[this.orderedInputs.length];
+        this.poseBlender = PoseBlender.of();
     }
 
     @Override
     public @NotNull LocalSpacePose compute(FunctionInterpolationContext context) {
-        LocalSpacePose pose = this.baseFunction.compute(context);
-        for(BlendInput blendInput : this.inputs.keySet()) {
-            float weight = this.inputs.get(blendInput).getValueInterpolated(context.partialTicks());
-            if(weight != 0f){
-                pose = pose.interpolated(blendInput.inputFunction.compute(context), weight, blendInput.blendMask);
+        // Find the lowest input that isn't covered by an unmasked input at full weight above it.
+        int lowestInput = 0;
+        boolean isBaseCovered = false;
+        for (int i = this.orderedInputs.length - 1; i >= 0; i--) {
+            float weight = this.orderedWeights[i].getFloat(context.partialTicks());
+            this.interpolatedWeights[i] = weight;
+            if (weight >= 1 - PoseBlender.WEIGHT_EPSILON && this.orderedInputs[i].blendMask == null) {
+                lowestInput = i;
+                isBaseCovered = true;
+                break;
+            }
+        }
+
+        LocalSpacePose pose = isBaseCovered ? LocalSpacePose.of(context.driverContainer().getJointSkeleton()) : this.baseFunction.compute(context);
+        this.poseBlender.begin(pose);
+        for (int i = lowestInput; i < this.orderedInputs.length; i++) {
+            BlendInput blendInput = this.orderedInputs[i];
+            float weight = this.interpolatedWeights[i];
+            if (weight < PoseBlender.WEIGHT_EPSILON) {
+                continue;
+            }
+            // Inputs only need to compute the joints that their blend mask lets through.
+            JointMask inputRequiredJoints = context.requiredJoints().maskedBy(blendInput.blendMask);
+            if (!inputRequiredJoints.isEmpty()) {
+                this.poseBlender.addLayer(blendInput.inputFunction.compute(context.withRequiredJoints(inputRequiredJoints)), weight, blendInput.blendMask);
             }
         }
-        return pose;
+        return this.poseBlender.blend(context.requiredJoints());
     }
 
     @Override
@@ -56,20 +91,42 @@ public class BlendPosesFunction implements PoseFunction<LocalSpacePose> {
     }
 
     @Override
-    public Optional<AnimationPlayer> testForMostRelevantAnimationPlayer() {
-        List<Optional<AnimationPlayer>> blendAnimationPlayers = new ArrayList<>();
-        this.inputs.forEach(((blendInput, weightDriver) -> {
-            if (weightDriver.getCurrentValue() >= 0.5f) {
-                blendAnimationPlayers.add(blendInput.inputFunction.testForMostRelevantAnimationPlayer());
+    public boolean isStatic() {
+        // Inputs that aren't blended in, and anything covered by an unmasked input at full weight, don't need to be static.
+        for (int i = this.orderedInputs.length - 1; i >= 0; i--) {
+            FloatDriver weight = this.orderedWeights[i];
+            if (weight.hasValueChanged()) {
+                return false;
+            }
+            if (weight.getCurrentValue() < PoseBlender.WEIGHT_EPSILON) {
+                continue;
+            }
+            if (!this.orderedInputs[i].inputFunction.isStatic()) {
+                return false;
+            }
+            if (weight.getCurrentValue() >= 1 - PoseBlender.WEIGHT_EPSILON && this.orderedInputs[i].blendMask == null) {
+                return true;
+            }
+        }
+        return this.baseFunction.isStatic();
+    }
+
+    @Override
+    public @Nullable AnimationPlayer findMostRelevantAnimationPlayer() {
+        // The last input with at least half weight is the most relevant, falling back to the base input.
+        BlendInput mostRelevantInput = null;
+        for (Map.Entry<BlendInput, FloatDriver> entry : this.inputs.entrySet()) {
+            if (entry.getValue().getCurrentValue() >= 0.5f) {
+                mostRelevantInput = entry.getKey();
+            }
+        }
+        if (mostRelevantInput != null) {
+            AnimationPlayer player = mostRelevantInput.inputFunction.findMostRelevantAnimationPlayer();
+            if (player != null) {
+                return player;
             }
-        }));
-        if (!blendAnimationPlayers.isEmpty()) {
-            return blendAnimationPlayers.getLast().isPresent() ?
-                    blendAnimationPlayers.getLast() :
-                    this.baseFunction.testForMostRelevantAnimationPlayer();
-        } else {
-            return this.baseFunction.testForMostRelevantAnimationPlayer();
         }
+        return this.baseFunction.findMostRelevantAnimationPlayer();
     }
 
 
@@ -80,7 +137,7 @@ public class BlendPosesFunction implements PoseFunction<LocalSpacePose> {
     public static class Builder {
 
         private final PoseFunction<LocalSpacePose> baseFunction;
-        private final Map<BlendInput, VariableDriver<Float>> inputs;
+        private final Map<BlendInput, FloatDriver> inputs;
 
         private Builder(PoseFunction<LocalSpacePose> baseFunction){
             this.baseFunction = baseFunction;
@@ -88,7 +145,7 @@ public class BlendPosesFunction implements PoseFunction<LocalSpacePose> {
         }
 
         public Builder addBlendInput(PoseFunction<LocalSpacePose> inputFunction, Function<FunctionEvaluationState, Float> weightFunction, @Nullable BlendMask blendMask){
-            this.inputs.put(new BlendInput(inputFunction, weightFunction, blendMask), VariableDriver.ofFloat(() -> 0f));
+            this.inputs.put(new BlendInput(inputFunction, weightFunction, blendMask), FloatDriver.of(0f));
             return this;
         }
 
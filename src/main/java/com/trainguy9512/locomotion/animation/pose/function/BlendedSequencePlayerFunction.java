@@ -2,14 +2,15 @@ package com.trainguy9512.locomotion.animation.pose.function;
 
 import com.trainguy9512.locomotion.animation.driver.Driver;
 import com.trainguy9512.locomotion.animation.driver.DriverKey;
-import com.trainguy9512.locomotion.animation.driver.VariableDriver;
+import com.trainguy9512.locomotion.animation.driver.FloatDriver;
 import com.trainguy9512.locomotion.animation.pose.LocalSpacePose;
+import com.trainguy9512.locomotion.animation.pose.PoseBlender;
 import com.trainguy9512.locomotion.util.TimeSpan;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Optional;
 import java.util.TreeMap;
 import java.util.function.Function;
 
@@ -17,7 +18,7 @@ public class BlendedSequencePlayerFunction extends TimeBasedPoseFunction<LocalSp
 
     private final TreeMap<Float, BlendSpace1DEntry> blendSpaceEntries;
     private final Function<FunctionEvaluationState, Float> blendPositionFunction;
-    private final VariableDriver<Float> blendPosition;
+    private final FloatDriver blendPosition;
 
     private BlendedSequencePlayerFunction(
             Function<FunctionEvaluationState, Boolean> isPlayingFunction,
@@ -29,7 +30,7 @@ public class BlendedSequencePlayerFunction extends TimeBasedPoseFunction<LocalSp
         super(isPlayingFunction, playRateFunction, resetStartTimeOffset);
         this.blendSpaceEntries = blendSpaceEntries;
         this.blendPositionFunction = blendPositionFunction;
-        this.blendPosition = VariableDriver.ofFloat(() -> 0f);
+        this.blendPosition = FloatDriver.of(0f);
     }
 
     @Override
@@ -64,26 +65,32 @@ public class BlendedSequencePlayerFunction extends TimeBasedPoseFunction<LocalSp
 
     @Override
     public @NotNull LocalSpacePose compute(FunctionInterpolationContext context) {
-        float interpolatedPosition = this.blendPosition.getValueInterpolated(context.partialTicks());
-        TimeSpan time = this.getInterpolatedTimeElapsed(context);
+        float interpolatedPosition = this.blendPosition.getFloat(context.partialTicks());
+        float time = this.getInterpolatedTicksElapsed(context);
 
         var floorEntry = this.blendSpaceEntries.floorEntry(interpolatedPosition);
         var ceilingEntry = this.blendSpaceEntries.ceilingEntry(interpolatedPosition);
 
         if (floorEntry == null)
-            return LocalSpacePose.fromAnimationSequence(context.driverContainer().getJointSkeleton(), ceilingEntry.getValue().animationSequence(), time, true);
+            return LocalSpacePose.fromAnimationSequence(context.driverContainer().getJointSkeleton(), ceilingEntry.getValue().animationSequence(), time, true, context.requiredJoints());
         if (ceilingEntry == null)
-            return LocalSpacePose.fromAnimationSequence(context.driverContainer().getJointSkeleton(), floorEntry.getValue().animationSequence(), time, true);
+            return LocalSpacePose.fromAnimationSequence(context.driverContainer().getJointSkeleton(), floorEntry.getValue().animationSequence(), time, true, context.requiredJoints());
 
         // If they're both the same frame
         if (floorEntry.getKey().equals(ceilingEntry.getKey()))
-            return LocalSpacePose.fromAnimationSequence(context.driverContainer().getJointSkeleton(), floorEntry.getValue().animationSequence(), time, true);
+            return LocalSpacePose.fromAnimationSequence(context.driverContainer().getJointSkeleton(), floorEntry.getValue().animationSequence(), time, true, context.requiredJoints());
 
         float relativeTime = (interpolatedPosition - floorEntry.getKey()) / (ceilingEntry.getKey() - floorEntry.getKey());
-        LocalSpacePose floorPose = LocalSpacePose.fromAnimationSequence(context.driverContainer().getJointSkeleton(), floorEntry.getValue().animationSequence(), time, true);
-        LocalSpacePose ceilingPose = LocalSpacePose.fromAnimationSequence(context.driverContainer().getJointSkeleton(), ceilingEntry.getValue().animationSequence(), time, true);
+        // Only sample one pose if the blend position is effectively on an entry.
+        if (relativeTime < PoseBlender.WEIGHT_EPSILON)
+            return LocalSpacePose.fromAnimationSequence(context.driverContainer().getJointSkeleton(), floorEntry.getValue().animationSequence(), time, true, context.requiredJoints());
+        if (relativeTime > 1 - PoseBlender.WEIGHT_EPSILON)
+            return LocalSpacePose.fromAnimationSequence(context.driverContainer().getJointSkeleton(), ceilingEntry.getValue().animationSequence(), time, true, context.requiredJoints());
 
-        return floorPose.interpolated(ceilingPose, relativeTime);
+        LocalSpacePose floorPose = LocalSpacePose.fromAnimationSequence(context.driverContainer().getJointSkeleton(), floorEntry.getValue().animationSequence(), time, true, context.requiredJoints());
+        LocalSpacePose ceilingPose = LocalSpacePose.fromAnimationSequence(context.driverContainer().getJointSkeleton(), ceilingEntry.getValue().animationSequence(), time, true, context.requiredJoints());
+
+        return floorPose.interpolated(ceilingPose, relativeTime, null, context.requiredJoints(), floorPose);
     }
 
     @Override
@@ -92,9 +99,9 @@ public class BlendedSequencePlayerFunction extends TimeBasedPoseFunction<LocalSp
     }
 
     @Override
-    public Optional<AnimationPlayer> testForMostRelevantAnimationPlayer() {
+    public @Nullable AnimationPlayer findMostRelevantAnimationPlayer() {
         // TODO: Revisit making blend spaces considered to be an animation player.
-        return Optional.empty();
+        return null;
     }
 
     public static Builder<?> builder(Function<FunctionEvaluationState, Float> blendValueFunction) {
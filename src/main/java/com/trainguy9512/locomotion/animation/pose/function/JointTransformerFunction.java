@@ -6,10 +6,10 @@ import com.trainguy9512.locomotion.animation.pose.Pose;
 import com.trainguy9512.locomotion.animation.pose.ComponentSpacePose;
 import com.trainguy9512.locomotion.animation.pose.LocalSpacePose;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.joml.Quaternionf;
 import org.joml.Vector3f;
 
-import java.util.Optional;
 import java.util.function.Function;
 
 public class JointTransformerFunction<P extends Pose> implements PoseFunction<P> {
@@ -42,18 +42,20 @@ public class JointTransformerFunction<P extends Pose> implements PoseFunction<P>
 
         P pose = this.input.compute(context);
         float weight = this.weightFunction.apply(context);
+        // Only the transformed joint is touched, so there is nothing to do if it has no effect or isn't required.
+        if (weight == 0 || !context.requiredJoints().contains(this.joint)) {
+            return pose;
+        }
 
         JointChannel jointChannel = pose.getJointChannel(this.joint);
         this.transformJoint(jointChannel, context, this.translationConfiguration, JointChannel::translate);
         this.transformJoint(jointChannel, context, this.rotationConfiguration, JointChannel::rotate);
         this.transformJoint(jointChannel, context, this.scaleConfiguration, JointChannel::scale);
 
-        if(weight != 0){
-            if(weight == 1){
-                pose.setJointChannel(this.joint, jointChannel);
-            } else {
-                pose.setJointChannel(this.joint, pose.getJointChannel(this.joint).interpolate(jointChannel, weight));
-            }
+        if(weight == 1){
+            pose.setJointChannel(this.joint, jointChannel);
+        } else {
+            pose.setJointChannel(this.joint, pose.getJointChannel(this.joint).interpolate(jointChannel, weight));
         }
         return pose;
     }
@@ -73,8 +75,13 @@ public class JointTransformerFunction<P extends Pose> implements PoseFunction<P>
     }
 
     @Override
-    public Optional<AnimationPlayer> testForMostRelevantAnimationPlayer() {
-        return this.input.testForMostRelevantAnimationPlayer();
+    public boolean isStatic() {
+        return this.input.isStatic();
+    }
+
+    @Override
+    public @Nullable AnimationPlayer findMostRelevantAnimationPlayer() {
+        return this.input.findMostRelevantAnimationPlayer();
     }
 
     public static Builder<LocalSpacePose> localOrParentSpaceBuilder(PoseFunction<LocalSpacePose> poseFunction, String joint){
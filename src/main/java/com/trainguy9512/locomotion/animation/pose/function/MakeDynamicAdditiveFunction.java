@@ -1,15 +1,18 @@
 package com.trainguy9512.locomotion.animation.pose.function;
 
-import com.trainguy9512.locomotion.animation.joint.JointChannel;
 import com.trainguy9512.locomotion.animation.pose.LocalSpacePose;
+import com.trainguy9512.locomotion.animation.pose.PoseDelta;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Optional;
 
 /**
  * Pose function that creates an additive animation pose by subtracting a base pose from the desired additive pose.
+ *
+ * <p>Joints that are the same in both poses are left out of the resulting {@link PoseDelta}, so applying the additive
+ * pose only touches the joints it moves.</p>
  */
-public class MakeDynamicAdditiveFunction implements PoseFunction<LocalSpacePose> {
+public class MakeDynamicAdditiveFunction implements PoseDeltaFunction {
 
     private final PoseFunction<LocalSpacePose> additivePoseInput;
     private final PoseFunction<LocalSpacePose> basePoseInput;
@@ -25,13 +28,14 @@ public class MakeDynamicAdditiveFunction implements PoseFunction<LocalSpacePose>
 
     @Override
     public @NotNull LocalSpacePose compute(FunctionInterpolationContext context) {
+        return this.computeDelta(context).toPose();
+    }
+
+    @Override
+    public @NotNull PoseDelta computeDelta(FunctionInterpolationContext context) {
         LocalSpacePose additivePose = this.additivePoseInput.compute(context);
         LocalSpacePose additivePoseReference = this.basePoseInput.compute(context);
-
-        additivePoseReference.invert();
-        additivePose.multiply(additivePoseReference, JointChannel.TransformSpace.COMPONENT);
-
-        return additivePose;
+        return PoseDelta.ofDifference(additivePose, additivePoseReference, context.requiredJoints());
     }
 
     @Override
@@ -46,12 +50,17 @@ public class MakeDynamicAdditiveFunction implements PoseFunction<LocalSpacePose>
     }
 
     @Override
-    public Optional<AnimationPlayer> testForMostRelevantAnimationPlayer() {
+    public boolean isStatic() {
+        return this.additivePoseInput.isStatic() && this.basePoseInput.isStatic();
+    }
+
+    @Override
+    public @Nullable AnimationPlayer findMostRelevantAnimationPlayer() {
         // Test the additive pose input first. If it does not have a relevant animation player, then test the base pose input.
-        Optional<AnimationPlayer> test = this.additivePoseInput.testForMostRelevantAnimationPlayer();
-        if (test.isPresent()) {
+        AnimationPlayer test = this.additivePoseInput.findMostRelevantAnimationPlayer();
+        if (test != null) {
             return test;
         }
-        return this.basePoseInput.testForMostRelevantAnimationPlayer();
+        return this.basePoseInput.findMostRelevantAnimationPlayer();
     }
 }
@@ -1,9 +1,10 @@
 package com.trainguy9512.locomotion.animation.pose.function;
 
+import com.trainguy9512.locomotion.animation.joint.skeleton.JointMask;
 import com.trainguy9512.locomotion.animation.pose.LocalSpacePose;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Optional;
 import java.util.function.Function;
 
 /**
@@ -30,7 +31,9 @@ public class MirrorFunction implements PoseFunction<LocalSpacePose> {
     @Override
     public @NotNull LocalSpacePose compute(FunctionInterpolationContext context) {
         if (this.enabledFunction.apply(context)) {
-            return input.compute(context).mirrored();
+            // The mirrored pose's joints are taken from their mirror joints in the input pose.
+            JointMask requiredJoints = context.requiredJoints();
+            return this.input.compute(context.withRequiredJoints(requiredJoints.mirrored())).mirror(requiredJoints);
         } else {
             return input.compute(context);
         }
@@ -47,7 +50,12 @@ public class MirrorFunction implements PoseFunction<LocalSpacePose> {
     }
 
     @Override
-    public Optional<AnimationPlayer> testForMostRelevantAnimationPlayer() {
-        return this.input.testForMostRelevantAnimationPlayer();
+    public boolean isStatic() {
+        return this.input.isStatic();
+    }
+
+    @Override
+    public @Nullable AnimationPlayer findMostRelevantAnimationPlayer() {
+        return this.input.findMostRelevantAnimationPlayer();
     }
 }
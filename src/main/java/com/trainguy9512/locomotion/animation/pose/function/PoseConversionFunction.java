@@ -4,8 +4,8 @@ import com.trainguy9512.locomotion.animation.pose.ComponentSpacePose;
 import com.trainguy9512.locomotion.animation.pose.LocalSpacePose;
 import com.trainguy9512.locomotion.animation.pose.Pose;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Optional;
 import java.util.function.Function;
 
 /**
@@ -18,7 +18,8 @@ import java.util.function.Function;
 public record PoseConversionFunction<I extends Pose, O extends Pose>(PoseFunction<I> input, Function<I, O> converter) implements PoseFunction<O> {
     @Override
     public @NotNull O compute(FunctionInterpolationContext context) {
-        return this.converter.apply(this.input.compute(context));
+        // Converting between spaces requires every ancestor of the required joints.
+        return this.converter.apply(this.input.compute(context.withRequiredJoints(context.requiredJoints().withAncestors())));
     }
 
     @Override
@@ -32,8 +33,13 @@ public record PoseConversionFunction<I extends Pose, O extends Pose>(PoseFunctio
     }
 
     @Override
-    public Optional<AnimationPlayer> testForMostRelevantAnimationPlayer() {
-        return this.input.testForMostRelevantAnimationPlayer();
+    public boolean isStatic() {
+        return this.input.isStatic();
+    }
+
+    @Override
+    public @Nullable AnimationPlayer findMostRelevantAnimationPlayer() {
+        return this.input.findMostRelevantAnimationPlayer();
     }
 
     /**
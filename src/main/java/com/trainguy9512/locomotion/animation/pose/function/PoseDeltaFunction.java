@@ -0,0 +1,19 @@
+package com.trainguy9512.locomotion.animation.pose.function;
+
+import com.trainguy9512.locomotion.animation.pose.LocalSpacePose;
+import com.trainguy9512.locomotion.animation.pose.PoseDelta;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Pose function that outputs an additive pose, and can output it as a sparse {@link PoseDelta} containing only the
+ * joints it moves.
+ */
+public interface PoseDeltaFunction extends PoseFunction<LocalSpacePose> {
+
+    /**
+     * Computes the additive pose of this function as a pose delta.
+     * @param context           Interpolation context
+     * @see PoseFunction#compute(FunctionInterpolationContext)
+     */
+    @NotNull PoseDelta computeDelta(FunctionInterpolationContext context);
+}
@@ -2,10 +2,12 @@ package com.trainguy9512.locomotion.animation.pose.function;
 
 import com.trainguy9512.locomotion.animation.data.OnTickDriverContainer;
 import com.trainguy9512.locomotion.animation.data.PoseCalculationDataContainer;
+import com.trainguy9512.locomotion.animation.joint.skeleton.JointMask;
 import com.trainguy9512.locomotion.animation.pose.Pose;
 import com.trainguy9512.locomotion.animation.pose.function.montage.MontageManager;
 import com.trainguy9512.locomotion.util.TimeSpan;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
 
@@ -41,9 +43,33 @@ public interface PoseFunction<P extends Pose> {
      * If this pose function is not an {@link AnimationPlayer}, or it is set to be ignored for relevancy tests,
      * then call this method for all inputs in order of most to least relevant.
      * If this pose function is the end of a chain and is not an animation player, then return null.
-     * @return                  Most relevant animation player, if it exists in this part of the chain.
+     * @return                  Most relevant animation player, or null if none exists in this part of the chain.
      */
-    Optional<AnimationPlayer> testForMostRelevantAnimationPlayer();
+    @Nullable AnimationPlayer findMostRelevantAnimationPlayer();
+
+    /**
+     * Recursive method that returns whether the output of this function, as of the most recent tick, can only change
+     * when a driver or montage changes.
+     * <p>
+     * Functions are static when nothing they compute from advances with time, such as sequence players that are paused,
+     * single-key sequences, or blends and state machines that have settled, and every one of their inputs is static.
+     * Values read from the interpolation context by functions, such as blend weights, are expected to come from drivers,
+     * which are tested separately by the data container.
+     * @implNote                Called once per tick, after the function has ticked. Functions that can't tell should
+     *                          return false, which is the default.
+     * @return                  Whether the output of this function can only change when a driver or montage changes.
+     */
+    default boolean isStatic() {
+        return false;
+    }
+
+    /**
+     * Returns the most relevant {@link AnimationPlayer} wrapped in an optional.
+     * @see PoseFunction#findMostRelevantAnimationPlayer()
+     */
+    default Optional<AnimationPlayer> testForMostRelevantAnimationPlayer() {
+        return Optional.ofNullable(this.findMostRelevantAnimationPlayer());
+    }
 
     record FunctionEvaluationState(OnTickDriverContainer driverContainer, MontageManager montageManager, boolean resetting, long currentTick) {
 
@@ -74,9 +100,41 @@ public interface PoseFunction<P extends Pose> {
         }
     }
 
-    record FunctionInterpolationContext(PoseCalculationDataContainer driverContainer, MontageManager montageManager, float partialTicks, TimeSpan gameTime) {
+    /**
+     * Context for computing a pose.
+     * @param driverContainer       Data container for getting interpolated driver values.
+     * @param montageManager        Montage manager for layering montages onto slots.
+     * @param partialTicks          Progress through the current tick, from 0 to 1.
+     * @param gameTimeTicks         Elapsed game time in ticks, including partial ticks.
+     * @param requiredJoints        Joints the computed pose is required to contain. Joints outside of this mask do not
+     *                              affect the final pose, and may be left with any transform.
+     */
+    record FunctionInterpolationContext(PoseCalculationDataContainer driverContainer, MontageManager montageManager, float partialTicks, float gameTimeTicks, JointMask requiredJoints) {
+        public static FunctionInterpolationContext of(PoseCalculationDataContainer dataContainer, MontageManager montageManager, float partialTicks, float gameTimeTicks){
+            return new FunctionInterpolationContext(dataContainer, montageManager, partialTicks, gameTimeTicks, dataContainer.getJointSkeleton().getFullJointMask());
+        }
+
         public static FunctionInterpolationContext of(PoseCalculationDataContainer dataContainer, MontageManager montageManager, float partialTicks, TimeSpan gameTime){
-            return new FunctionInterpolationContext(dataContainer, montageManager, partialTicks, gameTime);
+            return FunctionInterpolationContext.of(dataContainer, montageManager, partialTicks, gameTime.inTicks());
+        }
+
+        /**
+         * Returns a copy of this context with the provided required joints, for computing an input pose that only
+         * contributes some joints to the output.
+         * @param requiredJoints    Joints the input pose is required to contain.
+         */
+        public FunctionInterpolationContext withRequiredJoints(JointMask requiredJoints) {
+            if (requiredJoints == this.requiredJoints) {
+                return this;
+            }
+            return new FunctionInterpolationContext(this.driverContainer, this.montageManager, this.partialTicks, this.gameTimeTicks, requiredJoints);
+        }
+
+        /**
+         * Returns the elapsed game time. Prefer {@link FunctionInterpolationContext#gameTimeTicks()} on hot paths.
+         */
+        public TimeSpan gameTime() {
+            return TimeSpan.ofTicks(this.gameTimeTicks);
         }
     }
 }
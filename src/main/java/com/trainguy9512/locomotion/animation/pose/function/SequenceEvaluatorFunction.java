@@ -4,18 +4,20 @@ import com.trainguy9512.locomotion.animation.pose.LocalSpacePose;
 import com.trainguy9512.locomotion.util.TimeSpan;
 import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Optional;
 import java.util.function.Function;
 
 public class SequenceEvaluatorFunction implements PoseFunction<LocalSpacePose> {
 
     private final Function<FunctionInterpolationContext, ResourceLocation> animationSequenceFunction;
     private final Function<FunctionInterpolationContext, TimeSpan> sequenceTimeFunction;
+    private final boolean isStatic;
 
-    private SequenceEvaluatorFunction(Function<FunctionInterpolationContext, ResourceLocation> animationSequenceFunction, Function<FunctionInterpolationContext, TimeSpan> sequenceTimeFunction) {
+    private SequenceEvaluatorFunction(Function<FunctionInterpolationContext, ResourceLocation> animationSequenceFunction, Function<FunctionInterpolationContext, TimeSpan> sequenceTimeFunction, boolean isStatic) {
         this.animationSequenceFunction = animationSequenceFunction;
         this.sequenceTimeFunction = sequenceTimeFunction;
+        this.isStatic = isStatic;
     }
 
     public static Builder builder(Function<FunctionInterpolationContext, ResourceLocation> animationSequenceFunction) {
@@ -23,7 +25,9 @@ public class SequenceEvaluatorFunction implements PoseFunction<LocalSpacePose> {
     }
 
     public static Builder builder(ResourceLocation animationSequence) {
-        return builder(context -> animationSequence);
+        Builder builder = builder(context -> animationSequence);
+        builder.hasConstantSequence = true;
+        return builder;
     }
 
     @Override
@@ -32,8 +36,9 @@ public class SequenceEvaluatorFunction implements PoseFunction<LocalSpacePose> {
         return LocalSpacePose.fromAnimationSequence(
                 context.driverContainer().getJointSkeleton(),
                 this.animationSequenceFunction.apply(context),
-                time,
-                false
+                time.inTicks(),
+                false,
+                context.requiredJoints()
         );
     }
 
@@ -44,35 +49,59 @@ public class SequenceEvaluatorFunction implements PoseFunction<LocalSpacePose> {
 
     @Override
     public PoseFunction<LocalSpacePose> wrapUnique() {
-        return new SequenceEvaluatorFunction(this.animationSequenceFunction, this.sequenceTimeFunction);
+        return new SequenceEvaluatorFunction(this.animationSequenceFunction, this.sequenceTimeFunction, this.isStatic);
     }
 
     @Override
-    public Optional<AnimationPlayer> testForMostRelevantAnimationPlayer() {
-        return Optional.empty();
+    public boolean isStatic() {
+        return this.isStatic;
+    }
+
+    @Override
+    public @Nullable AnimationPlayer findMostRelevantAnimationPlayer() {
+        return null;
     }
 
     public static class Builder {
         private final Function<FunctionInterpolationContext, ResourceLocation> animationSequenceFunction;
         private Function<FunctionInterpolationContext, TimeSpan> sequenceTimeFunction;
+        private boolean hasConstantSequence;
+        private boolean hasConstantTime;
+        private boolean dependsOnlyOnDrivers;
 
         public Builder(Function<FunctionInterpolationContext, ResourceLocation> animationSequenceFunction) {
             this.animationSequenceFunction = animationSequenceFunction;
             this.sequenceTimeFunction = context -> TimeSpan.ZERO;
+            this.hasConstantSequence = false;
+            this.hasConstantTime = true;
+            this.dependsOnlyOnDrivers = false;
         }
 
         public Builder evaluatesPoseAt(Function<FunctionInterpolationContext, TimeSpan> sequenceTimeFunction) {
             this.sequenceTimeFunction = sequenceTimeFunction;
+            this.hasConstantTime = false;
             return this;
         }
 
         public Builder evaluatesPoseAt(TimeSpan sequenceTime) {
             this.sequenceTimeFunction = context -> sequenceTime;
+            this.hasConstantTime = true;
+            return this;
+        }
+
+        /**
+         * Marks the sequence and time functions as only reading driver values, and not the game time or partial ticks,
+         * so that the evaluated pose is treated as static while the drivers are unchanged. Evaluators with a constant
+         * sequence and time are always treated as static.
+         */
+        public Builder dependsOnlyOnDrivers() {
+            this.dependsOnlyOnDrivers = true;
             return this;
         }
 
         public SequenceEvaluatorFunction build() {
-            return new SequenceEvaluatorFunction(this.animationSequenceFunction, this.sequenceTimeFunction);
+            boolean isStatic = this.dependsOnlyOnDrivers || (this.hasConstantSequence && this.hasConstantTime);
+            return new SequenceEvaluatorFunction(this.animationSequenceFunction, this.sequenceTimeFunction, isStatic);
         }
     }
 }
@@ -7,12 +7,10 @@ import com.trainguy9512.locomotion.animation.pose.LocalSpacePose;
 import com.trainguy9512.locomotion.util.TimeSpan;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
-import net.minecraft.util.Tuple;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -52,8 +50,9 @@ public class SequencePlayerFunction extends TimeBasedPoseFunction<LocalSpacePose
         LocalSpacePose pose = LocalSpacePose.fromAnimationSequence(
                 context.driverContainer().getJointSkeleton(),
                 this.animationSequence,
-                this.getInterpolatedTimeElapsed(context),
-                this.isLooping
+                this.getInterpolatedTicksElapsed(context),
+                this.isLooping,
+                context.requiredJoints()
         );
         AnimationSequenceData.AnimationSequence sequence = AnimationSequenceData.INSTANCE.getOrThrow(this.animationSequence);
         if (this.isAdditive) {
@@ -69,7 +68,7 @@ public class SequencePlayerFunction extends TimeBasedPoseFunction<LocalSpacePose
                 );
                 this.additiveSubtractionPose.invert();
             }
-            pose.multiply(this.additiveSubtractionPose, JointChannel.TransformSpace.COMPONENT);
+            pose.multiply(this.additiveSubtractionPose, JointChannel.TransformSpace.COMPONENT, context.requiredJoints());
         }
         return pose;
     }
@@ -77,10 +76,15 @@ public class SequencePlayerFunction extends TimeBasedPoseFunction<LocalSpacePose
     @Override
     public void tick(FunctionEvaluationState evaluationState) {
         super.tick(evaluationState);
-        Set<String> timeMarkersToFire = AnimationSequenceData.INSTANCE.getOrThrow(this.animationSequence).getMarkersInRange(TimeSpan.ofTicks(this.ticksElapsed.getCurrentValue()), TimeSpan.ofTicks(this.ticksElapsed.getCurrentValue() + this.playRate), this.isLooping);
-        for (String timeMarker : timeMarkersToFire) {
-            if (this.timeMarkerBindings.containsKey(timeMarker)) {
-                this.timeMarkerBindings.get(timeMarker).accept(evaluationState);
+        if (this.timeMarkerBindings.isEmpty()) {
+            return;
+        }
+        AnimationSequenceData.AnimationSequence sequence = AnimationSequenceData.INSTANCE.getOrThrow(this.animationSequence);
+        float startTicks = this.ticksElapsed.getCurrentValue();
+        float endTicks = startTicks + this.playRate;
+        for (Map.Entry<String, Consumer<FunctionEvaluationState>> binding : this.timeMarkerBindings.entrySet()) {
+            if (sequence.isMarkerInRange(binding.getKey(), startTicks, endTicks, this.isLooping)) {
+                binding.getValue().accept(evaluationState);
             }
         }
     }
@@ -101,8 +105,22 @@ public class SequencePlayerFunction extends TimeBasedPoseFunction<LocalSpacePose
     }
 
     @Override
-    public Optional<AnimationPlayer> testForMostRelevantAnimationPlayer() {
-        return this.ignoredByRelevancyTest ? Optional.empty() : Optional.of(this);
+    public boolean isStatic() {
+        if (super.isStatic()) {
+            return true;
+        }
+        AnimationSequenceData.AnimationSequence sequence = AnimationSequenceData.INSTANCE.getOrThrow(this.animationSequence);
+        if (sequence.isStatic()) {
+            return true;
+        }
+        // Sequences that don't loop hold their last pose once they've finished.
+        float lengthInTicks = sequence.length().inTicks();
+        return !this.isLooping && this.ticksElapsed.getPreviousValue() >= lengthInTicks && this.ticksElapsed.getCurrentValue() >= lengthInTicks;
+    }
+
+    @Override
+    public @Nullable AnimationPlayer findMostRelevantAnimationPlayer() {
+        return this.ignoredByRelevancyTest ? null : this;
     }
 
     public static Builder<?> builder(ResourceLocation animationSequence) {
@@ -110,23 +128,27 @@ public class SequencePlayerFunction extends TimeBasedPoseFunction<LocalSpacePose
     }
 
     @Override
-    public Tuple<TimeSpan, TimeSpan> getRemainingTime() {
-        float lengthInTicks = AnimationSequenceData.INSTANCE.getOrThrow(animationSequence).length().inTicks();
-        float remainingTimePreviously;
-        float remainingTimeCurrently;
+    public float getRemainingTicksPreviously() {
+        return this.getRemainingTicksAt(this.ticksElapsed.getCurrentValue() - this.playRate);
+    }
+
+    @Override
+    public float getRemainingTicksCurrently() {
+        return this.getRemainingTicksAt(this.ticksElapsed.getCurrentValue());
+    }
+
+    private float getRemainingTicksAt(float ticksElapsed) {
+        float lengthInTicks = this.getAnimationLengthInTicks();
         if (this.isLooping) {
-            remainingTimePreviously = lengthInTicks - ((this.ticksElapsed.getCurrentValue() - this.playRate) % lengthInTicks);
-            remainingTimeCurrently = lengthInTicks - (this.ticksElapsed.getCurrentValue() % lengthInTicks);
+            return lengthInTicks - (ticksElapsed % lengthInTicks);
         } else {
-            remainingTimePreviously = lengthInTicks - (Mth.clamp(this.ticksElapsed.getCurrentValue() - this.playRate, 0, lengthInTicks));
-            remainingTimeCurrently = lengthInTicks - (Mth.clamp(this.ticksElapsed.getCurrentValue(), 0, lengthInTicks));
+            return lengthInTicks - Mth.clamp(ticksElapsed, 0, lengthInTicks);
         }
-        return new Tuple<>(TimeSpan.ofTicks(remainingTimePreviously), TimeSpan.ofTicks(remainingTimeCurrently));
     }
 
     @Override
-    public TimeSpan getAnimationLength() {
-        return AnimationSequenceData.INSTANCE.getOrThrow(this.animationSequence).length();
+    public float getAnimationLengthInTicks() {
+        return AnimationSequenceData.INSTANCE.getOrThrow(this.animationSequence).length().inTicks();
     }
 
     public static class Builder<B extends Builder<B>> extends TimeBasedPoseFunction.Builder<B>{
@@ -1,6 +1,6 @@
 package com.trainguy9512.locomotion.animation.pose.function;
 
-import com.trainguy9512.locomotion.animation.driver.VariableDriver;
+import com.trainguy9512.locomotion.animation.driver.FloatDriver;
 import com.trainguy9512.locomotion.animation.pose.Pose;
 import com.trainguy9512.locomotion.util.TimeSpan;
 
@@ -12,7 +12,7 @@ public abstract class TimeBasedPoseFunction<P extends Pose> implements PoseFunct
     protected final Function<FunctionEvaluationState, Float> playRateFunction;
     protected final TimeSpan resetStartTimeOffset;
 
-    protected final VariableDriver<Float> ticksElapsed;
+    protected final FloatDriver ticksElapsed;
     protected float playRate;
     protected boolean isPlaying;
 
@@ -21,7 +21,7 @@ public abstract class TimeBasedPoseFunction<P extends Pose> implements PoseFunct
         this.playRateFunction = playRateFunction;
         this.resetStartTimeOffset = resetStartTimeOffset;
 
-        this.ticksElapsed = VariableDriver.ofFloat(this.resetStartTimeOffset::inTicks);
+        this.ticksElapsed = FloatDriver.of(this.resetStartTimeOffset.inTicks());
     }
 
     @Override
@@ -36,7 +36,7 @@ public abstract class TimeBasedPoseFunction<P extends Pose> implements PoseFunct
         this.ticksElapsed.pushCurrentToPrevious();
         evaluationState.ifMarkedForReset(this::resetTime);
         if (this.isPlaying) {
-            this.ticksElapsed.modifyValue(currentValue -> currentValue + this.playRate);
+            this.ticksElapsed.addToValue(this.playRate);
         }
     }
 
@@ -44,8 +44,23 @@ public abstract class TimeBasedPoseFunction<P extends Pose> implements PoseFunct
         this.ticksElapsed.hardReset();
     }
 
+    /**
+     * Returns whether the time elapsed stayed the same during the most recent tick, such as when paused.
+     */
+    @Override
+    public boolean isStatic() {
+        return !this.ticksElapsed.hasValueChanged();
+    }
+
+    /**
+     * Returns the interpolated time elapsed in ticks, without allocating.
+     */
+    protected float getInterpolatedTicksElapsed(FunctionInterpolationContext context){
+        return this.ticksElapsed.getFloat(context.partialTicks());
+    }
+
     protected TimeSpan getInterpolatedTimeElapsed(FunctionInterpolationContext context){
-        return TimeSpan.ofTicks(this.ticksElapsed.getValueInterpolated(context.partialTicks()));
+        return TimeSpan.ofTicks(this.getInterpolatedTicksElapsed(context));
     }
 
     public static class Builder<B> {
@@ -1,18 +1,21 @@
 package com.trainguy9512.locomotion.animation.pose.function.cache;
 
 import com.trainguy9512.locomotion.animation.pose.LocalSpacePose;
+import com.trainguy9512.locomotion.animation.pose.PoseDelta;
 import com.trainguy9512.locomotion.animation.pose.function.AnimationPlayer;
+import com.trainguy9512.locomotion.animation.pose.function.PoseDeltaFunction;
 import com.trainguy9512.locomotion.animation.pose.function.PoseFunction;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Optional;
 
-public class CachedPoseFunction implements PoseFunction<LocalSpacePose> {
+public class CachedPoseFunction implements PoseDeltaFunction {
 
     private PoseFunction<LocalSpacePose> input;
     private final boolean resetsUponRelevant;
 
     LocalSpacePose poseCache;
+    PoseDelta deltaCache;
     boolean hasTickedAlready;
     private long lastUpdateTick;
 
@@ -20,6 +23,7 @@ public class CachedPoseFunction implements PoseFunction<LocalSpacePose> {
         this.input = input;
         this.resetsUponRelevant = resetsUponRelevant;
         this.poseCache = null;
+        this.deltaCache = null;
         this.hasTickedAlready = false;
     }
 
@@ -30,11 +34,27 @@ public class CachedPoseFunction implements PoseFunction<LocalSpacePose> {
     @Override
     public @NotNull LocalSpacePose compute(FunctionInterpolationContext context) {
         if (this.poseCache == null) {
-            this.poseCache = this.input.compute(context);
+            if (this.input instanceof PoseDeltaFunction) {
+                this.poseCache = this.computeDelta(context).toPose();
+            } else {
+                // Cached poses are shared between functions that may require different joints, so every joint is computed.
+                this.poseCache = this.input.compute(context.withRequiredJoints(context.driverContainer().getJointSkeleton().getFullJointMask()));
+            }
         }
         return LocalSpacePose.of(this.poseCache);
     }
 
+    @Override
+    public @NotNull PoseDelta computeDelta(FunctionInterpolationContext context) {
+        if (this.deltaCache == null) {
+            FunctionInterpolationContext fullContext = context.withRequiredJoints(context.driverContainer().getJointSkeleton().getFullJointMask());
+            this.deltaCache = this.input instanceof PoseDeltaFunction deltaFunction
+                    ? deltaFunction.computeDelta(fullContext)
+                    : PoseDelta.ofAdditivePose(this.compute(context), fullContext.requiredJoints());
+        }
+        return this.deltaCache;
+    }
+
     @Override
     public void tick(FunctionEvaluationState evaluationState) {
         if (!this.hasTickedAlready) {
@@ -55,12 +75,18 @@ public class CachedPoseFunction implements PoseFunction<LocalSpacePose> {
     }
 
     @Override
-    public Optional<AnimationPlayer> testForMostRelevantAnimationPlayer() {
-        return Optional.empty();
+    public boolean isStatic() {
+        return this.input.isStatic();
+    }
+
+    @Override
+    public @Nullable AnimationPlayer findMostRelevantAnimationPlayer() {
+        return null;
     }
 
     public void clearCache() {
         this.poseCache = null;
+        this.deltaCache = null;
         this.hasTickedAlready = false;
     }
 }
@@ -32,6 +32,8 @@ import java.util.function.Function;
  * @param isAdditive                        Whether the montage is additive. If additive, the montage will subtract the start frame from the
  *                                          animation and then add it to the start frame of the provided additive base pose resource location.
  * @param additiveBasePoseProvider          Base pose provider added back to the additive animation.
+ * @param montageId                         Interned id of the identifier, from {@link MontageIdentifiers}.
+ * @param slotIds                           Interned ids of each slot, from {@link MontageIdentifiers}.
  */
 public record MontageConfiguration(
         String identifier,
@@ -46,8 +48,9 @@ public record MontageConfiguration(
         float transitionOutCrossfadeWeight,
         TimeSpan cooldownDuration,
         boolean isAdditive,
-        Function<OnTickDriverContainer, ResourceLocation> additiveBasePoseProvider
-
+        Function<OnTickDriverContainer, ResourceLocation> additiveBasePoseProvider,
+        int montageId,
+        int[] slotIds
 ) {
 
     public static Builder builder(String identifier, ResourceLocation animationSequence) {
@@ -209,6 +212,7 @@ public record MontageConfiguration(
         }
 
         public MontageConfiguration build() {
+            int[] slotIds = this.slots.stream().distinct().mapToInt(MontageIdentifiers::internSlot).toArray();
             return new MontageConfiguration(
                     this.identifier,
                     this.slots,
@@ -222,7 +226,9 @@ public record MontageConfiguration(
                     this.transitionOutCrossfadeWeight,
                     this.cooldownDuration,
                     this.isAdditive,
-                    this.additiveBasePoseProvider
+                    this.additiveBasePoseProvider,
+                    MontageIdentifiers.internMontage(this.identifier),
+                    slotIds
             );
         }
     }
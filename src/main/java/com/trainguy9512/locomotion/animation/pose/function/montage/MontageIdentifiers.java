@@ -0,0 +1,52 @@
+package com.trainguy9512.locomotion.animation.pose.function.montage;
+
+import com.google.common.collect.Maps;
+
+import java.util.Map;
+
+/**
+ * Interns montage and slot string identifiers to small integer ids.
+ *
+ * <p>Identifiers are interned when montage configurations and slot functions are created, so that montage queries
+ * made every tick can index arrays by id rather than scanning lists and comparing strings.</p>
+ */
+public final class MontageIdentifiers {
+
+    private static final Map<String, Integer> SLOT_IDS = Maps.newHashMap();
+    private static final Map<String, Integer> MONTAGE_IDS = Maps.newHashMap();
+
+    private MontageIdentifiers() {
+    }
+
+    /**
+     * Returns the id for the provided slot identifier, assigning a new id if it hasn't been interned yet.
+     * @param slot                  Slot identifier
+     */
+    public static synchronized int internSlot(String slot) {
+        return SLOT_IDS.computeIfAbsent(slot, identifier -> SLOT_IDS.size());
+    }
+
+    /**
+     * Returns the id for the provided montage configuration identifier, assigning a new id if it hasn't been interned yet.
+     * @param montage               Montage configuration identifier
+     */
+    public static synchronized int internMontage(String montage) {
+        return MONTAGE_IDS.computeIfAbsent(montage, identifier -> MONTAGE_IDS.size());
+    }
+
+    /**
+     * Returns the id for the provided slot identifier, or -1 if no montage or slot function uses it.
+     * @param slot                  Slot identifier
+     */
+    public static synchronized int findSlot(String slot) {
+        return SLOT_IDS.getOrDefault(slot, -1);
+    }
+
+    /**
+     * Returns the id for the provided montage configuration identifier, or -1 if no montage configuration uses it.
+     * @param montage               Montage configuration identifier
+     */
+    public static synchronized int findMontage(String montage) {
+        return MONTAGE_IDS.getOrDefault(montage, -1);
+    }
+}
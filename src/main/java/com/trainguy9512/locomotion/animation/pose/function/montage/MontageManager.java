@@ -2,35 +2,82 @@ package com.trainguy9512.locomotion.animation.pose.function.montage;
 
 import com.trainguy9512.locomotion.animation.data.AnimationSequenceData;
 import com.trainguy9512.locomotion.animation.data.OnTickDriverContainer;
-import com.trainguy9512.locomotion.animation.driver.VariableDriver;
+import com.trainguy9512.locomotion.animation.driver.FloatDriver;
 import com.trainguy9512.locomotion.animation.joint.JointChannel;
+import com.trainguy9512.locomotion.animation.joint.skeleton.JointMask;
 import com.trainguy9512.locomotion.animation.joint.skeleton.JointSkeleton;
 import com.trainguy9512.locomotion.animation.pose.LocalSpacePose;
 import com.trainguy9512.locomotion.util.TimeSpan;
 import com.trainguy9512.locomotion.util.Transition;
 import net.minecraft.resources.ResourceLocation;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 
+/**
+ * Plays and layers montages for a single data container.
+ *
+ * <p>Montage and slot identifiers are interned to integer ids by {@link MontageIdentifiers}, and the manager keeps
+ * a list of active montages per slot along with a count of active montages per montage configuration, so that the
+ * queries made by transition conditions every tick don't need to scan every playing montage.
+ * Finished montage instances are returned to a pool and reused by the next montage played.</p>
+ */
 public class MontageManager {
 
+    /**
+     * Default maximum number of montages evaluated at once within a single slot.
+     */
+    public static final int DEFAULT_MAXIMUM_MONTAGES_PER_SLOT = 4;
+
+    /**
+     * Montages whose combined contribution to a slot's pose is below this value are not evaluated in that slot.
+     */
+    private static final float MONTAGE_CONTRIBUTION_EPSILON = 0.001f;
+
+    // Every active montage, in the order they were played.
     private final List<MontageInstance> montageStack;
+    // Active montages per slot id, in the order they were played.
+    private List<MontageInstance>[] slotStacks;
+    // Number of active montages per montage id.
+    private int[] activeMontageCounts;
+    private final ArrayDeque<MontageInstance> instancePool;
+
+    // Reused when blending interrupted montages, to hold the slot pose from before the montage was layered on.
+    private LocalSpacePose interruptedSourcePose;
 
+    @SuppressWarnings("unchecked")
     public MontageManager() {
         this.montageStack = new ArrayList<>();
+        this.slotStacks = new List[0];
+        this.activeMontageCounts = new int[0];
+        this.instancePool = new ArrayDeque<>();
+        this.interruptedSourcePose = null;
     }
 
     public void tick() {
-        this.montageStack.forEach(MontageInstance::tick);
-        this.montageStack.removeIf(montageInstance -> montageInstance.ticksElapsed.getPreviousValue() > montageInstance.tickLength + (1 - montageInstance.configuration.transitionOutCrossfadeWeight()) * montageInstance.configuration.transitionOut().duration().inTicks());
-        this.montageStack.removeIf(montageInstance -> {
-            if (montageInstance.hasBeenInterrupted) {
-                return montageInstance.ticksElapsed.getPreviousValue() - montageInstance.interruptTick > montageInstance.interruptTransition.duration().inTicks();
+        // Tick and remove finished montages in a single pass, compacting the stack in place.
+        int keptMontages = 0;
+        for (int i = 0; i < this.montageStack.size(); i++) {
+            MontageInstance montageInstance = this.montageStack.get(i);
+            montageInstance.tick();
+            if (montageInstance.isFinished()) {
+                this.release(montageInstance);
+            } else {
+                this.montageStack.set(keptMontages++, montageInstance);
             }
-            return false;
-        });
+        }
+        while (this.montageStack.size() > keptMontages) {
+            this.montageStack.removeLast();
+        }
+    }
+
+    /**
+     * Returns whether any montage is currently playing, in any slot.
+     */
+    public boolean hasActiveMontages() {
+        return !this.montageStack.isEmpty();
     }
 
     public static MontageManager of() {
@@ -43,14 +90,59 @@ public class MontageManager {
      * @param driverContainer       Driver container to use for getting the play rate.
      */
     public void playMontage(MontageConfiguration configuration, OnTickDriverContainer driverContainer) {
-        for (MontageInstance instance : this.montageStack) {
-            if (Objects.equals(instance.configuration.identifier(), configuration.identifier())) {
-                if (instance.ticksElapsed.getCurrentValue() < configuration.cooldownDuration().inTicks()) {
-                    return;
+        int montageId = configuration.montageId();
+        if (this.getActiveMontageCount(montageId) > 0) {
+            for (MontageInstance instance : this.montageStack) {
+                if (instance.configuration.montageId() == montageId) {
+                    if (instance.ticksElapsed.getCurrentValue() < configuration.cooldownDuration().inTicks()) {
+                        return;
+                    }
                 }
             }
         }
-        this.montageStack.addLast(MontageInstance.of(configuration, driverContainer));
+
+        MontageInstance montageInstance = this.instancePool.isEmpty() ? new MontageInstance() : this.instancePool.pop();
+        montageInstance.initialize(configuration, driverContainer);
+        this.montageStack.addLast(montageInstance);
+        if (montageId >= this.activeMontageCounts.length) {
+            this.activeMontageCounts = Arrays.copyOf(this.activeMontageCounts, montageId + 1);
+        }
+        this.activeMontageCounts[montageId]++;
+        for (int slotId : configuration.slotIds()) {
+            this.getOrCreateSlotStack(slotId).addLast(montageInstance);
+        }
+    }
+
+    /**
+     * Removes a montage instance from every slot it's still active in, and returns it to the pool.
+     */
+    private void release(MontageInstance montageInstance) {
+        for (int slotId : montageInstance.configuration.slotIds()) {
+            this.getOrCreateSlotStack(slotId).remove(montageInstance);
+        }
+        this.activeMontageCounts[montageInstance.configuration.montageId()]--;
+        montageInstance.clear();
+        this.instancePool.push(montageInstance);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<MontageInstance> getOrCreateSlotStack(int slotId) {
+        if (slotId >= this.slotStacks.length) {
+            int previousLength = this.slotStacks.length;
+            this.slotStacks = Arrays.copyOf(this.slotStacks, slotId + 1);
+            for (int i = previousLength; i < this.slotStacks.length; i++) {
+                this.slotStacks[i] = new ArrayList<>();
+            }
+        }
+        return this.slotStacks[slotId];
+    }
+
+    private List<MontageInstance> getSlotStack(int slotId) {
+        return slotId >= 0 && slotId < this.slotStacks.length ? this.slotStacks[slotId] : List.of();
+    }
+
+    private int getActiveMontageCount(int montageId) {
+        return montageId >= 0 && montageId < this.activeMontageCounts.length ? this.activeMontageCounts[montageId] : 0;
     }
 
     /**
@@ -58,10 +150,17 @@ public class MontageManager {
      * @param slot                  Slot identifier
      */
     public void interruptMontagesInSlot(String slot, Transition transition) {
-        for (MontageInstance montageInstance : this.montageStack) {
-            if (montageInstance.configuration.slots().contains(slot)) {
-                montageInstance.interrupt(transition);
-            }
+        this.interruptMontagesInSlot(MontageIdentifiers.findSlot(slot), transition);
+    }
+
+    /**
+     * Immediately stops and removes any montages currently playing within the provided slot.
+     * @param slotId                Slot id from {@link MontageIdentifiers#internSlot(String)}
+     */
+    public void interruptMontagesInSlot(int slotId, Transition transition) {
+        List<MontageInstance> slotStack = this.getSlotStack(slotId);
+        for (int i = 0; i < slotStack.size(); i++) {
+            slotStack.get(i).interrupt(transition);
         }
     }
 
@@ -70,12 +169,15 @@ public class MontageManager {
      * @param identifier            Montage configuration identifier
      */
     public boolean isMontagePlaying(String identifier) {
-        for (MontageInstance montageInstance : this.montageStack) {
-            if (montageInstance.configuration.identifier().equals(identifier)) {
-                return true;
-            }
-        }
-        return false;
+        return this.isMontagePlaying(MontageIdentifiers.findMontage(identifier));
+    }
+
+    /**
+     * Returns whether a montage of the provided id is playing or not.
+     * @param montageId             Montage id from {@link MontageConfiguration#montageId()}
+     */
+    public boolean isMontagePlaying(int montageId) {
+        return this.getActiveMontageCount(montageId) > 0;
     }
 
     /**
@@ -83,48 +185,115 @@ public class MontageManager {
      * @param slot                  Slot identifier
      */
     public boolean isAnythingPlayingInSlot(String slot) {
-        for (MontageInstance montageInstance : this.montageStack) {
-            if (montageInstance.configuration.slots().contains(slot)) {
-                return true;
-            }
-        }
-        return false;
+        return this.isAnythingPlayingInSlot(MontageIdentifiers.findSlot(slot));
+    }
+
+    /**
+     * Returns whether any montage is playing in the provided slot
+     * @param slotId                Slot id from {@link MontageIdentifiers#internSlot(String)}
+     */
+    public boolean isAnythingPlayingInSlot(int slotId) {
+        return !this.getSlotStack(slotId).isEmpty();
     }
 
     public LocalSpacePose getLayeredSlotPose(LocalSpacePose basePose, String slot, JointSkeleton jointSkeleton, float partialTicks) {
-        LocalSpacePose slotPose = LocalSpacePose.of(basePose);
-        LocalSpacePose previousPose = LocalSpacePose.of(basePose);
-        for (MontageInstance montageInstance : this.montageStack) {
-            if (montageInstance.configuration.slots().contains(slot)) {
+        return this.getLayeredSlotPose(basePose, MontageIdentifiers.findSlot(slot), jointSkeleton, partialTicks, DEFAULT_MAXIMUM_MONTAGES_PER_SLOT, jointSkeleton.getFullJointMask());
+    }
 
-                float weight = montageInstance.getWeight(partialTicks);
-                Transition transition = montageInstance.isInEntranceTransition(partialTicks) ? montageInstance.configuration.transitionIn() : montageInstance.configuration.transitionOut().withInverseEasing();
+    /**
+     * Layers every montage playing in the provided slot on top of the provided base pose, in place.
+     *
+     * <p>Montages covered by the montages above them, contributing less than an epsilon to the slot pose, are not evaluated.
+     * If more than the maximum number of montages would be evaluated, the lowest montages are collapsed into a frozen
+     * snapshot of the slot pose, which fades out alongside the top-most collapsed montage.</p>
+     *
+     * @param basePose              Pose to layer the montages on top of, which is modified and returned.
+     * @param slotId                Slot id from {@link MontageIdentifiers#internSlot(String)}
+     * @param jointSkeleton         Joint skeleton used to sample montage poses.
+     * @param partialTicks          Progress through the current tick, from 0 to 1.
+     * @param maximumMontages       Maximum number of montages evaluated at once in this slot, at least 2.
+     * @param requiredJoints        Joints required in the slot pose. Montages only sample the required joints their blend mask lets through.
+     */
+    public LocalSpacePose getLayeredSlotPose(LocalSpacePose basePose, int slotId, JointSkeleton jointSkeleton, float partialTicks, int maximumMontages, JointMask requiredJoints) {
+        List<MontageInstance> slotMontages = this.getSlotStack(slotId);
+        if (slotMontages.isEmpty()) {
+            return basePose;
+        }
+
+        // Iterate top to bottom, finding the lowest montage that still contributes to the slot pose.
+        int firstEvaluatedMontage = 0;
+        float remainingWeight = 1;
+        for (int i = slotMontages.size() - 1; i >= 0; i--) {
+            remainingWeight *= 1 - slotMontages.get(i).getEffectiveWeight(partialTicks);
+            if (Math.abs(remainingWeight) < MONTAGE_CONTRIBUTION_EPSILON) {
+                firstEvaluatedMontage = i;
+                break;
+            }
+        }
+        // If there are too many montages to evaluate, the lowest are collapsed up to and including this index.
+        // The top-most montage is never collapsed, so that a newly played montage is always evaluated.
+        int evaluatedMontageCount = slotMontages.size() - firstEvaluatedMontage;
+        int lastCollapsedMontage = evaluatedMontageCount > Math.max(maximumMontages, 2) ? slotMontages.size() - Math.max(maximumMontages, 2) : -1;
+
+        LocalSpacePose slotPose = basePose;
+        for (int i = firstEvaluatedMontage; i < slotMontages.size(); i++) {
+            MontageInstance montageInstance = slotMontages.get(i);
+            if (montageInstance.isFrozenInSlot(slotId)) {
+                slotPose.interpolated(
+                        montageInstance.frozenPose,
+                        montageInstance.getFrozenPoseWeight(partialTicks),
+                        montageInstance.configuration.blendMask(),
+                        requiredJoints,
+                        slotPose
+                );
+            } else {
+                // Interrupted montages blend back to the slot pose from before they were layered on.
+                if (montageInstance.hasBeenInterrupted) {
+                    if (this.interruptedSourcePose == null || this.interruptedSourcePose.getJointSkeleton() != slotPose.getJointSkeleton()) {
+                        this.interruptedSourcePose = LocalSpacePose.of(slotPose.getJointSkeleton());
+                    }
+                    this.interruptedSourcePose.setJointChannels(slotPose);
+                }
                 slotPose.interpolatedByTransition(
-                        montageInstance.getPose(jointSkeleton, partialTicks),
-                        weight,
-                        transition,
-                        montageInstance.configuration.blendMask()
+                        montageInstance.getPose(jointSkeleton, partialTicks, requiredJoints.maskedBy(montageInstance.configuration.blendMask())),
+                        montageInstance.getWeight(partialTicks),
+                        montageInstance.getTransition(partialTicks),
+                        montageInstance.configuration.blendMask(),
+                        requiredJoints,
+                        slotPose
                 );
                 if (montageInstance.hasBeenInterrupted) {
                     slotPose.interpolatedByTransition(
-                            previousPose,
+                            this.interruptedSourcePose,
                             montageInstance.getInterruptWeight(partialTicks),
                             montageInstance.interruptTransition,
-                            null
+                            null,
+                            requiredJoints,
+                            slotPose
                     );
                 }
-                previousPose = LocalSpacePose.of(slotPose);
-//                slotPose = slotPose.interpolated(montageInstance.getPose(jointSkeleton, partialTicks), montageInstance.getWeight(partialTicks), null, null);
+            }
+
+            if (i == lastCollapsedMontage) {
+                montageInstance.freezeInSlot(slotId, LocalSpacePose.copyOf(slotPose), montageInstance.getEffectiveWeight(partialTicks));
             }
         }
+
+        // Remove the montages collapsed into the snapshot from the slot. Montages no longer active in any slot are released on the next tick.
+        for (int i = lastCollapsedMontage - 1; i >= firstEvaluatedMontage; i--) {
+            slotMontages.remove(i).activeSlotCount--;
+        }
         return slotPose;
     }
 
     public boolean areAnyMontagesInSlotFullyOverriding(String slot) {
-        for (MontageInstance montageInstance : this.montageStack) {
-            if (!montageInstance.configuration.slots().contains(slot)) {
-                break;
-            }
+        return this.areAnyMontagesInSlotFullyOverriding(MontageIdentifiers.findSlot(slot));
+    }
+
+    public boolean areAnyMontagesInSlotFullyOverriding(int slotId) {
+        List<MontageInstance> slotStack = this.getSlotStack(slotId);
+        for (int i = 0; i < slotStack.size(); i++) {
+            MontageInstance montageInstance = slotStack.get(i);
             if (montageInstance.getWeightIsFull(1) && montageInstance.getWeightIsFull(0)) {
                 return true;
             }
@@ -132,23 +301,39 @@ public class MontageManager {
         return false;
     }
 
+    /**
+     * Playing instance of a montage configuration. Instances are pooled by the montage manager, so every field is
+     * set by {@link MontageInstance#initialize} rather than the constructor.
+     */
     private static class MontageInstance {
-        private final VariableDriver<Float> ticksElapsed;
-        private final MontageConfiguration configuration;
+        private final FloatDriver ticksElapsed;
+        private MontageConfiguration configuration;
 
-        private final float playRate;
-        private final float tickLength;
+        private float playRate;
+        private float tickLength;
 
         private boolean hasBeenInterrupted;
         private float interruptTick;
         private Transition interruptTransition;
 
-        private final ResourceLocation additiveBasePoseLocation;
+        private ResourceLocation additiveBasePoseLocation;
         private LocalSpacePose additiveBasePose;
         private LocalSpacePose additiveSubtractionPose;
 
-        private MontageInstance(MontageConfiguration configuration, OnTickDriverContainer driverContainer) {
-            this.ticksElapsed = VariableDriver.ofFloat(() -> configuration.startTimeOffset().inTicks());
+        // Set when the montages beneath this one in a slot are collapsed into a snapshot, which this montage then carries.
+        private int frozenSlotId;
+        private LocalSpacePose frozenPose;
+        private float frozenWeight;
+        // Number of slots this montage is still active in, as it's removed from slots when collapsed into another montage's snapshot.
+        private int activeSlotCount;
+
+        private MontageInstance() {
+            this.ticksElapsed = FloatDriver.of(0f);
+        }
+
+        private void initialize(MontageConfiguration configuration, OnTickDriverContainer driverContainer) {
+            this.ticksElapsed.setValue(configuration.startTimeOffset().inTicks());
+            this.ticksElapsed.pushCurrentToPrevious();
             this.configuration = configuration;
 
             this.playRate = configuration.playRateFunction().apply(driverContainer);
@@ -165,15 +350,62 @@ public class MontageManager {
             }
             this.additiveBasePose = null;
             this.additiveSubtractionPose = null;
+
+            this.frozenSlotId = -1;
+            this.frozenPose = null;
+            this.frozenWeight = 0;
+            this.activeSlotCount = configuration.slotIds().length;
         }
 
-        private static MontageInstance of(MontageConfiguration configuration, OnTickDriverContainer driverContainer) {
-            return new MontageInstance(configuration, driverContainer);
+        /**
+         * Releases references held by this instance before it's returned to the pool.
+         */
+        private void clear() {
+            this.configuration = null;
+            this.interruptTransition = null;
+            this.additiveBasePoseLocation = null;
+            this.additiveBasePose = null;
+            this.additiveSubtractionPose = null;
+            this.frozenPose = null;
         }
 
         private void tick() {
             this.ticksElapsed.pushCurrentToPrevious();
-            this.ticksElapsed.modifyValue(currentValue -> currentValue + this.playRate);
+            this.ticksElapsed.addToValue(this.playRate);
+        }
+
+        /**
+         * Returns whether the montage has finished playing, has finished being interrupted, or has been collapsed in every slot it plays in.
+         */
+        private boolean isFinished() {
+            float previousTicksElapsed = this.ticksElapsed.getPreviousValue();
+            if (previousTicksElapsed > this.tickLength + (1 - this.configuration.transitionOutCrossfadeWeight()) * this.configuration.transitionOut().duration().inTicks()) {
+                return true;
+            }
+            if (this.hasBeenInterrupted && previousTicksElapsed - this.interruptTick > this.interruptTransition.duration().inTicks()) {
+                return true;
+            }
+            return this.activeSlotCount == 0 && this.configuration.slotIds().length > 0;
+        }
+
+        private boolean isFrozenInSlot(int slotId) {
+            return this.frozenPose != null && this.frozenSlotId == slotId;
+        }
+
+        private void freezeInSlot(int slotId, LocalSpacePose frozenPose, float frozenWeight) {
+            this.frozenSlotId = slotId;
+            this.frozenPose = frozenPose;
+            this.frozenWeight = frozenWeight;
+        }
+
+        /**
+         * Returns the weight of the frozen snapshot, which is fully applied until this montage's weight drops below its weight when frozen.
+         */
+        private float getFrozenPoseWeight(float partialTicks) {
+            if (this.frozenWeight < MONTAGE_CONTRIBUTION_EPSILON) {
+                return 1;
+            }
+            return Math.min(this.getEffectiveWeight(partialTicks) / this.frozenWeight, 1);
         }
 
         private void interrupt(Transition transition) {
@@ -185,7 +417,7 @@ public class MontageManager {
         }
 
         private boolean getWeightIsFull(float partialTicks) {
-            float interpolatedTimeElapsed = this.ticksElapsed.getValueInterpolated(partialTicks);
+            float interpolatedTimeElapsed = this.ticksElapsed.getFloat(partialTicks);
             if (interpolatedTimeElapsed > this.configuration.startTimeOffset().inTicks() + this.configuration.transitionIn().duration().inTicks()) {
                 if (interpolatedTimeElapsed < this.tickLength - (this.configuration.transitionOut().duration().inTicks() * this.configuration.transitionOutCrossfadeWeight())) {
                     return !this.hasBeenInterrupted;
@@ -194,12 +426,13 @@ public class MontageManager {
             return false;
         }
 
-        private LocalSpacePose getPose(JointSkeleton jointSkeleton, float partialTicks) {
+        private LocalSpacePose getPose(JointSkeleton jointSkeleton, float partialTicks, JointMask requiredJoints) {
             LocalSpacePose pose = LocalSpacePose.fromAnimationSequence(
                     jointSkeleton,
                     this.configuration.animationSequence(),
-                    TimeSpan.ofTicks(this.ticksElapsed.getValueInterpolated(partialTicks)),
-                    false
+                    this.ticksElapsed.getFloat(partialTicks),
+                    false,
+                    requiredJoints
             );
             if (this.configuration.isAdditive()) {
                 // If the additive base pose and the additive subtraction poses are null, initialize them (only initialized when needed.
@@ -221,20 +454,37 @@ public class MontageManager {
                     this.additiveSubtractionPose.invert();
                 }
 
-                pose.multiply(this.additiveSubtractionPose, JointChannel.TransformSpace.COMPONENT);
-                pose.multiply(this.additiveBasePose, JointChannel.TransformSpace.COMPONENT);
+                pose.multiply(this.additiveSubtractionPose, JointChannel.TransformSpace.COMPONENT, requiredJoints);
+                pose.multiply(this.additiveBasePose, JointChannel.TransformSpace.COMPONENT, requiredJoints);
             }
             return pose;
         }
 
+        private Transition getTransition(float partialTicks) {
+            return this.isInEntranceTransition(partialTicks) ? this.configuration.transitionIn() : this.configuration.transitionOut().withInverseEasing();
+        }
+
+        /**
+         * Returns the weight of this montage with easing and interruption applied, as it contributes to the slot pose.
+         */
+        private float getEffectiveWeight(float partialTicks) {
+            float weight = this.getWeight(partialTicks);
+            float effectiveWeight = weight == 0 ? 0 : this.getTransition(partialTicks).easement().ease(weight);
+            if (this.hasBeenInterrupted) {
+                float interruptWeight = this.getInterruptWeight(partialTicks);
+                effectiveWeight *= 1 - (interruptWeight == 0 ? 0 : this.interruptTransition.easement().ease(interruptWeight));
+            }
+            return effectiveWeight;
+        }
+
         private boolean isInEntranceTransition(float partialTicks) {
-            float elapsedTicksInterpolated = this.ticksElapsed.getValueInterpolated(partialTicks);
+            float elapsedTicksInterpolated = this.ticksElapsed.getFloat(partialTicks);
             float entranceTransitionEndTime = this.configuration.startTimeOffset().inTicks() + this.configuration.transitionIn().duration().inTicks();
             return elapsedTicksInterpolated < entranceTransitionEndTime;
         }
 
         private boolean isInExitTransition(float partialTicks) {
-            float elapsedTicksInterpolated = this.ticksElapsed.getValueInterpolated(partialTicks);
+            float elapsedTicksInterpolated = this.ticksElapsed.getFloat(partialTicks);
             float exitTransitionStartTime = this.tickLength - this.configuration.transitionOut().duration().inTicks() * this.configuration.transitionOutCrossfadeWeight();
             return elapsedTicksInterpolated > exitTransitionStartTime;
         }
@@ -243,7 +493,7 @@ public class MontageManager {
             if (this.getWeightIsFull(partialTicks)) {
                 return 1;
             }
-            float elapsedTicksInterpolated = this.ticksElapsed.getValueInterpolated(partialTicks);
+            float elapsedTicksInterpolated = this.ticksElapsed.getFloat(partialTicks);
 
             float entranceTransitionEndTime = this.configuration.startTimeOffset().inTicks() + this.configuration.transitionIn().duration().inTicks();
             float exitTransitionStartTime = this.tickLength - this.configuration.transitionOut().duration().inTicks() * this.configuration.transitionOutCrossfadeWeight();
@@ -265,7 +515,7 @@ public class MontageManager {
         }
 
         private float getInterruptWeight(float partialTicks) {
-            float elapsedTicksInterpolated = this.ticksElapsed.getValueInterpolated(partialTicks);
+            float elapsedTicksInterpolated = this.ticksElapsed.getFloat(partialTicks);
             return 1 - (1 - Math.min((elapsedTicksInterpolated - this.interruptTick) / this.interruptTransition.duration().inTicks(), 1));
         }
     }
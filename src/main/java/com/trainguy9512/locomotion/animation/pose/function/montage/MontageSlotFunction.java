@@ -4,34 +4,55 @@ import com.trainguy9512.locomotion.animation.pose.LocalSpacePose;
 import com.trainguy9512.locomotion.animation.pose.function.AnimationPlayer;
 import com.trainguy9512.locomotion.animation.pose.function.PoseFunction;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Optional;
 
-public record MontageSlotFunction(PoseFunction<LocalSpacePose> inputPose, String slot) implements PoseFunction<LocalSpacePose> {
+public record MontageSlotFunction(PoseFunction<LocalSpacePose> inputPose, String slot, int slotId, int maximumMontages) implements PoseFunction<LocalSpacePose> {
 
     public static MontageSlotFunction of(PoseFunction<LocalSpacePose> inputPose, String slot) {
-        return new MontageSlotFunction(inputPose, slot);
+        return MontageSlotFunction.of(inputPose, slot, MontageManager.DEFAULT_MAXIMUM_MONTAGES_PER_SLOT);
+    }
+
+    /**
+     * Creates a montage slot function that evaluates at most the provided number of montages at once. Any montages
+     * beyond this are collapsed into a frozen snapshot pose.
+     *
+     * @param inputPose             Pose to layer the slot's montages on top of.
+     * @param slot                  Slot identifier
+     * @param maximumMontages       Maximum number of montages evaluated at once, at least 2.
+     */
+    public static MontageSlotFunction of(PoseFunction<LocalSpacePose> inputPose, String slot, int maximumMontages) {
+        if (maximumMontages < 2) {
+            throw new IllegalArgumentException("Montage slot " + slot + " maximum montage count must be at least 2, but was " + maximumMontages);
+        }
+        return new MontageSlotFunction(inputPose, slot, MontageIdentifiers.internSlot(slot), maximumMontages);
     }
 
     @Override
     public @NotNull LocalSpacePose compute(FunctionInterpolationContext context) {
-        return context.montageManager().getLayeredSlotPose(this.inputPose.compute(context), this.slot, context.driverContainer().getJointSkeleton(), context.partialTicks());
+        return context.montageManager().getLayeredSlotPose(this.inputPose.compute(context), this.slotId, context.driverContainer().getJointSkeleton(), context.partialTicks(), this.maximumMontages, context.requiredJoints());
     }
 
     @Override
     public void tick(FunctionEvaluationState evaluationState) {
-        if (!evaluationState.montageManager().areAnyMontagesInSlotFullyOverriding(this.slot)) {
+        if (!evaluationState.montageManager().areAnyMontagesInSlotFullyOverriding(this.slotId)) {
             this.inputPose.tick(evaluationState);
         }
     }
 
     @Override
     public PoseFunction<LocalSpacePose> wrapUnique() {
-        return MontageSlotFunction.of(this.inputPose, this.slot);
+        return MontageSlotFunction.of(this.inputPose, this.slot, this.maximumMontages);
+    }
+
+    @Override
+    public boolean isStatic() {
+        // Active montages are tested separately by the data container.
+        return this.inputPose.isStatic();
     }
 
     @Override
-    public Optional<AnimationPlayer> testForMostRelevantAnimationPlayer() {
-        return this.inputPose.testForMostRelevantAnimationPlayer();
+    public @Nullable AnimationPlayer findMostRelevantAnimationPlayer() {
+        return this.inputPose.findMostRelevantAnimationPlayer();
     }
 }
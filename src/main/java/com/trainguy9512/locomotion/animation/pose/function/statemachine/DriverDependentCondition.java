@@ -0,0 +1,84 @@
+package com.trainguy9512.locomotion.animation.pose.function.statemachine;
+
+import com.trainguy9512.locomotion.animation.driver.Driver;
+import com.trainguy9512.locomotion.animation.driver.DriverKey;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Transition condition that only depends on the values of a known set of drivers.
+ *
+ * <p>State machines only re-test a transition with a condition of this type if one of its drivers has been modified
+ * since the condition was last tested, so conditions must not read anything other than the declared drivers.</p>
+ *
+ * <p>Combining this condition with another driver dependent condition through {@link #and(Predicate)}, {@link #or(Predicate)}
+ * or {@link #negate()} keeps the dependencies of both. Combining it with any other predicate, such as
+ * {@link StateTransition#CURRENT_TRANSITION_FINISHED} or other time-based conditions, results in a plain predicate
+ * that is tested every tick.</p>
+ */
+public final class DriverDependentCondition implements Predicate<StateTransition.TransitionContext> {
+
+    private final Predicate<StateTransition.TransitionContext> predicate;
+    private final List<DriverKey<? extends Driver<?>>> dependencies;
+
+    private DriverDependentCondition(Predicate<StateTransition.TransitionContext> predicate, List<DriverKey<? extends Driver<?>>> dependencies) {
+        this.predicate = predicate;
+        this.dependencies = dependencies;
+    }
+
+    /**
+     * Creates a transition condition that declares the drivers it reads from.
+     *
+     * @param predicate         Condition predicate, which must only read the values of the provided drivers.
+     * @param dependencies      Keys of every driver read by the predicate.
+     */
+    @SafeVarargs
+    public static DriverDependentCondition of(Predicate<StateTransition.TransitionContext> predicate, DriverKey<? extends Driver<?>>... dependencies) {
+        return new DriverDependentCondition(predicate, List.of(dependencies));
+    }
+
+    /**
+     * Returns the keys of every driver this condition depends on.
+     */
+    public List<DriverKey<? extends Driver<?>>> getDependencies() {
+        return this.dependencies;
+    }
+
+    @Override
+    public boolean test(StateTransition.TransitionContext transitionContext) {
+        return this.predicate.test(transitionContext);
+    }
+
+    @Override
+    public Predicate<StateTransition.TransitionContext> and(Predicate<? super StateTransition.TransitionContext> other) {
+        if (other instanceof DriverDependentCondition otherCondition) {
+            return new DriverDependentCondition(this.predicate.and(otherCondition.predicate), this.mergeDependencies(otherCondition));
+        }
+        return Predicate.super.and(other);
+    }
+
+    @Override
+    public Predicate<StateTransition.TransitionContext> or(Predicate<? super StateTransition.TransitionContext> other) {
+        if (other instanceof DriverDependentCondition otherCondition) {
+            return new DriverDependentCondition(this.predicate.or(otherCondition.predicate), this.mergeDependencies(otherCondition));
+        }
+        return Predicate.super.or(other);
+    }
+
+    @Override
+    public DriverDependentCondition negate() {
+        return new DriverDependentCondition(this.predicate.negate(), this.dependencies);
+    }
+
+    private List<DriverKey<? extends Driver<?>>> mergeDependencies(DriverDependentCondition other) {
+        List<DriverKey<? extends Driver<?>>> dependencies = new ArrayList<>(this.dependencies);
+        for (DriverKey<? extends Driver<?>> dependency : other.dependencies) {
+            if (!dependencies.contains(dependency)) {
+                dependencies.add(dependency);
+            }
+        }
+        return List.copyOf(dependencies);
+    }
+}
@@ -2,10 +2,13 @@ package com.trainguy9512.locomotion.animation.pose.function.statemachine;
 
 import com.google.common.collect.Maps;
 import com.trainguy9512.locomotion.LocomotionMain;
+import com.trainguy9512.locomotion.animation.data.OnTickDriverContainer;
 import com.trainguy9512.locomotion.animation.driver.Driver;
 import com.trainguy9512.locomotion.animation.driver.DriverKey;
+import com.trainguy9512.locomotion.animation.driver.FloatDriver;
 import com.trainguy9512.locomotion.animation.driver.VariableDriver;
 import com.trainguy9512.locomotion.animation.pose.LocalSpacePose;
+import com.trainguy9512.locomotion.animation.pose.PoseInertializer;
 import com.trainguy9512.locomotion.animation.pose.function.AnimationPlayer;
 import com.trainguy9512.locomotion.animation.pose.function.PoseFunction;
 import com.trainguy9512.locomotion.animation.pose.function.TimeBasedPoseFunction;
@@ -14,10 +17,11 @@ import com.trainguy9512.locomotion.util.Transition;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * Pose function that manages transitions between a set of enum-identified states based on instance-defined transition logic.
@@ -35,181 +39,375 @@ public class StateMachineFunction<S extends Enum<S>> extends TimeBasedPoseFuncti
 
     private static final Logger LOGGER = LogManager.getLogger("Locomotion/StateMachineFunction");
 
-    private final Map<S, State<S>> states;
+    /**
+     * Default maximum number of blend layers kept in the layer stack, if not set with {@link Builder#setMaximumLayerCount(int)}.
+     */
+    public static final int DEFAULT_MAXIMUM_LAYER_COUNT = 8;
+
+    /**
+     * Layers whose combined contribution to the final pose is below this value are culled from the layer stack.
+     */
+    private static final float LAYER_CONTRIBUTION_EPSILON = 0.001f;
+
+    private final Class<S> stateType;
+    private final EnumMap<S, State<S>> states;
     private final Function<FunctionEvaluationState, S> initialState;
-    private final List<StateBlendLayer> stateBlendLayerStack;
+
+    // States and their valid outbound transitions indexed by state ordinal. Transitions are grouped into buckets of
+    // equal priority, ordered from highest to lowest priority.
+    private final State<S>[] statesByOrdinal;
+    private final TransitionEntry[][][] transitionBucketsByOrdinal;
+
+    // Fixed ring buffer of blend layers, from the bottom of the stack at the head to the most recently entered at the top.
+    private final StateBlendLayer[] layerStack;
+    private final int maximumLayerCount;
+    private int layerStackHead;
+    private int layerStackSize;
+
+    // Snapshot of layers that were collapsed when the layer stack overflowed, blended beneath the bottom layer.
+    private @Nullable LocalSpacePose frozenPose;
+    // Pose of the bottom layer blended over the frozen pose, recorded with every joint while the layer stack is full.
+    // Reused every frame, and swapped with the frozen pose when collapsed.
+    private @Nullable LocalSpacePose collapseCandidatePose;
+    private boolean hasCollapseCandidatePose;
+
+    // Scratch storage reused every tick and frame, indexed by state ordinal.
+    private final LocalSpacePose[] layerStatePoses;
+    private final boolean[] hasStateTicked;
+    private final StateTransition.TransitionContext transitionContext;
+
+    // Only present if at least one transition in the state machine is inertialized.
+    private final @Nullable PoseInertializer inertializer;
 
     private long lastUpdateTick;
     private final boolean resetsUponRelevant;
     private final List<DriverKey<VariableDriver<S>>> driversToUpdateOnStateChanged;
 
+    @SuppressWarnings("unchecked")
     private StateMachineFunction(
             Map<S, State<S>> states,
             Function<FunctionEvaluationState, S> initialState,
             boolean resetsUponRelevant,
-            List<DriverKey<VariableDriver<S>>> driversToUpdateOnStateChanged
+            List<DriverKey<VariableDriver<S>>> driversToUpdateOnStateChanged,
+            int maximumLayerCount
     ) {
         super(evaluationState -> true, evaluationState -> 1f, TimeSpan.ZERO);
-        this.states = states;
+        this.stateType = states.keySet().iterator().next().getDeclaringClass();
+        this.states = new EnumMap<>(states);
         this.initialState = initialState;
-        this.stateBlendLayerStack = new ArrayList<>();
+
+        int stateCount = this.stateType.getEnumConstants().length;
+        this.statesByOrdinal = new State[stateCount];
+        this.transitionBucketsByOrdinal = new StateMachineFunction.TransitionEntry[stateCount][][];
+        this.states.forEach((identifier, state) -> {
+            this.statesByOrdinal[identifier.ordinal()] = state;
+            this.transitionBucketsByOrdinal[identifier.ordinal()] = this.createTransitionBuckets(state);
+        });
+
+        this.maximumLayerCount = maximumLayerCount;
+        this.layerStack = new StateMachineFunction.StateBlendLayer[maximumLayerCount];
+        for (int i = 0; i < maximumLayerCount; i++) {
+            this.layerStack[i] = new StateBlendLayer();
+        }
+        this.layerStackHead = 0;
+        this.layerStackSize = 0;
+        this.frozenPose = null;
+        this.collapseCandidatePose = null;
+        this.hasCollapseCandidatePose = false;
+
+        this.layerStatePoses = new LocalSpacePose[stateCount];
+        this.hasStateTicked = new boolean[stateCount];
+        this.transitionContext = StateTransition.TransitionContext.of(null, 0, 0, 0, null, 0);
+        this.inertializer = this.usesInertialization() ? PoseInertializer.of() : null;
 
         this.lastUpdateTick = 0;
         this.resetsUponRelevant = resetsUponRelevant;
         this.driversToUpdateOnStateChanged = driversToUpdateOnStateChanged;
     }
 
+    /**
+     * Filters a state's outbound transitions to those that are valid within this state machine, and groups them
+     * into buckets of equal priority, ordered from highest to lowest priority.
+     */
+    private TransitionEntry[][] createTransitionBuckets(State<S> state) {
+        List<StateTransition<S>> validTransitions = new ArrayList<>();
+        for (StateTransition<S> transition : state.outboundTransitions) {
+            if (this.states.containsKey(transition.target()) && transition.target() != state.identifier) {
+                validTransitions.add(transition);
+            }
+        }
+        validTransitions.sort(Comparator.naturalOrder());
+
+        List<TransitionEntry[]> buckets = new ArrayList<>();
+        int bucketStart = 0;
+        for (int i = 1; i <= validTransitions.size(); i++) {
+            if (i == validTransitions.size() || validTransitions.get(i).priority() != validTransitions.get(bucketStart).priority()) {
+                TransitionEntry[] bucket = new StateMachineFunction.TransitionEntry[i - bucketStart];
+                for (int j = 0; j < bucket.length; j++) {
+                    bucket[j] = new TransitionEntry(validTransitions.get(bucketStart + j));
+                }
+                buckets.add(bucket);
+                bucketStart = i;
+            }
+        }
+        return buckets.toArray(new StateMachineFunction.TransitionEntry[0][]);
+    }
+
+    private boolean usesInertialization() {
+        for (TransitionEntry[][] transitionBuckets : this.transitionBucketsByOrdinal) {
+            if (transitionBuckets == null) {
+                continue;
+            }
+            for (TransitionEntry[] bucket : transitionBuckets) {
+                for (TransitionEntry entry : bucket) {
+                    if (entry.stateTransition.transition().blendMode() == Transition.BlendMode.INERTIALIZE) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
     @Override
     public @NotNull LocalSpacePose compute(FunctionInterpolationContext context) {
         // If the list of active states is empty, throw an error because this should never be the case unless something has gone wrong.
-        if(this.stateBlendLayerStack.isEmpty()){
-            LOGGER.error("State machine of enum type {}'s active states list found to be empty. Throwing error...", this.states.keySet().stream().findAny().get().getClass().getSimpleName());
+        if(this.layerStackSize == 0){
+            LOGGER.error("State machine of enum type {}'s active states list found to be empty. Throwing error...", this.stateType.getSimpleName());
             throw new IllegalStateException("State machine found to have no active states");
         }
-        // Add all calculated poses to a map, because there can be multiple instances of the same
+        // Calculate the pose of each state in the layer stack, because there can be multiple instances of the same
         // state in the stack but each state should only have its pose calculated once.
-        Set<S> uniqueStatesInLayerStack = this.getStatesInLayerStack();
-        Map<S, LocalSpacePose> layerStackPoses = Maps.newHashMapWithExpectedSize(uniqueStatesInLayerStack.size());
-        for (S stateIdentifier : uniqueStatesInLayerStack) {
-            layerStackPoses.put(stateIdentifier, this.states.get(stateIdentifier).inputFunction.compute(context));
-        }
-
-        // Blend the poses from the layer stack poses map, starting with the first pose.
-        LocalSpacePose pose = layerStackPoses.get(this.stateBlendLayerStack.getFirst().identifier);
-
-        if (this.stateBlendLayerStack.size() > 1) {
-            for (StateBlendLayer stateBlendLayer : this.stateBlendLayerStack.subList(1, stateBlendLayerStack.size())) {
-                pose.interpolatedByTransition(
-                        layerStackPoses.get(stateBlendLayer.identifier),
-                        stateBlendLayer.weight.getValueInterpolated(context.partialTicks()),
-                        stateBlendLayer.entranceTransition.transition(),
-                        null
-                );
-//                pose = pose.interpolated(
-//                        layerStackPoses.get(stateBlendLayer.identifier),
-//                        stateBlendLayer.entranceTransition.transition().applyEasement(
-//                                stateBlendLayer.weight.getValueInterpolated(context.partialTicks())
-//                        )
-//                );
+        LocalSpacePose[] statePoses = this.layerStatePoses;
+        for (int i = 0; i < this.layerStackSize; i++) {
+            int ordinal = this.getLayer(i).identifier.ordinal();
+            if (statePoses[ordinal] == null) {
+                statePoses[ordinal] = this.statesByOrdinal[ordinal].inputFunction.compute(context);
             }
         }
+
+        // Blend the poses of each layer, starting with the bottom-most layer, or the frozen pose beneath it if there is one.
+        LocalSpacePose pose;
+        if (this.frozenPose != null) {
+            pose = LocalSpacePose.copyOf(this.frozenPose);
+            this.blendLayer(pose, 0, context);
+        } else {
+            pose = statePoses[this.getLayer(0).identifier.ordinal()];
+        }
+        // If the layer stack is full, record the bottom of the stack so that it can be collapsed if another layer is pushed.
+        // The frozen pose is blended under every joint from then on, so a pose missing joints outside of the required
+        // joints isn't recorded. The joint channels are shared rather than copied, so neither pose modifies them afterward.
+        if (this.layerStackSize == this.maximumLayerCount) {
+            this.hasCollapseCandidatePose = context.requiredJoints().isFull();
+            if (this.hasCollapseCandidatePose) {
+                if (this.collapseCandidatePose == null || this.collapseCandidatePose.getJointSkeleton() != pose.getJointSkeleton()) {
+                    this.collapseCandidatePose = LocalSpacePose.of(pose.getJointSkeleton());
+                }
+                this.collapseCandidatePose.setJointChannels(pose);
+            }
+        }
+        for (int i = 1; i < this.layerStackSize; i++) {
+            this.blendLayer(pose, i, context);
+        }
+
+        // Clear the scratch poses so that they aren't held onto between frames.
+        for (int i = 0; i < this.layerStackSize; i++) {
+            statePoses[this.getLayer(i).identifier.ordinal()] = null;
+        }
+
+        // Decay the offset from the source pose of the most recent inertialized transition, and record the final
+        // pose so that the next inertialized transition has a source pose to start from.
+        if (this.inertializer != null) {
+            this.inertializer.apply(pose, context.partialTicks());
+        }
         return pose;
     }
 
+    private void blendLayer(LocalSpacePose pose, int layerIndex, FunctionInterpolationContext context) {
+        StateBlendLayer stateBlendLayer = this.getLayer(layerIndex);
+        pose.interpolatedByTransition(
+                this.layerStatePoses[stateBlendLayer.identifier.ordinal()],
+                stateBlendLayer.weight.getFloat(context.partialTicks()),
+                stateBlendLayer.entranceTransition.transition(),
+                null,
+                context.requiredJoints(),
+                pose
+        );
+    }
+
     @Override
     public void tick(FunctionEvaluationState evaluationState) {
         // Add to the current elapsed ticks
         super.tick(evaluationState);
+        if (this.inertializer != null) {
+            this.inertializer.tick();
+        }
 
         // If the state machine has no active states, initialize it using the initial state function.
         // If the state machine is just now becoming relevant again after not being relevant, re-initialize it.
-        if (this.stateBlendLayerStack.isEmpty() || (evaluationState.currentTick() - 1 > this.lastUpdateTick && this.resetsUponRelevant)) {
-            this.stateBlendLayerStack.clear();
+        if (this.layerStackSize == 0 || (evaluationState.currentTick() - 1 > this.lastUpdateTick && this.resetsUponRelevant)) {
+            this.layerStackSize = 0;
+            this.frozenPose = null;
+            this.hasCollapseCandidatePose = false;
+            if (this.inertializer != null) {
+                this.inertializer.reset();
+            }
             S initialStateIdentifier = this.initialState.apply(evaluationState);
             if (this.states.containsKey(initialStateIdentifier)) {
-                this.stateBlendLayerStack.addLast(new StateBlendLayer(initialStateIdentifier, StateTransition.builder(initialStateIdentifier).setTiming(Transition.INSTANT).isTakenIfTrue(transitionContext -> true).build()));
+                this.pushLayer(initialStateIdentifier, StateTransition.builder(initialStateIdentifier).setTiming(Transition.INSTANT).isTakenIfTrue(transitionContext -> true).build());
             } else {
                 throw new IllegalStateException("Initial state " + initialStateIdentifier + " not found to be present in the state machine");
             }
         }
         this.lastUpdateTick = evaluationState.currentTick();
 
-        Optional<StateTransition<S>> potentialStateTransition = this.getPotentialTransitionFromCurrentState(evaluationState);
+        StateTransition<S> potentialStateTransition = this.findPotentialTransitionFromCurrentState(evaluationState);
 
         // If there is a transition occurring, add a new state blend layer instance to the layer stack, and resets the elapsed time in the state machine.
-        potentialStateTransition.ifPresent(stateTransition -> {
-            stateTransition.onTransitionTakenListener().accept(evaluationState);
-            this.driversToUpdateOnStateChanged.forEach(driverKey -> {
-                LOGGER.info(driverKey.getIdentifier());
-                evaluationState.driverContainer().getDriver(driverKey).setValue(stateTransition.target());
-            });
-            this.stateBlendLayerStack.addLast(new StateBlendLayer(stateTransition.target(), stateTransition));
+        if (potentialStateTransition != null) {
+            potentialStateTransition.onTransitionTakenListener().accept(evaluationState);
+            for (DriverKey<VariableDriver<S>> driverKey : this.driversToUpdateOnStateChanged) {
+                evaluationState.driverContainer().getDriver(driverKey).setValue(potentialStateTransition.target());
+            }
+            this.pushLayer(potentialStateTransition.target(), potentialStateTransition);
             this.resetTime();
-        });
 
-        // Tick each layer on the blend layer instance stack.
-        this.stateBlendLayerStack.forEach(StateBlendLayer::tick);
-        // Iterate through the layer stack top to bottom.
-        // If a layer is found to be fully active, meaning it's overriding all states beneath it, remove all states beneath it.
-        boolean higherStateIsFullyOverriding = false;
-        List<StateBlendLayer> inactiveLayers = new ArrayList<>();
-        for (StateBlendLayer stateBlendLayer : this.stateBlendLayerStack.reversed()) {
-            if (higherStateIsFullyOverriding) {
-                inactiveLayers.add(stateBlendLayer);
-            } else if (stateBlendLayer.isIsFullyActive) {
-                higherStateIsFullyOverriding = true;
+            // Inertialized transitions only evaluate the target state, so every layer beneath it is removed
+            // and the offset from the previous pose is decayed by the inertializer instead.
+            if (this.inertializer != null && potentialStateTransition.transition().blendMode() == Transition.BlendMode.INERTIALIZE) {
+                this.removeLayersBeneath(this.layerStackSize - 1);
+                this.getTopLayer().makeFullyActive();
+                this.inertializer.requestInertialization(potentialStateTransition.transition().duration().inTicks());
             }
         }
-        this.stateBlendLayerStack.removeAll(inactiveLayers);
 
+        // Recorded poses are only collapsed within the tick after they were recorded, so that a stale pose recorded
+        // before the entity stopped being rendered isn't frozen.
+        this.hasCollapseCandidatePose = false;
+
+        // Tick each layer on the blend layer instance stack.
+        for (int i = 0; i < this.layerStackSize; i++) {
+            this.getLayer(i).tick();
+        }
+        // Iterate through the layer stack top to bottom, accumulating how much of the pose beneath each layer is still visible.
+        // If everything beneath a layer contributes less than the epsilon, such as when the layer is fully active, remove it.
+        float remainingWeightCurrently = 1;
+        float remainingWeightPreviously = 1;
+        for (int i = this.layerStackSize - 1; i >= 0; i--) {
+            StateBlendLayer stateBlendLayer = this.getLayer(i);
+            remainingWeightCurrently *= 1 - stateBlendLayer.getEasedWeight(stateBlendLayer.weight.getCurrentValue());
+            remainingWeightPreviously *= 1 - stateBlendLayer.getEasedWeight(stateBlendLayer.weight.getPreviousValue());
+            if (Math.max(Math.abs(remainingWeightCurrently), Math.abs(remainingWeightPreviously)) < LAYER_CONTRIBUTION_EPSILON) {
+                this.removeLayersBeneath(i);
+                break;
+            }
+        }
 
         // Tick each state's pose function input.
         // If there is a transition currently occurring, and its target matches the current iterator, tick the state input with an evaluation state marked for reset.
         // Otherwise, tick the state as normal.
-        for (S stateIdentifier : this.getStatesInLayerStack()) {
-            PoseFunction<?> statePoseFunction = this.states.get(stateIdentifier).inputFunction;
-            potentialStateTransition.ifPresentOrElse(stateTransition -> {
-                if (stateTransition.target() == stateIdentifier && this.states.get(stateIdentifier).resetUponEntry) {
-                    statePoseFunction.tick(evaluationState.markedForReset());
-                } else {
-                    statePoseFunction.tick(evaluationState);
-                }
-            }, () -> statePoseFunction.tick(evaluationState));
+        for (int i = 0; i < this.layerStackSize; i++) {
+            S stateIdentifier = this.getLayer(i).identifier;
+            if (this.hasStateTicked[stateIdentifier.ordinal()]) {
+                continue;
+            }
+            this.hasStateTicked[stateIdentifier.ordinal()] = true;
+            State<S> state = this.statesByOrdinal[stateIdentifier.ordinal()];
+            if (potentialStateTransition != null && potentialStateTransition.target() == stateIdentifier && state.resetUponEntry) {
+                state.inputFunction.tick(evaluationState.markedForReset());
+            } else {
+                state.inputFunction.tick(evaluationState);
+            }
         }
+        for (int i = 0; i < this.layerStackSize; i++) {
+            this.hasStateTicked[this.getLayer(i).identifier.ordinal()] = false;
+        }
+    }
 
+    /**
+     * Returns the highest priority outbound transition of the current active state whose condition passes, or null if there is none.
+     * <p>
+     * Buckets are tested from highest to lowest priority, and lower priority buckets are not tested once a transition
+     * has passed. If more than one transition passes within the same bucket, one of them is picked at random.
+     */
+    private @Nullable StateTransition<S> findPotentialTransitionFromCurrentState(FunctionEvaluationState evaluationState) {
+        StateBlendLayer currentLayer = this.getTopLayer();
+        int currentOrdinal = currentLayer.identifier.ordinal();
+        StateTransition.TransitionContext context = this.transitionContext.update(
+                evaluationState.driverContainer(),
+                this.ticksElapsed.getCurrentValue(),
+                currentLayer.weight.getCurrentValue(),
+                currentLayer.weight.getPreviousValue(),
+                this.statesByOrdinal[currentOrdinal].inputFunction
+        );
+        for (TransitionEntry[] bucket : this.transitionBucketsByOrdinal[currentOrdinal]) {
+            StateTransition<S> chosenTransition = null;
+            int passedTransitions = 0;
+            for (TransitionEntry entry : bucket) {
+                StateTransition<S> stateTransition = entry.stateTransition;
+                context.setTransitionDurationTicks(stateTransition.transition().duration().inTicks());
+                if (entry.test(context)) {
+                    passedTransitions++;
+                    // Reservoir sampling, so that every passing transition of equal priority is equally likely to be picked.
+                    if (passedTransitions == 1 || ThreadLocalRandom.current().nextInt(passedTransitions) == 0) {
+                        chosenTransition = stateTransition;
+                    }
+                }
+            }
+            if (chosenTransition != null) {
+                return chosenTransition;
+            }
+        }
+        return null;
+    }
 
-        //LocomotionMain.LOGGER.info(this.stateBlendLayerStack);
-//        if (this.stateBlendLayerStack.getLast().identifier instanceof FirstPersonPlayerJointAnimator.HandPoseStates) {
-//            LocomotionMain.LOGGER.info("{}",
-//                    this.stateBlendLayerStack.getLast().identifier);
-//        }
-
+    /**
+     * Returns the layer at the given position in the layer stack, where 0 is the bottom of the stack.
+     */
+    private StateBlendLayer getLayer(int index) {
+        return this.layerStack[(this.layerStackHead + index) % this.maximumLayerCount];
+    }
 
+    private StateBlendLayer getTopLayer() {
+        return this.getLayer(this.layerStackSize - 1);
     }
 
-    private Optional<StateTransition<S>> getPotentialTransitionFromCurrentState(FunctionEvaluationState evaluationState) {
-        // Get the current active state
-        S currentActiveStateIdentifier = this.stateBlendLayerStack.getLast().identifier;
-        State<S> currentActiveState = this.states.get(currentActiveStateIdentifier);
-
-        // Filter each potential state transition by whether it's valid, then filter by whether its condition predicate is true,
-        // then shuffle it in order to make equal priority transitions randomized and re-order the valid transitions by filter order.
-        return currentActiveState.outboundTransitions.stream()
-                .filter(stateTransition -> {
-                    boolean transitionTargetIncludedInThisMachine = this.states.containsKey(stateTransition.target());
-                    boolean targetIsNotCurrentActiveState = stateTransition.target() != currentActiveStateIdentifier;
-                    if(transitionTargetIncludedInThisMachine && targetIsNotCurrentActiveState){
-                        StateTransition.TransitionContext transitionContext = StateTransition.TransitionContext.of(
-                                evaluationState.driverContainer(),
-                                TimeSpan.ofTicks(this.ticksElapsed.getCurrentValue()),
-                                this.stateBlendLayerStack.getLast().weight.getCurrentValue(),
-                                this.stateBlendLayerStack.getLast().weight.getPreviousValue(),
-                                this.states.get(currentActiveStateIdentifier).inputFunction,
-                                stateTransition.transition().duration()
-                        );
-                        return stateTransition.conditionPredicate().test(transitionContext);
-                    }
-                    return false;
-                })
-                .collect(Collectors.collectingAndThen(Collectors.toList(), collected -> {
-                    Collections.shuffle(collected);
-                    return collected;
-                }))
-                .stream()
-                .sorted()
-                .findFirst();
+    /**
+     * Pushes a new layer to the top of the layer stack. If the stack is full, the bottom layer is collapsed into
+     * the frozen pose beneath the stack, using the pose recorded for it in the most recent frame. If no pose has been
+     * recorded since the stack filled up, such as when the entity hasn't been rendered, the bottom layer is dropped
+     * and the previous frozen pose is kept, rather than evaluating the layer's pose during the tick.
+     */
+    private void pushLayer(S identifier, StateTransition<S> entranceTransition) {
+        if (this.layerStackSize == this.maximumLayerCount) {
+            LocalSpacePose collapsedPose = this.frozenPose;
+            if (this.hasCollapseCandidatePose) {
+                // The recorded pose becomes the frozen pose, and the previous frozen pose is reused to record the next one.
+                collapsedPose = this.collapseCandidatePose;
+                this.collapseCandidatePose = this.frozenPose;
+            }
+            this.removeLayersBeneath(1);
+            this.frozenPose = collapsedPose;
+        }
+        this.getLayer(this.layerStackSize).reset(identifier, entranceTransition);
+        this.layerStackSize++;
     }
 
-    private Set<S> getStatesInLayerStack() {
-        Set<S> set = new HashSet<>();
-        this.stateBlendLayerStack.forEach(stateBlendLayer -> set.add(stateBlendLayer.identifier));
-        return set;
+    /**
+     * Removes every layer beneath the provided layer index, along with the frozen pose, making the provided layer the bottom of the stack.
+     */
+    private void removeLayersBeneath(int layerIndex) {
+        this.layerStackHead = (this.layerStackHead + layerIndex) % this.maximumLayerCount;
+        this.layerStackSize -= layerIndex;
+        this.frozenPose = null;
+        this.hasCollapseCandidatePose = false;
     }
 
     @Override
     public PoseFunction<LocalSpacePose> wrapUnique() {
         Builder<S> builder = StateMachineFunction.builder(this.initialState);
         builder.resetsUponRelevant(this.resetsUponRelevant);
+        builder.setMaximumLayerCount(this.maximumLayerCount);
         this.driversToUpdateOnStateChanged.forEach(builder::bindDriverToCurrentActiveState);
         this.states.forEach((identifier, state) ->
                 builder.defineState(
@@ -220,38 +418,137 @@ public class StateMachineFunction<S extends Enum<S>> extends TimeBasedPoseFuncti
     }
 
     @Override
-    public Optional<AnimationPlayer> testForMostRelevantAnimationPlayer() {
+    public boolean isStatic() {
+        // The time elapsed in the current state is only used by transitions, so it doesn't affect the output.
+        if (this.layerStackSize != 1 || this.frozenPose != null || (this.inertializer != null && this.inertializer.isActive())) {
+            return false;
+        }
+        StateBlendLayer layer = this.getTopLayer();
+        return !layer.weight.hasValueChanged() && this.statesByOrdinal[layer.identifier.ordinal()].inputFunction.isStatic();
+    }
+
+    @Override
+    public @Nullable AnimationPlayer findMostRelevantAnimationPlayer() {
         // Search for an animation player in the state blend layer stack from most active to least active.
-        for (StateBlendLayer stateBlendLayer : this.stateBlendLayerStack.reversed()) {
-            var potentialPlayer = this.states.get(stateBlendLayer.identifier).inputFunction.testForMostRelevantAnimationPlayer();
-            if (potentialPlayer.isPresent()) {
+        for (int i = this.layerStackSize - 1; i >= 0; i--) {
+            AnimationPlayer potentialPlayer = this.statesByOrdinal[this.getLayer(i).identifier.ordinal()].inputFunction.findMostRelevantAnimationPlayer();
+            if (potentialPlayer != null) {
                 return potentialPlayer;
             }
         }
-        return Optional.empty();
+        return null;
+    }
+
+    /**
+     * Outbound transition of a state, along with the result of its most recent test.
+     * <p>
+     * If the transition's condition declares its driver dependencies, the previous result is reused for as long as
+     * none of those drivers have been modified since, rather than testing the condition again.
+     */
+    private class TransitionEntry {
+        private final StateTransition<S> stateTransition;
+        private final @Nullable List<DriverKey<? extends Driver<?>>> driverDependencies;
+
+        private OnTickDriverContainer resolvedDriverContainer;
+        private final Driver<?>[] resolvedDrivers;
+        private final int[] testedModificationCounts;
+        private boolean hasBeenTested;
+        private boolean lastResult;
+
+        private TransitionEntry(StateTransition<S> stateTransition) {
+            this.stateTransition = stateTransition;
+            this.driverDependencies = stateTransition.driverDependencies();
+            int dependencyCount = this.driverDependencies == null ? 0 : this.driverDependencies.size();
+            this.resolvedDriverContainer = null;
+            this.resolvedDrivers = new Driver<?>[dependencyCount];
+            this.testedModificationCounts = new int[dependencyCount];
+            this.hasBeenTested = false;
+            this.lastResult = false;
+        }
+
+        private boolean test(StateTransition.TransitionContext context) {
+            if (this.driverDependencies == null) {
+                return this.stateTransition.conditionPredicate().test(context);
+            }
+            if (this.resolvedDriverContainer != context.driverContainer()) {
+                this.resolveDrivers(context.driverContainer());
+            }
+            if (this.hasBeenTested && this.areDependenciesUnmodified()) {
+                return this.lastResult;
+            }
+            this.lastResult = this.stateTransition.conditionPredicate().test(context);
+            for (int i = 0; i < this.resolvedDrivers.length; i++) {
+                this.testedModificationCounts[i] = this.resolvedDrivers[i].getModificationCount();
+            }
+            this.hasBeenTested = true;
+            return this.lastResult;
+        }
+
+        private boolean areDependenciesUnmodified() {
+            for (int i = 0; i < this.resolvedDrivers.length; i++) {
+                int modificationCount = this.resolvedDrivers[i].getModificationCount();
+                // Drivers that don't track modifications always count as modified.
+                if (modificationCount == -1 || modificationCount != this.testedModificationCounts[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private void resolveDrivers(OnTickDriverContainer driverContainer) {
+            for (int i = 0; i < this.resolvedDrivers.length; i++) {
+                this.resolvedDrivers[i] = driverContainer.getDriver((DriverKey) this.driverDependencies.get(i));
+            }
+            this.resolvedDriverContainer = driverContainer;
+            this.hasBeenTested = false;
+        }
     }
 
     private class StateBlendLayer {
-        private final S identifier;
-        private final StateTransition<S> entranceTransition;
-        private final VariableDriver<Float> weight;
-        private final float weightIncrement;
-        private boolean isIsFullyActive;
+        private S identifier;
+        private StateTransition<S> entranceTransition;
+        private final FloatDriver weight;
+        private float weightIncrement;
+
+        private StateBlendLayer() {
+            this.weight = FloatDriver.of(0f);
+        }
 
-        private StateBlendLayer(S identifier, StateTransition<S> entranceTransition) {
+        /**
+         * Re-initializes this layer for a newly entered state, so that layer instances can be reused by the ring buffer.
+         */
+        private void reset(S identifier, StateTransition<S> entranceTransition) {
             this.identifier = identifier;
             this.entranceTransition = entranceTransition;
-            this.weight = VariableDriver.ofFloat(() -> 0f);
+            this.weight.hardReset();
             this.weightIncrement = 1 / Math.max(this.entranceTransition.transition().duration().inTicks(), 0.01f);
-            this.isIsFullyActive = false;
+        }
+
+        /**
+         * Makes this layer immediately fully active, without blending in.
+         */
+        private void makeFullyActive() {
+            this.weight.setValue(1);
+            this.weight.pushCurrentToPrevious();
         }
 
         private void tick() {
             this.weight.pushCurrentToPrevious();
-            this.weight.modifyValue(currentValue -> Math.min(1, currentValue + weightIncrement));
-            if (this.weight.getCurrentValue() == 1 && this.weight.getPreviousValue() == 1) {
-                this.isIsFullyActive = true;
+            this.weight.setValue(Math.min(1, this.weight.getCurrentValue() + weightIncrement));
+        }
+
+        /**
+         * Returns the weight of this layer with the entrance transition's easing applied, as used when blending.
+         * <p>
+         * Blend profiles can delay individual joints, so layers using one are only considered to have weight once fully blended in.
+         */
+        private float getEasedWeight(float weight) {
+            Transition transition = this.entranceTransition.transition();
+            if (weight == 0 || (transition.blendProfile() != null && weight < 1)) {
+                return 0;
             }
+            return transition.easement().ease(weight);
         }
 
         @Override
@@ -281,6 +578,7 @@ public class StateMachineFunction<S extends Enum<S>> extends TimeBasedPoseFuncti
 
         private boolean resetUponRelevant;
         private final List<DriverKey<VariableDriver<S>>> driversToUpdateOnStateChanged;
+        private int maximumLayerCount;
 
         protected Builder(Function<FunctionEvaluationState, S> initialState) {
             this.initialState = initialState;
@@ -289,6 +587,7 @@ public class StateMachineFunction<S extends Enum<S>> extends TimeBasedPoseFuncti
 
             this.resetUponRelevant = false;
             this.driversToUpdateOnStateChanged = new ArrayList<>();
+            this.maximumLayerCount = DEFAULT_MAXIMUM_LAYER_COUNT;
         }
 
         /**
@@ -330,6 +629,25 @@ public class StateMachineFunction<S extends Enum<S>> extends TimeBasedPoseFuncti
             return this;
         }
 
+        /**
+         * Sets the maximum number of state blend layers that can be evaluated at once by the state machine.
+         *
+         * <p>When a transition is taken while this many layers are blending, the bottom layer is collapsed into a frozen
+         * snapshot of its last pose, so that rapid transitions can't increase the number of states evaluated each frame.
+         * The bottom layer's contribution is kept, but it stops animating from that point on.</p>
+         *
+         * <p>Default is {@link StateMachineFunction#DEFAULT_MAXIMUM_LAYER_COUNT}.</p>
+         *
+         * @param maximumLayerCount     Maximum number of layers, at least 2
+         */
+        public Builder<S> setMaximumLayerCount(int maximumLayerCount) {
+            if (maximumLayerCount < 2) {
+                throw new IllegalArgumentException("State machine maximum layer count must be at least 2, but was " + maximumLayerCount);
+            }
+            this.maximumLayerCount = maximumLayerCount;
+            return this;
+        }
+
         public Builder<S> bindDriverToCurrentActiveState(DriverKey<VariableDriver<S>> driverKey) {
             this.driversToUpdateOnStateChanged.add(driverKey);
             return this;
@@ -361,7 +679,10 @@ public class StateMachineFunction<S extends Enum<S>> extends TimeBasedPoseFuncti
                     LOGGER.warn("State {} in state machine contains no outbound transitions. If this state is entered, it will have no valid path out without re-initializing the state!", state.identifier);
                 }
             }
-            return new StateMachineFunction<>(this.states, this.initialState, this.resetUponRelevant, this.driversToUpdateOnStateChanged);
+            if (this.states.isEmpty()) {
+                throw new IllegalStateException("Cannot build a state machine with no defined states.");
+            }
+            return new StateMachineFunction<>(this.states, this.initialState, this.resetUponRelevant, this.driversToUpdateOnStateChanged, this.maximumLayerCount);
         }
     }
 
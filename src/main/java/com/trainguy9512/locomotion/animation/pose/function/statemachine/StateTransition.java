@@ -2,6 +2,7 @@ package com.trainguy9512.locomotion.animation.pose.function.statemachine;
 
 import com.trainguy9512.locomotion.LocomotionMain;
 import com.trainguy9512.locomotion.animation.data.OnTickDriverContainer;
+import com.trainguy9512.locomotion.animation.driver.BooleanDriver;
 import com.trainguy9512.locomotion.animation.driver.Driver;
 import com.trainguy9512.locomotion.animation.driver.DriverKey;
 import com.trainguy9512.locomotion.animation.pose.LocalSpacePose;
@@ -9,11 +10,12 @@ import com.trainguy9512.locomotion.animation.pose.function.AnimationPlayer;
 import com.trainguy9512.locomotion.animation.pose.function.PoseFunction;
 import com.trainguy9512.locomotion.util.TimeSpan;
 import com.trainguy9512.locomotion.util.Transition;
-import net.minecraft.util.Tuple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -24,7 +26,8 @@ public record StateTransition<S extends Enum<S>>(
         Transition transition,
         int priority,
         Consumer<PoseFunction.FunctionEvaluationState> onTransitionTakenListener,
-        boolean isAutomaticTransition
+        boolean isAutomaticTransition,
+        @Nullable List<DriverKey<? extends Driver<?>>> driverDependencies
 ) implements Comparable<StateTransition<S>> {
 
     private static final Logger LOGGER = LogManager.getLogger("Locomotion/StateTransition");
@@ -33,24 +36,28 @@ public record StateTransition<S extends Enum<S>>(
     public static final Predicate<TransitionContext> MOST_RELEVANT_ANIMATION_PLAYER_IS_FINISHING = makeMostRelevantAnimationPlayerFinishedCondition(1f);
     public static final Predicate<TransitionContext> MOST_RELEVANT_ANIMATION_PLAYER_HAS_FINISHED = makeMostRelevantAnimationPlayerFinishedCondition(0f);
 
-    public static <D extends Driver<Boolean>> Predicate<TransitionContext> booleanDriverPredicate(DriverKey<D> booleanDriverKey) {
-        return transitionContext -> transitionContext.driverContainer.getDriverValue(booleanDriverKey);
+    public static <D extends Driver<Boolean>> DriverDependentCondition booleanDriverPredicate(DriverKey<D> booleanDriverKey) {
+        return DriverDependentCondition.of(transitionContext -> {
+            D driver = transitionContext.driverContainer.getDriver(booleanDriverKey);
+            // Boolean drivers are read without boxing.
+            return driver instanceof BooleanDriver booleanDriver ? booleanDriver.getCurrentValue() : driver.getValueInterpolated(1);
+        }, booleanDriverKey);
     }
 
     public static Predicate<TransitionContext> makeMostRelevantAnimationPlayerFinishedCondition(float crossFadeWeight) {
         return transitionContext -> {
-            var potentialPlayer = transitionContext.getMostRelevantAnimationPlayer();
-            if (potentialPlayer.isPresent()) {
-                AnimationPlayer player = potentialPlayer.get();
-                float transitionTimeTicks = transitionContext.transitionDuration().inTicks() * crossFadeWeight;
-                Tuple<TimeSpan, TimeSpan> remainingTime = player.getRemainingTime();
+            AnimationPlayer player = transitionContext.findMostRelevantAnimationPlayer();
+            if (player != null) {
+                float transitionTimeTicks = transitionContext.transitionDurationTicks() * crossFadeWeight;
+                float remainingTicksPreviously = player.getRemainingTicksPreviously();
+                float remainingTicksCurrently = player.getRemainingTicksCurrently();
 
                 // Mid-animation
-                if (remainingTime.getA().inTicks() > remainingTime.getB().inTicks()) {
-                    return transitionTimeTicks < remainingTime.getA().inTicks() && transitionTimeTicks >= remainingTime.getB().inTicks();
+                if (remainingTicksPreviously > remainingTicksCurrently) {
+                    return transitionTimeTicks < remainingTicksPreviously && transitionTimeTicks >= remainingTicksCurrently;
                     // Looping (remaining time wrapping around 0), but NOT stopped.
-                } else if (remainingTime.getA().inTicks() < remainingTime.getB().inTicks()) {
-                    return transitionTimeTicks < remainingTime.getA().inTicks();
+                } else if (remainingTicksPreviously < remainingTicksCurrently) {
+                    return transitionTimeTicks < remainingTicksPreviously;
                 }
             }
             return false;
@@ -110,6 +117,8 @@ public record StateTransition<S extends Enum<S>>(
          *
          * <p>For "AND" or "OR" conditions, use {@link Predicate#and(Predicate)} or {@link Predicate#or(Predicate)}.</p>
          *
+         * <p>If the predicate is a {@link DriverDependentCondition}, the transition is only re-tested when one of its drivers changes.</p>
+         *
          * @param conditionPredicate Function that returns true or false based on the transition context.
          */
         public final Builder<S> isTakenIfTrue(Predicate<TransitionContext> conditionPredicate) {
@@ -153,7 +162,7 @@ public record StateTransition<S extends Enum<S>>(
 
         public StateTransition<S> build() {
             if (this.conditionPredicate == null) {
-                this.conditionPredicate = context -> false;
+                this.conditionPredicate = DriverDependentCondition.of(context -> false);
                 if (!this.automaticTransition) {
                     LOGGER.warn("State transition to target {}.{} has no passable conditions, and will go unused.", this.target.getClass().getSimpleName(), this.target);
                 }
@@ -161,20 +170,99 @@ public record StateTransition<S extends Enum<S>>(
             if (this.automaticTransition) {
                 this.conditionPredicate = this.conditionPredicate.or(makeMostRelevantAnimationPlayerFinishedCondition(this.automaticTransitionCrossfadeWeight));
             }
-            return new StateTransition<>(this.target, this.conditionPredicate, this.transition, this.priority, this.onTransitionTakenListener, this.automaticTransition);
+            // Conditions that declare their driver dependencies only need to be re-tested when those drivers change.
+            List<DriverKey<? extends Driver<?>>> driverDependencies = null;
+            if (this.conditionPredicate instanceof DriverDependentCondition driverDependentCondition) {
+                driverDependencies = driverDependentCondition.getDependencies();
+            }
+            return new StateTransition<>(this.target, this.conditionPredicate, this.transition, this.priority, this.onTransitionTakenListener, this.automaticTransition, driverDependencies);
         }
     }
 
-    public record TransitionContext(
-            OnTickDriverContainer driverContainer,
-            TimeSpan timeElapsedInCurrentState,
-            float currentStateWeight,
-            float previousStateWeight,
-            PoseFunction<LocalSpacePose> currentStateInput,
-            TimeSpan transitionDuration
-    ) {
+    /**
+     * Context provided to transition condition predicates. A state machine reuses a single instance, updated in place
+     * before its transitions are tested, so predicates should not hold onto the context after returning.
+     */
+    public static final class TransitionContext {
+        private OnTickDriverContainer driverContainer;
+        private float ticksElapsedInCurrentState;
+        private float currentStateWeight;
+        private float previousStateWeight;
+        private PoseFunction<LocalSpacePose> currentStateInput;
+        private float transitionDurationTicks;
+
+        private TransitionContext(OnTickDriverContainer driverContainer, float ticksElapsedInCurrentState, float currentStateWeight, float previousStateWeight, PoseFunction<LocalSpacePose> currentStateInput, float transitionDurationTicks) {
+            this.update(driverContainer, ticksElapsedInCurrentState, currentStateWeight, previousStateWeight, currentStateInput);
+            this.transitionDurationTicks = transitionDurationTicks;
+        }
+
+        public static TransitionContext of(OnTickDriverContainer dataContainer, float ticksElapsedInCurrentState, float currentStateWeight, float previousStateWeight, PoseFunction<LocalSpacePose> currentStateInput, float transitionDurationTicks) {
+            return new TransitionContext(dataContainer, ticksElapsedInCurrentState, currentStateWeight, previousStateWeight, currentStateInput, transitionDurationTicks);
+        }
+
         public static TransitionContext of(OnTickDriverContainer dataContainer, TimeSpan timeElapsedInCurrentState, float currentStateWeight, float previousStateWeight, PoseFunction<LocalSpacePose> currentStateInput, TimeSpan transitionDuration) {
-            return new TransitionContext(dataContainer, timeElapsedInCurrentState, currentStateWeight, previousStateWeight, currentStateInput, transitionDuration);
+            return TransitionContext.of(dataContainer, timeElapsedInCurrentState.inTicks(), currentStateWeight, previousStateWeight, currentStateInput, transitionDuration.inTicks());
+        }
+
+        /**
+         * Updates the per-tick state of this context in place.
+         */
+        TransitionContext update(OnTickDriverContainer driverContainer, float ticksElapsedInCurrentState, float currentStateWeight, float previousStateWeight, PoseFunction<LocalSpacePose> currentStateInput) {
+            this.driverContainer = driverContainer;
+            this.ticksElapsedInCurrentState = ticksElapsedInCurrentState;
+            this.currentStateWeight = currentStateWeight;
+            this.previousStateWeight = previousStateWeight;
+            this.currentStateInput = currentStateInput;
+            return this;
+        }
+
+        /**
+         * Sets the duration of the transition about to be tested.
+         */
+        void setTransitionDurationTicks(float transitionDurationTicks) {
+            this.transitionDurationTicks = transitionDurationTicks;
+        }
+
+        public OnTickDriverContainer driverContainer() {
+            return this.driverContainer;
+        }
+
+        public float ticksElapsedInCurrentState() {
+            return this.ticksElapsedInCurrentState;
+        }
+
+        public float currentStateWeight() {
+            return this.currentStateWeight;
+        }
+
+        public float previousStateWeight() {
+            return this.previousStateWeight;
+        }
+
+        public PoseFunction<LocalSpacePose> currentStateInput() {
+            return this.currentStateInput;
+        }
+
+        public float transitionDurationTicks() {
+            return this.transitionDurationTicks;
+        }
+
+        /**
+         * Returns the time elapsed in the current state. Prefer {@link TransitionContext#ticksElapsedInCurrentState()} on hot paths.
+         */
+        public TimeSpan timeElapsedInCurrentState() {
+            return TimeSpan.ofTicks(this.ticksElapsedInCurrentState);
+        }
+
+        /**
+         * Returns the duration of the transition being tested. Prefer {@link TransitionContext#transitionDurationTicks()} on hot paths.
+         */
+        public TimeSpan transitionDuration() {
+            return TimeSpan.ofTicks(this.transitionDurationTicks);
+        }
+
+        public @Nullable AnimationPlayer findMostRelevantAnimationPlayer() {
+            return this.currentStateInput.findMostRelevantAnimationPlayer();
         }
 
         public Optional<AnimationPlayer> getMostRelevantAnimationPlayer() {
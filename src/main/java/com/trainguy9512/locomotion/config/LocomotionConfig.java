@@ -5,6 +5,7 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.trainguy9512.locomotion.LocomotionMain;
 import com.trainguy9512.locomotion.animation.animator.JointAnimatorDispatcher;
+import com.trainguy9512.locomotion.animation.joint.RotationInterpolation;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.AlertScreen;
 import net.minecraft.client.gui.screens.Screen;
@@ -65,14 +66,32 @@ public class LocomotionConfig {
         } catch (Exception e) {
             LOGGER.error("Failed to write config to path {}", CONFIG_FILE_PATH.toAbsolutePath());
         }
+        RotationInterpolation.configure(this.configData.general.rotationInterpolationMode, this.configData.general.rotationInterpolationSlerpThreshold);
         JointAnimatorDispatcher.getInstance().reInitializeData();
     }
 
 
     public static class Data {
 
+        public final General general = new General();
         public final FirstPersonPlayer firstPersonPlayer = new FirstPersonPlayer();
 
+        public static class General {
+            public RotationInterpolation.Mode rotationInterpolationMode = RotationInterpolation.Mode.NLERP;
+            public float rotationInterpolationSlerpThreshold = RotationInterpolation.DEFAULT_SLERP_THRESHOLD_DEGREES;
+            public boolean offHeapPoseStorage = false;
+            public boolean parallelEntityTicking = false;
+            public boolean animationThread = false;
+            public boolean enableUpdateRateLod = true;
+            public float updateRateLodHalfRateDistance = 32;
+            public float updateRateLodQuarterRateDistance = 64;
+            public float updateRateLodEighthRateDistance = 96;
+            public boolean enableSkeletonLod = true;
+            public float tickAnimationBudget = 5;
+            public float frameAnimationBudget = 4;
+            public boolean cullOffScreenPoses = true;
+        }
+
         public static class FirstPersonPlayer {
             public boolean enableRenderer = true;
             public boolean enableCameraRotationDamping = true;
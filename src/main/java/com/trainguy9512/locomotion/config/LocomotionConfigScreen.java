@@ -1,8 +1,10 @@
 package com.trainguy9512.locomotion.config;
 
 import com.trainguy9512.locomotion.LocomotionMain;
+import com.trainguy9512.locomotion.animation.joint.RotationInterpolation;
 import dev.isxander.yacl3.api.*;
 import dev.isxander.yacl3.api.controller.BooleanControllerBuilder;
+import dev.isxander.yacl3.api.controller.EnumControllerBuilder;
 import dev.isxander.yacl3.api.controller.FloatSliderControllerBuilder;
 import dev.isxander.yacl3.impl.controller.TickBoxControllerBuilderImpl;
 import net.minecraft.client.gui.screens.Screen;
@@ -21,6 +23,130 @@ public class LocomotionConfigScreen {
                 .category(ConfigCategory.createBuilder()
                         .name(Component.translatable("locomotion.config.category.general.name"))
                         .tooltip(Component.translatable("locomotion.config.category.general.tooltip"))
+                        .option(Option.<RotationInterpolation.Mode>createBuilder()
+                                .name(Component.translatable("locomotion.config.option.rotation_interpolation_mode.name"))
+                                .description(OptionDescription.createBuilder()
+                                        .text(Component.translatable("locomotion.config.option.rotation_interpolation_mode.description"))
+                                        .build())
+                                .binding(RotationInterpolation.Mode.NLERP, () -> config.data().general.rotationInterpolationMode, newValue -> config.data().general.rotationInterpolationMode = newValue)
+                                .controller(option -> EnumControllerBuilder.create(option)
+                                        .enumClass(RotationInterpolation.Mode.class)
+                                        .formatValue(value -> Component.translatable("locomotion.config.option.rotation_interpolation_mode." + value.name().toLowerCase())))
+                                .build())
+                        .option(Option.<Float>createBuilder()
+                                .name(Component.translatable("locomotion.config.option.rotation_interpolation_slerp_threshold.name"))
+                                .description(OptionDescription.createBuilder()
+                                        .text(Component.translatable("locomotion.config.option.rotation_interpolation_slerp_threshold.description"))
+                                        .build())
+                                .binding(RotationInterpolation.DEFAULT_SLERP_THRESHOLD_DEGREES, () -> config.data().general.rotationInterpolationSlerpThreshold, newValue -> config.data().general.rotationInterpolationSlerpThreshold = newValue)
+                                .controller(option -> FloatSliderControllerBuilder.create(option)
+                                        .formatValue(value -> Component.literal(new DecimalFormat("0").format(value) + "\u00B0"))
+                                        .range(0f, 180f)
+                                        .step(1f))
+                                .build())
+                        .option(Option.<Boolean>createBuilder()
+                                .name(Component.translatable("locomotion.config.option.off_heap_pose_storage.name"))
+                                .description(OptionDescription.createBuilder()
+                                        .text(Component.translatable("locomotion.config.option.off_heap_pose_storage.description"))
+                                        .build())
+                                .binding(false, () -> config.data().general.offHeapPoseStorage, newValue -> config.data().general.offHeapPoseStorage = newValue)
+                                .controller(TickBoxControllerBuilderImpl::new)
+                                .build())
+                        .option(Option.<Boolean>createBuilder()
+                                .name(Component.translatable("locomotion.config.option.parallel_entity_ticking.name"))
+                                .description(OptionDescription.createBuilder()
+                                        .text(Component.translatable("locomotion.config.option.parallel_entity_ticking.description"))
+                                        .build())
+                                .binding(false, () -> config.data().general.parallelEntityTicking, newValue -> config.data().general.parallelEntityTicking = newValue)
+                                .controller(TickBoxControllerBuilderImpl::new)
+                                .build())
+                        .option(Option.<Boolean>createBuilder()
+                                .name(Component.translatable("locomotion.config.option.animation_thread.name"))
+                                .description(OptionDescription.createBuilder()
+                                        .text(Component.translatable("locomotion.config.option.animation_thread.description"))
+                                        .build())
+                                .binding(false, () -> config.data().general.animationThread, newValue -> config.data().general.animationThread = newValue)
+                                .controller(TickBoxControllerBuilderImpl::new)
+                                .build())
+                        .option(Option.<Boolean>createBuilder()
+                                .name(Component.translatable("locomotion.config.option.enable_update_rate_lod.name"))
+                                .description(OptionDescription.createBuilder()
+                                        .text(Component.translatable("locomotion.config.option.enable_update_rate_lod.description"))
+                                        .build())
+                                .binding(true, () -> config.data().general.enableUpdateRateLod, newValue -> config.data().general.enableUpdateRateLod = newValue)
+                                .controller(TickBoxControllerBuilderImpl::new)
+                                .build())
+                        .option(Option.<Boolean>createBuilder()
+                                .name(Component.translatable("locomotion.config.option.enable_skeleton_lod.name"))
+                                .description(OptionDescription.createBuilder()
+                                        .text(Component.translatable("locomotion.config.option.enable_skeleton_lod.description"))
+                                        .build())
+                                .binding(true, () -> config.data().general.enableSkeletonLod, newValue -> config.data().general.enableSkeletonLod = newValue)
+                                .controller(TickBoxControllerBuilderImpl::new)
+                                .build())
+                        .option(Option.<Float>createBuilder()
+                                .name(Component.translatable("locomotion.config.option.tick_animation_budget.name"))
+                                .description(OptionDescription.createBuilder()
+                                        .text(Component.translatable("locomotion.config.option.tick_animation_budget.description"))
+                                        .build())
+                                .binding(5f, () -> config.data().general.tickAnimationBudget, newValue -> config.data().general.tickAnimationBudget = newValue)
+                                .controller(option -> FloatSliderControllerBuilder.create(option)
+                                        .formatValue(value -> value > 0 ? Component.literal(new DecimalFormat("0.0").format(value) + " ms") : Component.translatable("locomotion.config.option.animation_budget.unlimited"))
+                                        .range(0f, 20f)
+                                        .step(0.5f))
+                                .build())
+                        .option(Option.<Float>createBuilder()
+                                .name(Component.translatable("locomotion.config.option.frame_animation_budget.name"))
+                                .description(OptionDescription.createBuilder()
+                                        .text(Component.translatable("locomotion.config.option.frame_animation_budget.description"))
+                                        .build())
+                                .binding(4f, () -> config.data().general.frameAnimationBudget, newValue -> config.data().general.frameAnimationBudget = newValue)
+                                .controller(option -> FloatSliderControllerBuilder.create(option)
+                                        .formatValue(value -> value > 0 ? Component.literal(new DecimalFormat("0.0").format(value) + " ms") : Component.translatable("locomotion.config.option.animation_budget.unlimited"))
+                                        .range(0f, 20f)
+                                        .step(0.5f))
+                                .build())
+                        .option(Option.<Boolean>createBuilder()
+                                .name(Component.translatable("locomotion.config.option.cull_off_screen_poses.name"))
+                                .description(OptionDescription.createBuilder()
+                                        .text(Component.translatable("locomotion.config.option.cull_off_screen_poses.description"))
+                                        .build())
+                                .binding(true, () -> config.data().general.cullOffScreenPoses, newValue -> config.data().general.cullOffScreenPoses = newValue)
+                                .controller(TickBoxControllerBuilderImpl::new)
+                                .build())
+                        .option(Option.<Float>createBuilder()
+                                .name(Component.translatable("locomotion.config.option.update_rate_lod_half_rate_distance.name"))
+                                .description(OptionDescription.createBuilder()
+                                        .text(Component.translatable("locomotion.config.option.update_rate_lod_half_rate_distance.description"))
+                                        .build())
+                                .binding(32f, () -> config.data().general.updateRateLodHalfRateDistance, newValue -> config.data().general.updateRateLodHalfRateDistance = newValue)
+                                .controller(option -> FloatSliderControllerBuilder.create(option)
+                                        .formatValue(value -> Component.literal(new DecimalFormat("0").format(value)))
+                                        .range(0f, 256f)
+                                        .step(8f))
+                                .build())
+                        .option(Option.<Float>createBuilder()
+                                .name(Component.translatable("locomotion.config.option.update_rate_lod_quarter_rate_distance.name"))
+                                .description(OptionDescription.createBuilder()
+                                        .text(Component.translatable("locomotion.config.option.update_rate_lod_quarter_rate_distance.description"))
+                                        .build())
+                                .binding(64f, () -> config.data().general.updateRateLodQuarterRateDistance, newValue -> config.data().general.updateRateLodQuarterRateDistance = newValue)
+                                .controller(option -> FloatSliderControllerBuilder.create(option)
+                                        .formatValue(value -> Component.literal(new DecimalFormat("0").format(value)))
+                                        .range(0f, 256f)
+                                        .step(8f))
+                                .build())
+                        .option(Option.<Float>createBuilder()
+                                .name(Component.translatable("locomotion.config.option.update_rate_lod_eighth_rate_distance.name"))
+                                .description(OptionDescription.createBuilder()
+                                        .text(Component.translatable("locomotion.config.option.update_rate_lod_eighth_rate_distance.description"))
+                                        .build())
+                                .binding(96f, () -> config.data().general.updateRateLodEighthRateDistance, newValue -> config.data().general.updateRateLodEighthRateDistance = newValue)
+                                .controller(option -> FloatSliderControllerBuilder.create(option)
+                                        .formatValue(value -> Component.literal(new DecimalFormat("0").format(value)))
+                                        .range(0f, 256f)
+                                        .step(8f))
+                                .build())
                         .build())
                 .category(ConfigCategory.createBuilder()
                         .name(Component.translatable("locomotion.config.category.first_person_player.name"))
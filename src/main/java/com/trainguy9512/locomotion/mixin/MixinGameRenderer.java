@@ -33,8 +33,9 @@ public abstract class MixinGameRenderer {
             at = @At(value = "INVOKE", target = "Lnet/minecraft/client/Camera;setup(Lnet/minecraft/world/level/BlockGetter;Lnet/minecraft/world/entity/Entity;ZZF)V")
     )
     private void computePosePriorToRendering(DeltaTracker deltaTracker, CallbackInfo ci){
+        JointAnimatorDispatcher jointAnimatorDispatcher = JointAnimatorDispatcher.getInstance();
+        jointAnimatorDispatcher.beginFrame();
         if (LocomotionMain.CONFIG.data().firstPersonPlayer.enableRenderer) {
-            JointAnimatorDispatcher jointAnimatorDispatcher = JointAnimatorDispatcher.getInstance();
             jointAnimatorDispatcher.getFirstPersonPlayerDataContainer().ifPresent(dataContainer ->
                     JointAnimatorRegistry.getFirstPersonPlayerJointAnimator().ifPresent(
                             jointAnimator -> jointAnimatorDispatcher.calculateInterpolatedFirstPersonPlayerPose(jointAnimator, dataContainer, deltaTracker.getGameTimeDeltaPartialTick(true))
@@ -42,7 +42,7 @@ public abstract class MixinLivingEntityRenderer<S extends EntityRenderState, R e
         JointAnimatorDispatcher entityJointAnimatorDispatcher = JointAnimatorDispatcher.getInstance();
         JointAnimatorRegistry.getThirdPersonJointAnimator(livingEntity).ifPresent(jointAnimator ->
                 entityJointAnimatorDispatcher.getEntityAnimationDataContainer(livingEntity).ifPresent(dataContainer -> {
-                    ((LivingEntityRenderStateAccess) livingEntityRenderState).animationOverhaul$setInterpolatedAnimationPose(entityJointAnimatorDispatcher.getInterpolatedAnimationPose(jointAnimator, dataContainer, partialTicks));
+                    ((LivingEntityRenderStateAccess) livingEntityRenderState).animationOverhaul$setInterpolatedAnimationPose(entityJointAnimatorDispatcher.getScheduledInterpolatedAnimationPose(jointAnimator, dataContainer, partialTicks));
                     ((LivingEntityRenderStateAccess) livingEntityRenderState).animationOverhaul$setEntityJointAnimator(jointAnimator);
                 })
         );
@@ -10,13 +10,19 @@ public interface Easing {
 
     float ease(float time);
 
+    /**
+     * Default number of segments in the lookup table of a baked easing.
+     */
+    int DEFAULT_BAKE_RESOLUTION = 256;
+
     Easing LINEAR = time -> time;
     Easing CONSTANT = time -> 1;
 
     // Preset cubic beziers
     // https://easings.net/
+    // Presets that call trigonometric or power functions, or solve a curve, are baked into lookup tables.
 
-    Easing SINE_IN = Easing.easeIn(time -> (float) (1f - Math.cos((time * Math.PI) / 2f)));
+    Easing SINE_IN = Easing.bake(Easing.easeIn(time -> (float) (1f - Math.cos((time * Math.PI) / 2f))));
     Easing SINE_OUT = Easing.easeOutFromEaseIn(SINE_IN);
     Easing SINE_IN_OUT = Easing.easeInOutFromEaseIn(SINE_IN);
 
@@ -36,23 +42,23 @@ public interface Easing {
     Easing QUINT_OUT = Easing.easeOutFromEaseIn(QUINT_IN);
     Easing QUINT_IN_OUT = Easing.easeInOutFromEaseIn(QUINT_IN);
 
-    Easing POW_IN = Easing.easeIn(time -> time == 0 ? 0 : (float) Math.pow(2, 10 * time - 10));
+    Easing POW_IN = Easing.bake(Easing.easeIn(time -> time == 0 ? 0 : (float) Math.pow(2, 10 * time - 10)));
     Easing POW_OUT = Easing.easeOutFromEaseIn(POW_IN);
     Easing POW_IN_OUT = Easing.easeInOutFromEaseIn(POW_IN);
 
-    Easing CIRC_IN = Easing.easeIn(time -> (float) Math.sqrt(1 - Math.pow(time - 1, 2)));
+    Easing CIRC_IN = Easing.bake(Easing.easeIn(time -> (float) Math.sqrt(1 - Math.pow(time - 1, 2))));
     Easing CIRC_OUT = Easing.easeOutFromEaseIn(CIRC_IN);
     Easing CIRC_IN_OUT = Easing.easeInOutFromEaseIn(CIRC_IN);
 
-    Easing BACK_IN = Easing.easeIn(Easing.CubicBezier.easeInOf(0.36f, 0f, 0.66f, -0.56f));
+    Easing BACK_IN = Easing.easeIn(Easing.CubicBezier.easeInOf(0.36f, 0f, 0.66f, -0.56f).baked());
     Easing BACK_OUT = Easing.easeOutFromEaseIn(BACK_IN);
     Easing BACK_IN_OUT = Easing.easeInOutFromEaseIn(BACK_IN);
 
-    Easing ELASTIC_IN = Easing.easeIn(Easing.Elastic.easeInOf(18, 3f));
+    Easing ELASTIC_IN = Easing.bake(Easing.easeIn(Easing.Elastic.easeInOf(18, 3f)));
     Easing ELASTIC_OUT = Easing.easeOutFromEaseIn(ELASTIC_IN);
     Easing ELASTIC_IN_OUT = Easing.easeInOutFromEaseIn(ELASTIC_IN);
 
-    Easing BOUNCE_IN = Easing.easeIn(Easing.inverse(time -> {
+    Easing BOUNCE_IN = Easing.bake(Easing.easeIn(Easing.inverse(time -> {
         float n1 = 7.5625f;
         float d1 = 2.75f;
 
@@ -65,7 +71,7 @@ public interface Easing {
         } else {
             return n1 * (time -= 2.625f / d1) * time + 0.984375f;
         }
-    }));
+    })));
     Easing BOUNCE_OUT = Easing.easeOutFromEaseIn(BOUNCE_IN);
     Easing BOUNCE_IN_OUT = Easing.easeInOutFromEaseIn(BOUNCE_IN);
 
@@ -109,6 +115,9 @@ public interface Easing {
         float startGradient;
         float endGradient;
 
+        // Volatile, as easings are shared by containers ticked on different threads.
+        private volatile Baked baked;
+
         private CubicBezier(float p1x, float p1y, float p2x, float p2y) {
             cx = 3f * p1x;
             bx = 3f * (p2x - p1x) - cx;
@@ -201,6 +210,19 @@ public interface Easing {
             return solve(time, 0.01f);
         }
 
+        /**
+         * Returns this curve baked into a lookup table, solved to a much finer precision than when easing directly.
+         * The table is created once and cached on this curve.
+         */
+        public Baked baked() {
+            Baked baked = this.baked;
+            if (baked == null) {
+                baked = Easing.bake(time -> this.solve(time, 1e-6f));
+                this.baked = baked;
+            }
+            return baked;
+        }
+
         /**
          * Creates a cubic bezier easing using two handle points.
          * Values from this website may be used as parameters here: <a href="https://cubic-bezier.com/">https://cubic-bezier.com</a>
@@ -215,18 +237,136 @@ public interface Easing {
     }
 
     /**
-     * Returns the inverse for the provided easing.
+     * Easing baked into a lookup table of evenly spaced samples between 0 and 1, which are linearly interpolated.
+     * <p>
+     * Baked easings cost the same to evaluate regardless of the easing they were baked from. Times outside of 0 to 1
+     * are passed to the source easing.
+     */
+    public static class Baked implements Easing {
+
+        private final Easing source;
+        private final float[] samples;
+        private final float maximumError;
+        // Volatile, as easings are shared by containers ticked on different threads.
+        private volatile Baked inverse;
+
+        private Baked(Easing source, float[] samples, float maximumError){
+            this.source = source;
+            this.samples = samples;
+            this.maximumError = maximumError;
+        }
+
+        @Override
+        public float ease(float time) {
+            if (!(time >= 0 && time <= 1)) {
+                return this.source.ease(time);
+            }
+            float position = time * (this.samples.length - 1);
+            int index = Math.min((int) position, this.samples.length - 2);
+            float from = this.samples[index];
+            return from + (this.samples[index + 1] - from) * (position - index);
+        }
+
+        /**
+         * Returns the easing this table was baked from.
+         */
+        public Easing getSource() {
+            return this.source;
+        }
+
+        /**
+         * Returns the number of segments in the lookup table.
+         */
+        public int getResolution() {
+            return this.samples.length - 1;
+        }
+
+        /**
+         * Returns the largest difference between this table and its source easing, measured between every pair of
+         * samples when baked.
+         */
+        public float getMaximumError() {
+            return this.maximumError;
+        }
+
+        /**
+         * Returns the inverse of this easing, which flips the lookup table rather than re-baking it, and is cached.
+         */
+        private Baked getInverse() {
+            Baked inverse = this.inverse;
+            if (inverse == null) {
+                float[] inverseSamples = new float[this.samples.length];
+                for (int i = 0; i < inverseSamples.length; i++) {
+                    inverseSamples[i] = 1 - this.samples[this.samples.length - 1 - i];
+                }
+                Easing source = this.source;
+                inverse = new Baked(time -> 1 - source.ease(1 - time), inverseSamples, this.maximumError);
+                inverse.inverse = this;
+                this.inverse = inverse;
+            }
+            return inverse;
+        }
+    }
+
+    /**
+     * Bakes the provided easing into a lookup table with the default resolution.
+     * @see Easing#bake(Easing, int)
+     */
+    public static Baked bake(Easing easing){
+        return Easing.bake(easing, DEFAULT_BAKE_RESOLUTION);
+    }
+
+    /**
+     * Bakes the provided easing into a lookup table, which is evaluated with linear interpolation.
+     * @param easing        Easing to bake
+     * @param resolution    Number of segments in the lookup table.
+     * @return              Baked easing, whose maximum error compared to the provided easing can be queried.
+     */
+    public static Baked bake(Easing easing, int resolution){
+        if (easing instanceof Baked baked && baked.getResolution() == resolution) {
+            return baked;
+        }
+        if (resolution < 1) {
+            throw new IllegalArgumentException("Cannot bake an easing with a resolution of " + resolution);
+        }
+        Easing source = easing instanceof Baked baked ? baked.source : easing;
+        float[] samples = new float[resolution + 1];
+        for (int i = 0; i <= resolution; i++) {
+            samples[i] = source.ease((float) i / resolution);
+        }
+        // Measure the error at several points within each segment, where linear interpolation deviates from the curve.
+        float maximumError = 0;
+        for (int i = 0; i < resolution; i++) {
+            for (int j = 1; j < 4; j++) {
+                float weight = j / 4f;
+                float interpolated = samples[i] + (samples[i + 1] - samples[i]) * weight;
+                maximumError = Math.max(maximumError, Math.abs(source.ease((i + weight) / resolution) - interpolated));
+            }
+        }
+        return new Baked(source, samples, maximumError);
+    }
+
+    /**
+     * Returns the inverse for the provided easing. Baked easings stay baked.
      */
     public static Easing inverse(Easing easing){
+        if (easing instanceof Baked baked) {
+            return baked.getInverse();
+        }
         return time -> 1 - easing.ease(1 - time);
     }
 
     /**
-     * Returns the ease-in equivalent of the provided ease-in function, which by default is itself.
+     * Returns the ease-in equivalent of the provided ease-in function, which by default is itself. Baked easings stay
+     * baked.
      * @param easeIn    Ease-in function
      * @return          Ease-in function
      */
     public static Easing easeIn(Easing easeIn){
+        if (easeIn instanceof Baked baked) {
+            // Times from 0 to 1 already come from the table, so only the source needs clamping.
+            return new Baked(Easing.easeIn(baked.source), baked.samples, baked.maximumError);
+        }
         return value -> easeIn.ease(Math.clamp(value, 0, 1));
     }
 
@@ -245,9 +385,15 @@ public interface Easing {
      * @return          Ease-in-out function
      */
     public static Easing easeInOutFromEaseIn(Easing easeIn){
+        if (easeIn instanceof Baked baked) {
+            // Baked from the source rather than the table, so that the error doesn't compound.
+            return Easing.bake(Easing.easeInOutFromEaseIn(baked.source), baked.getResolution());
+        }
+        Easing clampedEaseIn = Easing.easeIn(easeIn);
+        Easing easeOut = Easing.easeOutFromEaseIn(easeIn);
         return time -> time < 0.5f ?
-                Easing.easeIn(easeIn).ease(time * 2f) / 2f :
-                Easing.easeOutFromEaseIn(easeIn).ease(time * 2f - 1f) / 2f + 0.5f;
+                clampedEaseIn.ease(time * 2f) / 2f :
+                easeOut.ease(time * 2f - 1f) / 2f + 0.5f;
     }
 
 }
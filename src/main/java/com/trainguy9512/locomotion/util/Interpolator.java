@@ -1,5 +1,6 @@
 package com.trainguy9512.locomotion.util;
 
+import com.trainguy9512.locomotion.animation.joint.RotationInterpolation;
 import com.trainguy9512.locomotion.animation.pose.LocalSpacePose;
 import org.joml.Quaternionf;
 import org.joml.Vector3d;
@@ -44,6 +45,6 @@ public interface Interpolator<T>  {
         if (a.equals(b)) {
             return new Quaternionf(a);
         }
-        return a.slerp(b, time, new Quaternionf());
+        return RotationInterpolation.interpolate(a, b, time, new Quaternionf());
     };
 }
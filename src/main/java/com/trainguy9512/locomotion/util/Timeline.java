@@ -2,6 +2,7 @@ package com.trainguy9512.locomotion.util;
 
 import com.trainguy9512.locomotion.animation.joint.JointChannel;
 
+import java.util.Arrays;
 import java.util.TreeMap;
 
 /**
@@ -13,10 +14,18 @@ public class Timeline<T> {
     private final Interpolator<T> interpolator;
     private final float length;
 
+    // Keyframes flattened into parallel arrays sorted by time, rebuilt lazily after keyframes are added. The times are
+    // published last through a volatile write, so timelines shared between animation worker threads can be sampled
+    // while another thread bakes them.
+    private volatile float[] keyframeTimes;
+    private Keyframe<T>[] keyframeValues;
+
     private Timeline(Interpolator<T> interpolator, float length) {
         this.keyframes = new TreeMap<>();
         this.interpolator = interpolator;
         this.length = length;
+        this.keyframeTimes = null;
+        this.keyframeValues = null;
     }
 
     public static <T> Timeline<T> of(Interpolator<T> interpolator, float length){
@@ -37,30 +46,66 @@ public class Timeline<T> {
      * @param time      Time in seconds.
      */
     public T getValueAtTime(float time) {
-        var firstKeyframe = keyframes.floorEntry(time);
-        var secondKeyframe = keyframes.ceilingEntry(time);
+        if (this.keyframeTimes == null) {
+            this.bakeKeyframes();
+        }
+        float[] times = this.keyframeTimes;
 
-        if (firstKeyframe == null)
-            return secondKeyframe.getValue().getValue();
-        if (secondKeyframe == null)
-            return firstKeyframe.getValue().getValue();
+        // Binary search on the primitive time array rather than the tree map, to avoid boxing the time.
+        int index = Arrays.binarySearch(times, time);
 
         //same frame
-        if (firstKeyframe.getKey().equals(secondKeyframe.getKey()))
-            return firstKeyframe.getValue().getValue();
-
-
+        if (index >= 0)
+            return this.keyframeValues[index].getValue();
 
-        float relativeTime = (time - firstKeyframe.getKey()) / (secondKeyframe.getKey() - firstKeyframe.getKey());
+        int secondIndex = -index - 1;
+        if (secondIndex == 0)
+            return this.keyframeValues[0].getValue();
+        if (secondIndex == times.length)
+            return this.keyframeValues[times.length - 1].getValue();
 
+        int firstIndex = secondIndex - 1;
+        float relativeTime = (time - times[firstIndex]) / (times[secondIndex] - times[firstIndex]);
 
         return this.interpolator.interpolate(
-                firstKeyframe.getValue().getValue(),
-                secondKeyframe.getValue().getValue(),
-                secondKeyframe.getValue().getEasing().ease(relativeTime)
+                this.keyframeValues[firstIndex].getValue(),
+                this.keyframeValues[secondIndex].getValue(),
+                this.keyframeValues[secondIndex].getEasing().ease(relativeTime)
         );
     }
 
+    /**
+     * Returns the number of keyframes in the timeline.
+     */
+    public int getKeyframeCount() {
+        return this.keyframes.size();
+    }
+
+    /**
+     * Returns the value of the keyframe at the provided index, in order of time.
+     * @param index     Keyframe index, from 0 to the keyframe count.
+     */
+    public T getKeyframeValue(int index) {
+        if (this.keyframeTimes == null) {
+            this.bakeKeyframes();
+        }
+        return this.keyframeValues[index].getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void bakeKeyframes() {
+        float[] times = new float[this.keyframes.size()];
+        Keyframe<T>[] values = new Keyframe[this.keyframes.size()];
+        int i = 0;
+        for (var entry : this.keyframes.entrySet()) {
+            times[i] = entry.getKey();
+            values[i] = entry.getValue();
+            i++;
+        }
+        this.keyframeValues = values;
+        this.keyframeTimes = times;
+    }
+
     /**
      * Returns the value at the looped given time.
      * @param time      Time in ticks.
@@ -75,6 +120,7 @@ public class Timeline<T> {
 
     public Timeline<T> addKeyframe(float time, T value, Easing easing) {
         keyframes.put(time, new Keyframe<T>(value, easing));
+        this.keyframeTimes = null;
         return this;
     }
 
@@ -16,8 +16,9 @@ import com.trainguy9512.locomotion.animation.joint.skeleton.BlendProfile;
  * @param duration          The duration of the transition.
  * @param easement          The type of {@link Easing} function to apply to the transition.
  * @param blendProfile      Blend profile for the adjusting how quickly certain joints transition.
+ * @param blendMode         How the transition blends from the source pose to the target pose.
  */
-public record Transition(TimeSpan duration, Easing easement, BlendProfile blendProfile) {
+public record Transition(TimeSpan duration, Easing easement, BlendProfile blendProfile, BlendMode blendMode) {
 
     public static final Transition INSTANT = Transition.builder(TimeSpan.ofTicks(1)).setEasement(Easing.CONSTANT).build();
     public static final Transition SINGLE_TICK = Transition.builder(TimeSpan.ofTicks(1)).setEasement(Easing.LINEAR).build();
@@ -31,7 +32,24 @@ public record Transition(TimeSpan duration, Easing easement, BlendProfile blendP
     }
 
     public Transition withInverseEasing() {
-        return new Transition(this.duration, Easing.inverse(this.easement), this.blendProfile);
+        return new Transition(this.duration, Easing.inverse(this.easement), this.blendProfile, this.blendMode);
+    }
+
+    /**
+     * Method used to blend from the source pose to the target pose of a transition.
+     */
+    public enum BlendMode {
+        /**
+         * Both the source and target poses are evaluated for the duration of the transition, and blended by the eased transition weight.
+         */
+        CROSSFADE,
+        /**
+         * Only the target pose is evaluated. The offset from the source pose at the moment of the transition,
+         * along with its velocity, is decayed to zero over the transition duration.
+         * <p>
+         * Easing and blend profiles are not used by inertialized transitions.
+         */
+        INERTIALIZE
     }
 
     public static class Builder {
@@ -39,11 +57,13 @@ public record Transition(TimeSpan duration, Easing easement, BlendProfile blendP
         private final TimeSpan duration;
         private Easing easement;
         private BlendProfile blendProfile;
+        private BlendMode blendMode;
 
         private Builder(TimeSpan duration) {
             this.duration = duration;
             this.easement = Easing.LINEAR;
             this.blendProfile = null;
+            this.blendMode = BlendMode.CROSSFADE;
         }
 
         public Builder setEasement(Easing easement) {
@@ -56,11 +76,21 @@ public record Transition(TimeSpan duration, Easing easement, BlendProfile blendP
             return this;
         }
 
+        /**
+         * Sets how the transition blends from the source pose to the target pose. Default is {@link BlendMode#CROSSFADE}.
+         * @param blendMode     Blend mode to use
+         */
+        public Builder setBlendMode(BlendMode blendMode) {
+            this.blendMode = blendMode;
+            return this;
+        }
+
         public Transition build() {
             return new Transition(
                     this.duration,
                     this.easement,
-                    this.blendProfile
+                    this.blendProfile,
+                    this.blendMode
             );
         }
     }
@@ -0,0 +1,75 @@
+package com.trainguy9512.locomotion.animation.joint;
+
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JointChannelTest {
+
+    // Decomposing into Euler angles loses precision close to gimbal lock, which reflecting the matrix does not.
+    private static final float EPSILON = 1.0E-3f;
+
+    /**
+     * Mirrors a joint channel by decomposing it into Euler angles, as joint channels were mirrored before reflecting
+     * the matrix directly.
+     */
+    private static JointChannel mirroredByEulerAngles(JointChannel jointChannel) {
+        Vector3f mirroredTranslation = jointChannel.getTranslation().mul(-1, 1, 1);
+        Vector3f mirroredRotation = jointChannel.getTransform().getUnnormalizedRotation(new Quaternionf()).getEulerAnglesZYX(new Vector3f()).mul(1, -1, -1);
+        return JointChannel.ofTranslationRotationScaleEuler(mirroredTranslation, mirroredRotation, jointChannel.getScale(), jointChannel.getVisibility());
+    }
+
+    private static JointChannel randomChannel(Random random) {
+        Vector3f translation = new Vector3f(random.nextFloat() * 4 - 2, random.nextFloat() * 4 - 2, random.nextFloat() * 4 - 2);
+        Quaternionf rotation = new Quaternionf(random.nextFloat() * 2 - 1, random.nextFloat() * 2 - 1, random.nextFloat() * 2 - 1, random.nextFloat() * 2 - 1).normalize();
+        return JointChannel.ofTranslationRotationScaleQuaternion(translation, rotation, new Vector3f(1), random.nextBoolean());
+    }
+
+    @Test
+    void mirroredMatchesEulerMirroring() {
+        Random random = new Random(9512);
+        for (int i = 0; i < 1000; i++) {
+            JointChannel jointChannel = randomChannel(random);
+            JointChannel expected = mirroredByEulerAngles(jointChannel);
+            JointChannel actual = jointChannel.mirrored();
+            assertTrue(expected.isEquivalentTo(actual, EPSILON), "Mirrored " + jointChannel.getTransform() + " to " + actual.getTransform() + " rather than " + expected.getTransform());
+        }
+    }
+
+    @Test
+    void mirroredKeepsScale() {
+        JointChannel jointChannel = JointChannel.ofTranslationRotationScaleEuler(new Vector3f(1, 2, 3), new Vector3f(0.3f, -0.6f, 0.9f), new Vector3f(2, 0.5f, 1.5f), true);
+        assertTrue(jointChannel.getScale().equals(jointChannel.mirrored().getScale(), 1.0E-5f));
+    }
+
+    @Test
+    void mirroringTwiceRestoresChannel() {
+        Random random = new Random(1);
+        for (int i = 0; i < 100; i++) {
+            JointChannel jointChannel = randomChannel(random);
+            assertTrue(jointChannel.isEquivalentTo(jointChannel.mirrored().mirrored(), 0));
+        }
+    }
+
+    @Test
+    void mirroredDoesNotModifyOriginal() {
+        JointChannel jointChannel = randomChannel(new Random(2));
+        JointChannel original = JointChannel.of(jointChannel);
+        jointChannel.mirrored();
+        assertTrue(original.isEquivalentTo(jointChannel, 0));
+        assertTrue(JointChannel.ZERO.mirrored().isIdentity(0));
+    }
+
+    @Test
+    void sharedIdentityCannotBeModified() {
+        assertThrows(IllegalStateException.class, () -> JointChannel.ZERO.translate(new Vector3f(1, 0, 0), JointChannel.TransformSpace.LOCAL, JointChannel.TransformType.ADD));
+        assertThrows(IllegalStateException.class, JointChannel.ZERO::invert);
+        assertThrows(IllegalStateException.class, () -> JointChannel.ZERO.set(randomChannel(new Random(3))));
+        assertThrows(IllegalStateException.class, () -> JointChannel.ZERO.interpolate(JointChannel.of(JointChannel.ZERO), 0.5f));
+        assertTrue(JointChannel.ZERO.isIdentity(0));
+    }
+}
@@ -0,0 +1,92 @@
+package com.trainguy9512.locomotion.animation.pose;
+
+import com.trainguy9512.locomotion.animation.joint.JointChannel;
+import com.trainguy9512.locomotion.animation.joint.skeleton.JointSkeleton;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalSpacePoseTest {
+
+    private static final JointSkeleton SKELETON = JointSkeleton.of("root")
+            .addJointUnderRoot("body")
+            .addJointUnderParent("arm_left", "body")
+            .addJointUnderParent("arm_right", "body")
+            .setMirrorJoint("arm_left", "arm_right")
+            .build();
+
+    private static LocalSpacePose randomPose(Random random) {
+        LocalSpacePose pose = LocalSpacePose.of(SKELETON);
+        for (String joint : SKELETON.getJoints()) {
+            Vector3f translation = new Vector3f(random.nextFloat() * 2 - 1, random.nextFloat() * 2 - 1, random.nextFloat() * 2 - 1);
+            Vector3f rotation = new Vector3f(random.nextFloat() * 2 - 1, random.nextFloat() * 2 - 1, random.nextFloat() * 2 - 1);
+            pose.setJointChannel(joint, JointChannel.ofTranslationRotationScaleEuler(translation, rotation, new Vector3f(1), true));
+        }
+        return pose;
+    }
+
+    private static void assertPosesEqual(LocalSpacePose expected, LocalSpacePose actual, float epsilon) {
+        for (String joint : SKELETON.getJoints()) {
+            assertTrue(expected.getJointChannel(joint).isEquivalentTo(actual.getJointChannel(joint), epsilon), "Joint " + joint + " differs");
+        }
+    }
+
+    @Test
+    void ownedChannelsAreInterpolatedInPlace() {
+        Random random = new Random(1);
+        LocalSpacePose pose = LocalSpacePose.copyOf(randomPose(random));
+        LocalSpacePose other = randomPose(random);
+        JointChannel channel = pose.jointChannels.get("body");
+        JointChannel expected = pose.getJointChannel("body").interpolate(other.getJointChannel("body"), 0.5f);
+        pose.interpolated(other, 0.5f);
+        assertSame(channel, pose.jointChannels.get("body"));
+        assertTrue(expected.isEquivalentTo(pose.getJointChannel("body"), 0));
+    }
+
+    @Test
+    void sharedChannelsAreNotModified() {
+        Random random = new Random(2);
+        LocalSpacePose pose = LocalSpacePose.copyOf(randomPose(random));
+        LocalSpacePose sharingPose = LocalSpacePose.of(pose);
+        LocalSpacePose expected = LocalSpacePose.copyOf(pose);
+        LocalSpacePose other = randomPose(random);
+        pose.interpolated(other, 0.5f);
+        pose.multiply(other, JointChannel.TransformSpace.LOCAL, SKELETON.getFullJointMask());
+        pose.invert();
+        assertPosesEqual(expected, sharingPose, 0);
+
+        LocalSpacePose settingPose = LocalSpacePose.copyOf(other);
+        settingPose.setJointChannels(sharingPose);
+        settingPose.invert();
+        sharingPose.interpolated(other, 0.5f);
+        settingPose.invert();
+        assertPosesEqual(expected, settingPose, 1.0E-5f);
+    }
+
+    @Test
+    void fullWeightInterpolationCopiesOtherPose() {
+        Random random = new Random(3);
+        LocalSpacePose pose = randomPose(random);
+        LocalSpacePose other = randomPose(random);
+        LocalSpacePose expected = LocalSpacePose.copyOf(other);
+        pose.interpolated(other, 1);
+        assertPosesEqual(expected, pose, 0);
+        pose.interpolated(randomPose(random), 0.5f);
+        assertPosesEqual(expected, other, 0);
+    }
+
+    @Test
+    void multiplyAndInvertRestorePose() {
+        Random random = new Random(4);
+        LocalSpacePose pose = randomPose(random);
+        LocalSpacePose expected = LocalSpacePose.copyOf(pose);
+        LocalSpacePose inverse = LocalSpacePose.copyOf(pose);
+        inverse.invert();
+        pose.multiply(inverse, JointChannel.TransformSpace.LOCAL, SKELETON.getFullJointMask());
+        pose.multiply(expected, JointChannel.TransformSpace.LOCAL, SKELETON.getFullJointMask());
+        assertPosesEqual(expected, pose, 1.0E-5f);
+    }
+}
@@ -0,0 +1,144 @@
+package com.trainguy9512.locomotion.animation.pose;
+
+import com.trainguy9512.locomotion.animation.joint.JointChannel;
+import com.trainguy9512.locomotion.animation.joint.RotationInterpolation;
+import com.trainguy9512.locomotion.animation.joint.skeleton.JointMask;
+import com.trainguy9512.locomotion.animation.joint.skeleton.JointSkeleton;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoseArenaTest {
+
+    // Rotations right at the slerp threshold can be interpolated with different methods by the two paths.
+    private static final float EPSILON = 1.0E-4f;
+    private static final float[] WEIGHTS = {0.1f, 0.25f, 0.5f, 0.75f, 0.9f, 1};
+    private static final int POSE_COUNT = 8;
+
+    private static final JointSkeleton SKELETON = JointSkeleton.of("root")
+            .addJointUnderRoot("body")
+            .addJointUnderParent("head", "body")
+            .addJointUnderParent("arm_left", "body")
+            .addJointUnderParent("arm_right", "body")
+            .addJointUnderRoot("leg_left")
+            .addJointUnderRoot("leg_right")
+            .build();
+
+    @AfterEach
+    void resetRotationInterpolation() {
+        RotationInterpolation.configure(RotationInterpolation.Mode.NLERP, RotationInterpolation.DEFAULT_SLERP_THRESHOLD_DEGREES);
+    }
+
+    private static Quaternionf randomRotation(Random random) {
+        return new Quaternionf(random.nextFloat() * 2 - 1, random.nextFloat() * 2 - 1, random.nextFloat() * 2 - 1, random.nextFloat() * 2 - 1).normalize();
+    }
+
+    private static LocalSpacePose randomPose(Random random) {
+        LocalSpacePose pose = LocalSpacePose.of(SKELETON);
+        for (String joint : SKELETON.getJoints()) {
+            pose.setJointChannel(joint, randomChannel(random, randomRotation(random)));
+        }
+        return pose;
+    }
+
+    private static JointChannel randomChannel(Random random, Quaternionf rotation) {
+        Vector3f translation = new Vector3f(random.nextFloat() * 4 - 2, random.nextFloat() * 4 - 2, random.nextFloat() * 4 - 2);
+        // The scalar path reads rotations from the matrix without removing scale, so only unit scale compares exactly.
+        return JointChannel.ofTranslationRotationScaleQuaternion(translation, rotation, new Vector3f(1), random.nextBoolean());
+    }
+
+    /**
+     * Returns a pose with every rotation close to the rotation of the provided pose, but with the opposite sign.
+     */
+    private static LocalSpacePose negatedNearbyPose(LocalSpacePose pose, Random random) {
+        LocalSpacePose nearbyPose = LocalSpacePose.of(SKELETON);
+        for (String joint : SKELETON.getJoints()) {
+            Quaternionf rotation = pose.getJointChannel(joint).getRotation()
+                    .rotateXYZ(random.nextFloat() * 0.2f - 0.1f, random.nextFloat() * 0.2f - 0.1f, random.nextFloat() * 0.2f - 0.1f);
+            rotation.set(-rotation.x, -rotation.y, -rotation.z, -rotation.w);
+            nearbyPose.setJointChannel(joint, randomChannel(random, rotation));
+        }
+        return nearbyPose;
+    }
+
+    private static void assertMatchesScalarInterpolation(PoseArena arena, LocalSpacePose[] poses, int fromIndex, int toIndex) {
+        JointMask requiredJoints = SKELETON.getFullJointMask();
+        for (float weight : WEIGHTS) {
+            LocalSpacePose expected = LocalSpacePose.copyOf(poses[fromIndex]);
+            expected.interpolated(poses[toIndex], weight, null, requiredJoints, expected);
+            LocalSpacePose actual = arena.loadInterpolated(fromIndex, toIndex, weight, requiredJoints);
+            for (String joint : SKELETON.getJoints()) {
+                JointChannel expectedChannel = expected.getJointChannel(joint);
+                JointChannel actualChannel = actual.getJointChannel(joint);
+                assertTrue(expectedChannel.isEquivalentTo(actualChannel, EPSILON),
+                        "Joint " + joint + " between poses " + fromIndex + " and " + toIndex + " at weight " + weight + " was " + actualChannel.getTransform() + " rather than " + expectedChannel.getTransform());
+            }
+        }
+    }
+
+    private static void assertRandomPosesMatch(long seed) {
+        Random random = new Random(seed);
+        LocalSpacePose[] poses = new LocalSpacePose[POSE_COUNT];
+        try (PoseArena arena = PoseArena.allocate(SKELETON, POSE_COUNT)) {
+            for (int i = 0; i < POSE_COUNT; i += 2) {
+                poses[i] = randomPose(random);
+                poses[i + 1] = negatedNearbyPose(poses[i], random);
+            }
+            for (int i = 0; i < POSE_COUNT; i++) {
+                arena.store(i, poses[i]);
+            }
+            for (int fromIndex = 0; fromIndex < POSE_COUNT; fromIndex++) {
+                for (int toIndex = 0; toIndex < POSE_COUNT; toIndex++) {
+                    if (fromIndex != toIndex) {
+                        assertMatchesScalarInterpolation(arena, poses, fromIndex, toIndex);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void loadInterpolatedMatchesScalarInterpolation() {
+        // Random rotations are mostly far apart, above the slerp threshold, while each odd pose is close to the pose
+        // before it with every rotation of the opposite sign.
+        assertRandomPosesMatch(9512);
+    }
+
+    @Test
+    void loadInterpolatedMatchesScalarInterpolationWithSlerp() {
+        RotationInterpolation.configure(RotationInterpolation.Mode.SLERP, RotationInterpolation.DEFAULT_SLERP_THRESHOLD_DEGREES);
+        assertRandomPosesMatch(42);
+    }
+
+    @Test
+    void loadInterpolatedMatchesScalarInterpolationWithoutSlerpFallback() {
+        RotationInterpolation.configure(RotationInterpolation.Mode.NLERP, 180);
+        assertRandomPosesMatch(7);
+    }
+
+    @Test
+    void loadReturnsStoredPose() {
+        Random random = new Random(1);
+        LocalSpacePose pose = randomPose(random);
+        try (PoseArena arena = PoseArena.allocate(SKELETON, 2)) {
+            arena.store(1, pose);
+            LocalSpacePose loaded = arena.load(1, SKELETON.getFullJointMask());
+            for (String joint : SKELETON.getJoints()) {
+                assertTrue(pose.getJointChannel(joint).isEquivalentTo(loaded.getJointChannel(joint), 1.0E-6f));
+            }
+            assertTrue(arena.load(0, SKELETON.getFullJointMask()).getJointChannel("body").isIdentity(0));
+        }
+    }
+
+    @Test
+    void closedArenaCannotBeUsed() {
+        PoseArena arena = PoseArena.allocate(SKELETON, 1);
+        arena.close();
+        assertThrows(IllegalStateException.class, () -> arena.load(0, SKELETON.getFullJointMask()));
+    }
+}
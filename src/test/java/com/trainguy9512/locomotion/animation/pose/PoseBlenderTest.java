@@ -0,0 +1,139 @@
+package com.trainguy9512.locomotion.animation.pose;
+
+import com.trainguy9512.locomotion.animation.joint.JointChannel;
+import com.trainguy9512.locomotion.animation.joint.RotationInterpolation;
+import com.trainguy9512.locomotion.animation.joint.skeleton.BlendMask;
+import com.trainguy9512.locomotion.animation.joint.skeleton.JointSkeleton;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoseBlenderTest {
+
+    private static final float EPSILON = 1.0E-4f;
+    // Large enough for rotations between poses to cross the slerp threshold.
+    private static final float MAXIMUM_ANGLE = 1.5f;
+
+    private static final JointSkeleton SKELETON = JointSkeleton.of("root")
+            .addJointUnderRoot("body")
+            .addJointUnderParent("arm_left", "body")
+            .addJointUnderParent("arm_right", "body")
+            .addJointUnderRoot("leg")
+            .setMirrorJoint("arm_left", "arm_right")
+            .build();
+
+    private static final BlendMask ARMS_MASK = BlendMask.builder()
+            .defineForJoint("arm_left", 1)
+            .defineForJoint("arm_right", 0.5f)
+            .build();
+
+    @AfterEach
+    void resetRotationInterpolation() {
+        RotationInterpolation.configure(RotationInterpolation.Mode.NLERP, RotationInterpolation.DEFAULT_SLERP_THRESHOLD_DEGREES);
+    }
+
+    private static LocalSpacePose randomPose(Random random) {
+        LocalSpacePose pose = LocalSpacePose.of(SKELETON);
+        for (String joint : SKELETON.getJoints()) {
+            Vector3f translation = new Vector3f(random.nextFloat() * 2 - 1, random.nextFloat() * 2 - 1, random.nextFloat() * 2 - 1);
+            Vector3f rotation = new Vector3f(
+                    (random.nextFloat() * 2 - 1) * MAXIMUM_ANGLE,
+                    (random.nextFloat() * 2 - 1) * MAXIMUM_ANGLE,
+                    (random.nextFloat() * 2 - 1) * MAXIMUM_ANGLE
+            );
+            pose.setJointChannel(joint, JointChannel.ofTranslationRotationScaleEuler(translation, rotation, new Vector3f(1), true));
+        }
+        return pose;
+    }
+
+    private static void assertPosesEquivalent(LocalSpacePose expected, LocalSpacePose actual, float epsilon) {
+        for (String joint : SKELETON.getJoints()) {
+            JointChannel expectedChannel = expected.getJointChannel(joint);
+            JointChannel actualChannel = actual.getJointChannel(joint);
+            assertTrue(expectedChannel.isEquivalentTo(actualChannel, epsilon), "Joint " + joint + " differs, expected " + expectedChannel.getTransform() + " but was " + actualChannel.getTransform());
+        }
+    }
+
+    private static void assertBlendMatchesChainedInterpolation(long seed) {
+        Random random = new Random(seed);
+        float[] weights = {0.3f, 0.75f, 0.5f, 0.2f, 0.9f};
+        for (int iteration = 0; iteration < 20; iteration++) {
+            LocalSpacePose basePose = randomPose(random);
+            LocalSpacePose expected = LocalSpacePose.copyOf(basePose);
+            PoseBlender blender = PoseBlender.of().begin(LocalSpacePose.copyOf(basePose));
+            // More layers than the blender's initial capacity, so that it grows.
+            for (int layer = 0; layer < weights.length; layer++) {
+                LocalSpacePose layerPose = randomPose(random);
+                BlendMask blendMask = layer % 2 == 1 ? ARMS_MASK : null;
+                expected.interpolated(layerPose, weights[layer], blendMask);
+                blender.addLayer(layerPose, weights[layer], blendMask);
+            }
+            assertPosesEquivalent(expected, blender.blend(SKELETON.getFullJointMask()), EPSILON);
+        }
+    }
+
+    @Test
+    void blendMatchesChainedInterpolation() {
+        assertBlendMatchesChainedInterpolation(9512);
+    }
+
+    @Test
+    void blendMatchesChainedInterpolationWithSlerp() {
+        RotationInterpolation.configure(RotationInterpolation.Mode.SLERP, RotationInterpolation.DEFAULT_SLERP_THRESHOLD_DEGREES);
+        assertBlendMatchesChainedInterpolation(42);
+    }
+
+    @Test
+    void blendMatchesChainedInterpolationWithoutSlerpFallback() {
+        RotationInterpolation.configure(RotationInterpolation.Mode.NLERP, 180);
+        assertBlendMatchesChainedInterpolation(7);
+    }
+
+    @Test
+    void fullWeightLayerReplacesPosesBeneath() {
+        Random random = new Random(1);
+        LocalSpacePose basePose = randomPose(random);
+        LocalSpacePose lowerLayer = randomPose(random);
+        LocalSpacePose topLayer = randomPose(random);
+        LocalSpacePose blended = PoseBlender.of()
+                .begin(basePose)
+                .addLayer(lowerLayer, 0.5f, null)
+                .addLayer(topLayer, 1, null)
+                .blend(SKELETON.getFullJointMask());
+        assertPosesEquivalent(topLayer, blended, 1.0E-6f);
+    }
+
+    @Test
+    void blendWithoutLayersKeepsBasePose() {
+        Random random = new Random(2);
+        LocalSpacePose basePose = randomPose(random);
+        LocalSpacePose expected = LocalSpacePose.copyOf(basePose);
+        LocalSpacePose blended = PoseBlender.of()
+                .begin(basePose)
+                .addLayer(randomPose(random), PoseBlender.WEIGHT_EPSILON / 2, null)
+                .blend(SKELETON.getFullJointMask());
+        assertSame(basePose, blended);
+        assertPosesEquivalent(expected, blended, 1.0E-6f);
+    }
+
+    @Test
+    void blendDoesNotModifyLayers() {
+        Random random = new Random(3);
+        LocalSpacePose layerPose = randomPose(random);
+        LocalSpacePose expected = LocalSpacePose.copyOf(layerPose);
+        PoseBlender.of()
+                .begin(randomPose(random))
+                .addLayer(layerPose, 0.5f, ARMS_MASK)
+                .blend(SKELETON.getFullJointMask());
+        assertPosesEquivalent(expected, layerPose, 0);
+    }
+
+    @Test
+    void blendWithoutBasePoseIsRejected() {
+        assertThrows(IllegalStateException.class, () -> PoseBlender.of().blend(SKELETON.getFullJointMask()));
+    }
+}
@@ -0,0 +1,87 @@
+package com.trainguy9512.locomotion.animation.pose;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoseInertializerTest {
+
+    private static final float STEP = 1.0E-3f;
+
+    private static float[] curve(float x0, float v0, float duration) {
+        float[] curves = new float[PoseInertializer.CURVE_STRIDE];
+        PoseInertializer.computeCurve(curves, 0, x0, v0, duration);
+        return curves;
+    }
+
+    private static float endTime(float[] curves) {
+        return curves[PoseInertializer.CURVE_STRIDE - 1];
+    }
+
+    private static float derivative(float[] curves, float time) {
+        return (PoseInertializer.evaluateCurve(curves, 0, time + STEP) - PoseInertializer.evaluateCurve(curves, 0, time - STEP)) / (2 * STEP);
+    }
+
+    private static void assertDecaysToZero(float[] curves, float x0, float v0) {
+        float t1 = endTime(curves);
+        assertEquals(x0, PoseInertializer.evaluateCurve(curves, 0, 0), 1.0E-5f);
+        assertEquals(v0, derivative(curves, STEP), 2.0E-2f);
+
+        float justBeforeEnd = t1 - 2 * STEP;
+        assertEquals(0, PoseInertializer.evaluateCurve(curves, 0, justBeforeEnd), 1.0E-4f);
+        assertEquals(0, derivative(curves, justBeforeEnd), 2.0E-2f);
+        assertEquals(0, PoseInertializer.evaluateCurve(curves, 0, t1));
+        assertEquals(0, PoseInertializer.evaluateCurve(curves, 0, t1 + 1));
+
+        // The offset never overshoots past zero on its way there.
+        for (int i = 0; i <= 100; i++) {
+            assertTrue(PoseInertializer.evaluateCurve(curves, 0, t1 * i / 100f) >= -1.0E-4f);
+        }
+    }
+
+    @Test
+    void curveWithoutVelocityDecaysOverFullDuration() {
+        float[] curves = curve(1, 0, 10);
+        assertEquals(10, endTime(curves));
+        assertDecaysToZero(curves, 1, 0);
+    }
+
+    @Test
+    void curveWithVelocityTowardZeroDecaysOverFullDuration() {
+        float[] curves = curve(2, -0.5f, 8);
+        assertEquals(8, endTime(curves));
+        assertDecaysToZero(curves, 2, -0.5f);
+    }
+
+    @Test
+    void fastVelocityShortensDuration() {
+        float[] curves = curve(1, -1, 10);
+        assertEquals(5, endTime(curves), 1.0E-5f);
+        assertDecaysToZero(curves, 1, -1);
+    }
+
+    @Test
+    void velocityAwayFromZeroIsIgnored() {
+        float[] curves = curve(1, 3, 10);
+        assertEquals(10, endTime(curves));
+        assertDecaysToZero(curves, 1, 0);
+    }
+
+    @Test
+    void zeroOffsetProducesEmptyCurve() {
+        float[] curves = curve(0, -1, 10);
+        for (float coefficient : curves) {
+            assertEquals(0, coefficient);
+        }
+        assertEquals(0, PoseInertializer.evaluateCurve(curves, 0, 0));
+        assertEquals(0, PoseInertializer.evaluateCurve(curves, 0, 5));
+    }
+
+    @Test
+    void curvesAreStoredAtTheirOffset() {
+        float[] curves = new float[PoseInertializer.CURVE_STRIDE * 2];
+        PoseInertializer.computeCurve(curves, PoseInertializer.CURVE_STRIDE, 1, 0, 10);
+        assertEquals(0, PoseInertializer.evaluateCurve(curves, 0, 0));
+        assertEquals(1, PoseInertializer.evaluateCurve(curves, PoseInertializer.CURVE_STRIDE, 0), 1.0E-5f);
+    }
+}
@@ -0,0 +1,122 @@
+package com.trainguy9512.locomotion.animation.pose;
+
+import com.trainguy9512.locomotion.animation.joint.JointChannel;
+import com.trainguy9512.locomotion.animation.joint.skeleton.JointSkeleton;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoseTripleBufferTest {
+
+    private static final String JOINT = "joint";
+    private static final float EPSILON = 1.0E-5f;
+
+    private static final JointSkeleton SKELETON = JointSkeleton.of("root")
+            .addJointUnderRoot(JOINT)
+            .build();
+
+    private static LocalSpacePose poseAt(float x) {
+        LocalSpacePose pose = LocalSpacePose.of(SKELETON);
+        pose.setJointChannel(JOINT, JointChannel.ofTranslationRotationScaleQuaternion(new Vector3f(x, 0, 0), new Quaternionf(), new Vector3f(1), true));
+        return pose;
+    }
+
+    private static float translationOf(LocalSpacePose pose) {
+        return pose.getJointChannel(JOINT).getTranslation().x();
+    }
+
+    @Test
+    void readBeforePublishReturnsNull() {
+        PoseTripleBuffer buffer = PoseTripleBuffer.of();
+        assertFalse(buffer.hasPublished());
+        assertNull(buffer.read(0.5f, 0));
+    }
+
+    @Test
+    void firstPublishInterpolatesFromItself() {
+        PoseTripleBuffer buffer = PoseTripleBuffer.of();
+        buffer.publish(poseAt(4), 1);
+        assertTrue(buffer.hasPublished());
+        assertEquals(4, translationOf(buffer.read(0, 1)), EPSILON);
+        assertEquals(4, translationOf(buffer.read(1, 1)), EPSILON);
+    }
+
+    @Test
+    void readInterpolatesBetweenLatestPair() {
+        PoseTripleBuffer buffer = PoseTripleBuffer.of();
+        buffer.publish(poseAt(0), 1);
+        buffer.publish(poseAt(2), 2);
+        assertEquals(0, translationOf(buffer.read(0, 2)), EPSILON);
+        assertEquals(1, translationOf(buffer.read(0.5f, 2)), EPSILON);
+        assertEquals(2, translationOf(buffer.read(1, 2)), EPSILON);
+    }
+
+    @Test
+    void readSkipsToNewestPairAfterSeveralPublishes() {
+        PoseTripleBuffer buffer = PoseTripleBuffer.of();
+        for (int tick = 1; tick <= 5; tick++) {
+            buffer.publish(poseAt(tick), tick);
+        }
+        assertEquals(4, translationOf(buffer.read(0, 5)), EPSILON);
+        assertEquals(5, translationOf(buffer.read(1, 5)), EPSILON);
+    }
+
+    @Test
+    void readHoldsNewestPoseWhenWriterIsBehind() {
+        PoseTripleBuffer buffer = PoseTripleBuffer.of();
+        buffer.publish(poseAt(0), 1);
+        buffer.publish(poseAt(2), 2);
+        assertEquals(2, translationOf(buffer.read(0, 3)), EPSILON);
+        assertEquals(2, translationOf(buffer.read(0.5f, 3)), EPSILON);
+    }
+
+    @Test
+    void readDoesNotModifyPublishedPoses() {
+        PoseTripleBuffer buffer = PoseTripleBuffer.of();
+        LocalSpacePose previous = poseAt(0);
+        LocalSpacePose current = poseAt(2);
+        buffer.publish(previous, 1);
+        buffer.publish(current, 2);
+        buffer.read(0.5f, 2);
+        assertEquals(0, translationOf(previous), EPSILON);
+        assertEquals(2, translationOf(current), EPSILON);
+    }
+
+    @Test
+    void concurrentReaderNeverSeesOlderPose() throws InterruptedException {
+        PoseTripleBuffer buffer = PoseTripleBuffer.of();
+        int tickCount = 2000;
+        AtomicReference<Throwable> readerFailure = new AtomicReference<>();
+
+        Thread reader = new Thread(() -> {
+            float lastTranslation = Float.NEGATIVE_INFINITY;
+            try {
+                while (lastTranslation < tickCount - 0.5f) {
+                    LocalSpacePose pose = buffer.read(0.5f, 0);
+                    if (pose == null) {
+                        continue;
+                    }
+                    // Each pose is paired with the pose of the tick before it, so a pair read in full lands halfway
+                    // between two consecutive ticks, apart from the first pair.
+                    float translation = translationOf(pose);
+                    assertTrue(translation == 1 || Math.abs(translation - (float) Math.floor(translation) - 0.5f) < 1.0E-3f, "Read a torn pair at " + translation);
+                    assertTrue(translation >= lastTranslation, "Read " + translation + " after " + lastTranslation);
+                    lastTranslation = translation;
+                }
+            } catch (Throwable throwable) {
+                readerFailure.set(throwable);
+            }
+        });
+        reader.start();
+        for (int tick = 1; tick <= tickCount; tick++) {
+            buffer.publish(poseAt(tick), tick);
+        }
+        reader.join(10000);
+        assertFalse(reader.isAlive(), "Reader never saw the last published pose.");
+        assertNull(readerFailure.get());
+    }
+}
@@ -0,0 +1,70 @@
+package com.trainguy9512.locomotion.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EasingTest {
+
+    private static final Easing SINE_SOURCE = time -> (float) (1f - Math.cos((time * Math.PI) / 2f));
+    private static final Easing QUINT_SOURCE = time -> time * time * time * time * time;
+    // Solved to the same fine precision as when baked, rather than the coarse precision used when easing directly.
+    private static final Easing BACK_SOURCE = Easing.CubicBezier.easeInOf(0.36f, 0f, 0.66f, -0.56f).baked().getSource();
+
+    private static void assertWithinMaximumError(Easing.Baked baked, Easing source) {
+        assertSame(source, baked.getSource());
+        // The maximum error is measured at a few points per segment, so allow a little for points in between.
+        float bound = baked.getMaximumError() * 1.25f + 1.0E-5f;
+        int sampleCount = baked.getResolution() * 16;
+        for (int i = 0; i <= sampleCount; i++) {
+            float time = (float) i / sampleCount;
+            assertEquals(source.ease(time), baked.ease(time), bound, "Baked easing is off at time " + time);
+        }
+    }
+
+    @Test
+    void bakedEasingStaysWithinMaximumError() {
+        assertWithinMaximumError(Easing.bake(SINE_SOURCE), SINE_SOURCE);
+        assertWithinMaximumError(Easing.bake(QUINT_SOURCE), QUINT_SOURCE);
+        assertWithinMaximumError(Easing.bake(BACK_SOURCE, 64), BACK_SOURCE);
+        assertWithinMaximumError(Easing.bake(Easing.LINEAR, 1), Easing.LINEAR);
+    }
+
+    @Test
+    void maximumErrorShrinksWithResolution() {
+        float coarseError = Easing.bake(SINE_SOURCE, 16).getMaximumError();
+        float fineError = Easing.bake(SINE_SOURCE, 256).getMaximumError();
+        assertTrue(fineError < coarseError);
+        // Linear interpolation error falls with the square of the segment length.
+        assertTrue(fineError < coarseError / 100);
+        assertTrue(fineError < 1.0E-4f);
+    }
+
+    @Test
+    void bakedEasingMatchesSourceAtEndpoints() {
+        Easing.Baked baked = Easing.bake(SINE_SOURCE);
+        assertEquals(SINE_SOURCE.ease(0), baked.ease(0), 1.0E-6f);
+        assertEquals(SINE_SOURCE.ease(1), baked.ease(1), 1.0E-6f);
+    }
+
+    @Test
+    void timesOutsideTableUseSource() {
+        Easing.Baked baked = Easing.bake(BACK_SOURCE, 8);
+        assertEquals(BACK_SOURCE.ease(-0.5f), baked.ease(-0.5f));
+        assertEquals(BACK_SOURCE.ease(1.5f), baked.ease(1.5f));
+    }
+
+    @Test
+    void rebakingUsesOriginalSource() {
+        Easing.Baked baked = Easing.bake(SINE_SOURCE, 16);
+        assertSame(baked, Easing.bake(baked, 16));
+        Easing.Baked rebaked = Easing.bake(baked, 64);
+        assertSame(SINE_SOURCE, rebaked.getSource());
+        assertWithinMaximumError(rebaked, SINE_SOURCE);
+    }
+
+    @Test
+    void invalidResolutionIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Easing.bake(SINE_SOURCE, 0));
+    }
+}